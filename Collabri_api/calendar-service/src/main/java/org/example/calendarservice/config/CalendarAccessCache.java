@@ -0,0 +1,136 @@
+package org.example.calendarservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.repositories.CalendarAccessRow;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Caches what a user may do in a calendar, (userId, calendarId) → owner flag and member role.
+ * Lookups go through a per-request memo first (a request often evaluates the same check in both the
+ * controller and the service), then a bounded cross-request cache, and only then the database.
+ * Entries are evicted when memberships change, but only on the instance that made the change: other
+ * instances keep serving a revoked role until their copy expires, so {@code app.access-cache.ttl}
+ * (PT5M by default) is the upper bound on how long a removed or demoted member keeps access elsewhere.
+ */
+@Component
+public class CalendarAccessCache {
+
+    public record CalendarAccess(boolean owner, Role memberRole) {
+
+        static final CalendarAccess NONE = new CalendarAccess(false, null);
+
+        public boolean allows(Role required) {
+            return owner || (memberRole != null && memberRole.compareTo(required) >= 0);
+        }
+    }
+
+    private record AccessKey(UUID userId, UUID calendarId) {
+    }
+
+    private static final String MEMO_ATTRIBUTE = CalendarAccessCache.class.getName() + ".memo";
+
+    private final CalendarRepository calendarRepository;
+    private final Cache<AccessKey, CalendarAccess> cache;
+
+    public CalendarAccessCache(CalendarRepository calendarRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.access-cache.max-size:10000}") long maxSize,
+                               @Value("${app.access-cache.ttl:PT5M}") Duration ttl) {
+        this.calendarRepository = calendarRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "calendar.access");
+    }
+
+    public CalendarAccess get(UUID userId, UUID calendarId) {
+        AccessKey key = new AccessKey(userId, calendarId);
+        Map<AccessKey, CalendarAccess> memo = requestMemo();
+        if (memo == null) {
+            return cache.get(key, this::load);
+        }
+        return memo.computeIfAbsent(key, k -> cache.get(k, this::load));
+    }
+
+    public void invalidate(UUID userId, UUID calendarId) {
+        AccessKey key = new AccessKey(userId, calendarId);
+        evict(() -> {
+            cache.invalidate(key);
+            Map<AccessKey, CalendarAccess> memo = requestMemo();
+            if (memo != null) {
+                memo.remove(key);
+            }
+        });
+    }
+
+    public void invalidateCalendar(UUID calendarId) {
+        evict(() -> {
+            cache.asMap().keySet().removeIf(key -> key.calendarId().equals(calendarId));
+            Map<AccessKey, CalendarAccess> memo = requestMemo();
+            if (memo != null) {
+                memo.keySet().removeIf(key -> key.calendarId().equals(calendarId));
+            }
+        });
+    }
+
+    // Evict now and again once the transaction completes, so a concurrent check cannot re-cache pre-commit state
+    private void evict(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private CalendarAccess load(AccessKey key) {
+        List<CalendarAccessRow> rows = calendarRepository.findAccess(key.calendarId(), key.userId());
+        if (rows.isEmpty()) {
+            return CalendarAccess.NONE;
+        }
+        boolean owner = key.userId().equals(rows.get(0).ownerId());
+        Role memberRole = rows.stream()
+                .map(CalendarAccessRow::memberRole)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+        return new CalendarAccess(owner, memberRole);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<AccessKey, CalendarAccess> requestMemo() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object memo = attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<AccessKey, CalendarAccess>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return (Map<AccessKey, CalendarAccess>) memo;
+    }
+}
@@ -3,8 +3,6 @@ package org.example.calendarservice.config;
 
 import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.enums.Role;
-import org.example.calendarservice.repositories.CalendarRepository;
-import org.example.calendarservice.repositories.MemberRepository;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
@@ -15,8 +13,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CalendarOwnershipChecker {
 
-    private final CalendarRepository calendarRepository;
-    private final MemberRepository memberRepository;
+    private final CalendarAccessCache calendarAccessCache;
 
     public boolean isOwner(UUID calendarId, Authentication auth) {
         // ADDED: Bypass for admins (full access)
@@ -28,9 +25,7 @@ public class CalendarOwnershipChecker {
         String userIdStr = auth.getName();  // Now uses auth.name (userId or adminId)
         try {
             UUID userId = UUID.fromString(userIdStr);
-            return calendarRepository.findById(calendarId)
-                    .map(cal -> cal.getOwnerId().equals(userId))
-                    .orElse(false);
+            return calendarAccessCache.get(userId, calendarId).owner();
         } catch (Exception e) {
             return false;
         }
@@ -46,10 +41,7 @@ public class CalendarOwnershipChecker {
         try {
             UUID userId = UUID.fromString(userIdStr);
             Role reqRole = Role.valueOf(requiredRole);
-            if (calendarRepository.existsByIdAndOwnerId(calendarId, userId)) {
-                return true;
-            }
-            return memberRepository.existsByCalendarIdAndUserIdAndRoleGreaterThanEqual(calendarId, userId, reqRole);
+            return calendarAccessCache.get(userId, calendarId).allows(reqRole);
         } catch (Exception e) {
             return false;
         }
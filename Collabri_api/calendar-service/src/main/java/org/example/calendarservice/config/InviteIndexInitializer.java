@@ -0,0 +1,42 @@
+package org.example.calendarservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the invite email expression index at startup. Invitee lookups (dashboard count, "my invites") match
+ * on lower(destination_email), which Hibernate's ddl-auto cannot index. Kept apart from the search indexes so
+ * turning those off does not leave invite lookups scanning the table.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InviteIndexInitializer implements ApplicationRunner {
+
+    private static final String INVITE_EMAIL_INDEX =
+            "create index if not exists idx_invites_email_status on invites (lower(destination_email), status, expires_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.invites.init-indexes:true}")
+    private boolean initIndexes;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!initIndexes) {
+            log.info("Invite index initialization disabled; assuming indexes are managed externally");
+            return;
+        }
+        try {
+            jdbcTemplate.execute(INVITE_EMAIL_INDEX);
+        } catch (DataAccessException e) {
+            log.warn("Could not create the invite email index: {}", e.getMessage());
+        }
+    }
+}
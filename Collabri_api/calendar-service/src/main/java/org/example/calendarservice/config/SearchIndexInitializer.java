@@ -0,0 +1,62 @@
+package org.example.calendarservice.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the Postgres search indexes the public calendar directory relies on. Hibernate's ddl-auto cannot
+ * express extensions or expression/GIN indexes, so they are created here, idempotently, at startup.
+ * If the database refuses (e.g. pg_trgm cannot be installed), directory search falls back to prefix matching.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexInitializer implements ApplicationRunner {
+
+    // Must stay textually identical to the expression used by CalendarSearchRepository, or the index is not used
+    public static final String CALENDAR_DOCUMENT =
+            "to_tsvector('simple', coalesce(c.name, '') || ' ' || coalesce(c.description, ''))";
+
+    private static final List<String> STATEMENTS = List.of(
+            "create extension if not exists pg_trgm",
+            "create index if not exists idx_calendars_name_trgm on calendars using gin (lower(name) gin_trgm_ops)",
+            "create index if not exists idx_calendars_document on calendars using gin ("
+                    + CALENDAR_DOCUMENT.replace("c.", "") + ")",
+            "create index if not exists idx_categories_name_trgm on categories using gin (lower(name) gin_trgm_ops)"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.search.init-indexes:true}")
+    private boolean initIndexes;
+
+    private volatile boolean ready;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!initIndexes) {
+            log.info("Search index initialization disabled; assuming indexes are managed externally");
+            ready = true;
+            return;
+        }
+        try {
+            STATEMENTS.forEach(jdbcTemplate::execute);
+            ready = true;
+            log.info("Calendar search indexes are in place");
+        } catch (DataAccessException e) {
+            log.warn("Could not create calendar search indexes, ranked search disabled: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
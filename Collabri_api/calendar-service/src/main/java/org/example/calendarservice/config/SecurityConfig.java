@@ -41,6 +41,7 @@ public class SecurityConfig {
                                 "/calendar/v3/api-docs/**",
                                 "/actuator/circuitbreakers",
                                 "/api/v1/calendars/search",
+                                "/api/v1/calendars/feeds/**",
                                 "/actuator/health"
                         ).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/calendars","/api/v1/categories").permitAll()
@@ -5,11 +5,17 @@ import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.ApiResponse;
 import org.example.calendarservice.dto.CalendarRequest;
 import org.example.calendarservice.dto.CalendarResponse;
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.services.CalendarService;
+import org.example.calendarservice.services.PublicCalendarDirectory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -22,9 +28,15 @@ public class CalendarController {
     private final CalendarService calendarService;
 
     // Intentionally public to support discovery of public calendars by unauthenticated users.
+    // Served from a cached snapshot; clients revalidate with If-None-Match and get a 304 when nothing changed.
     @GetMapping
-    public ResponseEntity<List<CalendarResponse>> getAllCalendars() {
-        return ResponseEntity.ok(calendarService.getAllCalendars());
+    public ResponseEntity<List<CalendarSummaryResponse>> getAllCalendars(WebRequest request) {
+        PublicCalendarDirectory.Snapshot directory = calendarService.getAllCalendars();
+        CacheControl cacheControl = CacheControl.noCache().cachePublic();
+        if (request.checkNotModified(directory.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(directory.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(directory.etag()).cacheControl(cacheControl).body(directory.calendars());
     }
 
     @PostMapping
@@ -35,8 +47,9 @@ public class CalendarController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<CalendarResponse>> getCalendarById(@PathVariable("id") UUID id) {
-        CalendarResponse calendar = calendarService.getCalendarById(id);
+    public ResponseEntity<ApiResponse<CalendarResponse>> getCalendarById(@PathVariable("id") UUID id,
+                                                                         @RequestParam(required = false) List<String> expand) {
+        CalendarResponse calendar = calendarService.getCalendarById(id, expand);
         return ResponseEntity.ok(ApiResponse.ok("Calendar retrieved successfully", calendar));
     }
 
@@ -52,10 +65,16 @@ public class CalendarController {
         return ResponseEntity.accepted().body((ApiResponse.ok("Calendar updated successfully", null)));
     }
 
-    //turn this into pageable in the future
+    // Keyset paged: pass the returned nextCursor back as ?cursor= to get the following page.
+    // ?q= is a ranked, typo tolerant search over name, description and category; ?name= is a plain name prefix.
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<CalendarResponse>>> searchPublic(@RequestParam(required = false) String name) {
-        List<CalendarResponse> list = calendarService.searchPublicCalendars(name);
+    public ResponseEntity<ApiResponse<CursorPage<CalendarSummaryResponse>>> searchPublic(@RequestParam(required = false) String q,
+                                                                                         @RequestParam(required = false) String name,
+                                                                                         @RequestParam(required = false) String cursor,
+                                                                                         @RequestParam(defaultValue = "20") int size) {
+        CursorPage<CalendarSummaryResponse> list = q != null && !q.isBlank()
+                ? calendarService.rankedSearchPublicCalendars(q, cursor, size)
+                : calendarService.searchPublicCalendars(name, cursor, size);
         return ResponseEntity.ok(ApiResponse.ok(("Public calendars retrieved successfully"), list));
     }
 
@@ -0,0 +1,51 @@
+package org.example.calendarservice.controllers;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.repositories.CalendarFeedInfo;
+import org.example.calendarservice.services.CalendarFeedService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/calendars")
+@RequiredArgsConstructor
+public class CalendarFeedController {
+
+    private static final MediaType TEXT_CALENDAR = MediaType.parseMediaType("text/calendar;charset=UTF-8");
+
+    private final CalendarFeedService calendarFeedService;
+
+    // Returns the new secret feed URL token; the previous one stops working
+    @PostMapping("/{id}/feed-token")
+    public ResponseEntity<ApiResponse<String>> rotateFeedToken(@PathVariable("id") UUID calendarId, Authentication authentication) {
+        String token = calendarFeedService.rotateFeedToken(calendarId, authentication);
+        return ResponseEntity.status(201).body(ApiResponse.ok("Feed token created", token));
+    }
+
+    // Unauthenticated; the token is the credential. Unchanged feeds get a 304 without reading any event.
+    @GetMapping("/feeds/{token}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String token, WebRequest request) {
+        CalendarFeedInfo feed = calendarFeedService.findFeed(token);
+        String etag = feed.etag();
+        long lastModified = feed.lastModified().toEpochMilli();
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (request.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).lastModified(lastModified).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .contentType(TEXT_CALENDAR)
+                .body(output -> calendarFeedService.writeFeed(feed, output));
+    }
+}
@@ -1,10 +1,15 @@
 package org.example.calendarservice.controllers;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.apache.kafka.shaded.com.google.protobuf.Api;
 import org.example.calendarservice.dto.AcceptInviteRequest;
 import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.dto.BulkInviteRequest;
+import org.example.calendarservice.dto.BulkInviteResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.dto.DeclineInviteRequest;
+import org.example.calendarservice.dto.PendingInviteResponse;
 import org.example.calendarservice.services.CalendarInviteService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -25,6 +30,20 @@ public class CalendarInviteController {
         return ResponseEntity.status(201).body(ApiResponse.ok("Invitation sent successfully", null));
     }
 
+    @PostMapping("/{id}/bulk")
+    public ResponseEntity<ApiResponse<BulkInviteResponse>> inviteByEmails(@PathVariable("id") UUID calendarId, @RequestBody @Valid BulkInviteRequest request, Authentication authentication) {
+        var result = inviteService.inviteMembers(calendarId, request.emails(), authentication);
+        return ResponseEntity.status(201).body(ApiResponse.ok("Invitations processed", result));
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<ApiResponse<CursorPage<PendingInviteResponse>>> getMyPendingInvites(@RequestParam(required = false) String cursor,
+                                                                                             @RequestParam(defaultValue = "20") int size,
+                                                                                             Authentication authentication) {
+        var invites = inviteService.getMyPendingInvites(cursor, size, authentication);
+        return ResponseEntity.ok(ApiResponse.ok("Pending invites retrieved successfully", invites));
+    }
+
     @PostMapping("/accept")
     public ResponseEntity<ApiResponse<Void>> acceptInviteAuthenticated(@RequestBody AcceptInviteRequest req, Authentication authentication) {
         inviteService.acceptInviteWithAuth(req.token(), authentication);
@@ -3,13 +3,24 @@ package org.example.calendarservice.controllers;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.dto.CursorPage;
+import org.example.calendarservice.dto.EventImportJobResponse;
+import org.example.calendarservice.dto.EventOccurrenceResponse;
 import org.example.calendarservice.dto.EventRequest;
 import org.example.calendarservice.dto.EventResponse;
+import org.example.calendarservice.enums.ConflictMode;
+import org.example.calendarservice.services.EventImportService;
 import org.example.calendarservice.services.EventService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,23 +30,67 @@ import java.util.UUID;
 public class EventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
 
     @PostMapping
-    public ResponseEntity<ApiResponse<Void>> createEvent(@RequestBody @Valid EventRequest request, @RequestParam UUID calendarId, Authentication authentication) {
-        eventService.createEvent(request, calendarId, authentication);
-        return ResponseEntity.status(201).body(ApiResponse.ok("Event created successfully", null));
+    public ResponseEntity<ApiResponse<List<UUID>>> createEvent(@RequestBody @Valid EventRequest request, @RequestParam UUID calendarId,
+                                                               @RequestParam(required = false) ConflictMode conflictMode, Authentication authentication) {
+        List<UUID> conflicts = eventService.createEvent(request, calendarId, conflictMode, authentication);
+        String message = conflicts.isEmpty()
+                ? "Event created successfully"
+                : "Event created with " + conflicts.size() + " overlapping event(s)";
+        return ResponseEntity.status(201).body(ApiResponse.ok(message, conflicts));
+    }
+
+    // Raw text/calendar body; the import runs in the background, poll the returned job for progress
+    @PostMapping(value = "/calendar/{calendarId}/imports", consumes = {"text/calendar", "application/octet-stream"})
+    public ResponseEntity<ApiResponse<EventImportJobResponse>> importEvents(@PathVariable UUID calendarId, InputStream body, Authentication authentication) {
+        EventImportJobResponse job = eventImportService.startImport(calendarId, body, authentication);
+        return ResponseEntity.accepted().body(ApiResponse.ok("Import started", job));
+    }
+
+    @GetMapping("/calendar/{calendarId}/imports/{jobId}")
+    public ResponseEntity<ApiResponse<EventImportJobResponse>> getImport(@PathVariable UUID calendarId, @PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.ok("Import retrieved successfully", eventImportService.getImport(calendarId, jobId)));
     }
 
     @GetMapping("/calendar/{calendarId}")
-    public ResponseEntity<ApiResponse<List<EventResponse>>> getEventsByCalendar(@PathVariable UUID calendarId) {
-        List<EventResponse> events = eventService.getEventsByCalendar(calendarId);
+    public ResponseEntity<ApiResponse<CursorPage<EventResponse>>> getEventsByCalendar(@PathVariable UUID calendarId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(defaultValue = "50") int size) {
+        CursorPage<EventResponse> events = eventService.getEventsByCalendar(calendarId, cursor, size);
         return ResponseEntity.ok(ApiResponse.ok("Events retrieved successfully", events));
     }
 
+    @GetMapping("/calendar/{calendarId}/window")
+    public ResponseEntity<ApiResponse<Page<EventResponse>>> getEventsInWindow(
+            @PathVariable UUID calendarId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @PageableDefault(size = 100, sort = "startTime") Pageable pageable
+    ) {
+        Page<EventResponse> events = eventService.getEventsInWindow(calendarId, from, to, pageable);
+        return ResponseEntity.ok(ApiResponse.ok("Events retrieved successfully", events));
+    }
+
+    @GetMapping("/calendar/{calendarId}/occurrences")
+    public ResponseEntity<ApiResponse<List<EventOccurrenceResponse>>> getOccurrencesInWindow(
+            @PathVariable UUID calendarId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        List<EventOccurrenceResponse> occurrences = eventService.getOccurrencesInWindow(calendarId, from, to);
+        return ResponseEntity.ok(ApiResponse.ok("Event occurrences retrieved successfully", occurrences));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Void>> updateEvent(@RequestBody @Valid EventRequest request, @PathVariable UUID id, @RequestParam UUID calendarId) {
-        eventService.updateEvent(request, id, calendarId);
-        return ResponseEntity.accepted().body(ApiResponse.ok("Event updated successfully", null));
+    public ResponseEntity<ApiResponse<List<UUID>>> updateEvent(@RequestBody @Valid EventRequest request, @PathVariable UUID id, @RequestParam UUID calendarId,
+                                                               @RequestParam(required = false) ConflictMode conflictMode) {
+        List<UUID> conflicts = eventService.updateEvent(request, id, calendarId, conflictMode);
+        String message = conflicts.isEmpty()
+                ? "Event updated successfully"
+                : "Event updated with " + conflicts.size() + " overlapping event(s)";
+        return ResponseEntity.accepted().body(ApiResponse.ok(message, conflicts));
     }
 
     @DeleteMapping("/{id}")
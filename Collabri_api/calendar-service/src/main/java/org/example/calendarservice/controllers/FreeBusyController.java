@@ -0,0 +1,44 @@
+package org.example.calendarservice.controllers;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.dto.FreeBusyRequest;
+import org.example.calendarservice.dto.FreeSlot;
+import org.example.calendarservice.dto.UserFreeBusyResponse;
+import org.example.calendarservice.services.FreeBusyService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/freebusy")
+@RequiredArgsConstructor
+public class FreeBusyController {
+
+    private final FreeBusyService freeBusyService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<List<UserFreeBusyResponse>>> getFreeBusy(@RequestBody @Valid FreeBusyRequest request, Authentication authentication) {
+        List<UserFreeBusyResponse> freeBusy = freeBusyService.getFreeBusy(request, authentication);
+        return ResponseEntity.ok(ApiResponse.ok("Free/busy retrieved successfully", freeBusy));
+    }
+
+    @GetMapping("/calendar/{calendarId}/slots")
+    public ResponseEntity<ApiResponse<List<FreeSlot>>> findCommonFreeSlots(
+            @PathVariable UUID calendarId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam int durationMinutes,
+            @RequestParam(required = false) Integer stepMinutes,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        List<FreeSlot> slots = freeBusyService.findCommonFreeSlots(calendarId, from, to, durationMinutes, stepMinutes, limit);
+        return ResponseEntity.ok(ApiResponse.ok("Free slots retrieved successfully", slots));
+    }
+}
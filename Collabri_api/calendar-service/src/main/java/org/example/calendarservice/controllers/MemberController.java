@@ -3,6 +3,7 @@ package org.example.calendarservice.controllers;
 
 import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.dto.MemberResponse;
 import org.example.calendarservice.enums.Role;
 import org.example.calendarservice.services.MemberService;
@@ -11,7 +12,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -29,8 +29,10 @@ public class MemberController {
 
     @GetMapping("/calendar-members/{calendarId}" )
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
-    public ResponseEntity<ApiResponse<List<MemberResponse>>> getCalendarMembers(@PathVariable UUID calendarId) {
-        List<MemberResponse> members = service.getCalendarMembers(calendarId);  // Fixed: Use DTOs
+    public ResponseEntity<ApiResponse<CursorPage<MemberResponse>>> getCalendarMembers(@PathVariable UUID calendarId,
+                                                                                      @RequestParam(required = false) String cursor,
+                                                                                      @RequestParam(defaultValue = "50") int size) {
+        CursorPage<MemberResponse> members = service.getCalendarMembers(calendarId, cursor, size);  // Fixed: Use DTOs
         return ResponseEntity.ok(ApiResponse.ok("Members retrieved successfully", members));
     }
 
@@ -3,14 +3,18 @@ package org.example.calendarservice.controllers;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.ApiResponse;
+import org.example.calendarservice.dto.AssignedTaskResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.dto.TaskRequest;
 import org.example.calendarservice.dto.TaskResponse;
+import org.example.calendarservice.enums.TaskStatus;
 import org.example.calendarservice.services.TaskService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @RestController
@@ -27,8 +31,22 @@ public class TaskController {
     }
 
     @GetMapping("/calendar/{calendarId}")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getTasksByCalendar(@PathVariable UUID calendarId) {
-        List<TaskResponse> tasks = taskService.getTasksByCalendar(calendarId);
+    public ResponseEntity<ApiResponse<CursorPage<TaskResponse>>> getTasksByCalendar(@PathVariable UUID calendarId,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(defaultValue = "50") int size) {
+        CursorPage<TaskResponse> tasks = taskService.getTasksByCalendar(calendarId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok("Tasks retrieved successfully", tasks));
+    }
+
+    @GetMapping("/mine")
+    public ResponseEntity<ApiResponse<CursorPage<AssignedTaskResponse>>> getMyTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            Authentication authentication) {
+        CursorPage<AssignedTaskResponse> tasks = taskService.getMyTasks(status, dueFrom, dueTo, cursor, size, authentication);
         return ResponseEntity.ok(ApiResponse.ok("Tasks retrieved successfully", tasks));
     }
 
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.ApiResponse;
 import org.example.calendarservice.dto.UserDashboardResponse;
 import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -19,12 +20,14 @@ import java.util.UUID;
 public class UserCalendarDashboardController {
 
     private final UserCalendarDashboardService dashboardService;
+    private final UserDirectory userDirectory;
 
     @GetMapping("/me")
     @PreAuthorize("@verified.isVerified(authentication)")
     public ResponseEntity<ApiResponse<UserDashboardResponse>> getMyDashboard(Authentication authentication) {
         UUID userId = UUID.fromString(authentication.getName());
-        return ResponseEntity.ok(ApiResponse.ok("User dashboard retrieved successfully", dashboardService.getDashboard(userId)));
+        String email = userDirectory.findEmail(authentication).orElse(null);
+        return ResponseEntity.ok(ApiResponse.ok("User dashboard retrieved successfully", dashboardService.getDashboard(userId, email)));
     }
 }
 
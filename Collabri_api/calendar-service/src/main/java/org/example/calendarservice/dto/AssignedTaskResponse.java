@@ -0,0 +1,19 @@
+package org.example.calendarservice.dto;
+
+import org.example.calendarservice.enums.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AssignedTaskResponse(
+        UUID id,
+        String title,
+        String description,
+        UUID calendarId,
+        String calendarName,
+        UUID assignedTo,      // the caller's member id in that calendar
+        LocalDateTime dueDate,
+        TaskStatus status,
+        LocalDateTime createdAt
+) {
+}
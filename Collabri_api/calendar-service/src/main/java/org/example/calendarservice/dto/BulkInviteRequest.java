@@ -0,0 +1,13 @@
+package org.example.calendarservice.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public record BulkInviteRequest(
+        @NotEmpty(message = "At least one email is required")
+        List<@NotBlank @Email(message = "Invalid email") String> emails
+) {
+}
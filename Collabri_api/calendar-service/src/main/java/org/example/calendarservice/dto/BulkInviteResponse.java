@@ -0,0 +1,11 @@
+package org.example.calendarservice.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// invited: emails that got a (new or renewed) invite; skipped: email -> reason
+public record BulkInviteResponse(
+        List<String> invited,
+        Map<String, String> skipped
+) {
+}
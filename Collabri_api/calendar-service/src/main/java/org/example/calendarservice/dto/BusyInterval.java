@@ -0,0 +1,9 @@
+package org.example.calendarservice.dto;
+
+import java.time.LocalDateTime;
+
+public record BusyInterval(
+        LocalDateTime start,
+        LocalDateTime end
+) {
+}
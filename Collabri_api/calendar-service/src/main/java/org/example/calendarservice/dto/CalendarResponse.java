@@ -1,13 +1,11 @@
 package org.example.calendarservice.dto;
 
-import org.example.calendarservice.entites.Event;
-import org.example.calendarservice.entites.Member;
-import org.example.calendarservice.entites.Task;
 import org.example.calendarservice.enums.Visibility;
 
 import java.util.List;
 import java.util.UUID;
 
+// Child lists are null unless explicitly requested with ?expand=members,tasks,events
 public record CalendarResponse(
         UUID id,
         UUID categoryId,
@@ -16,8 +14,8 @@ public record CalendarResponse(
         UUID ownerId,
         Visibility visibility,
         String timeZone,
-        List<Member> members,
-        List<Task> tasks,
-        List<Event> events
+        List<MemberResponse> members,
+        List<TaskResponse> tasks,
+        List<EventResponse> events
 ) {
 }
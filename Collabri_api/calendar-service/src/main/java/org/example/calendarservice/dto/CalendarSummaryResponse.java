@@ -0,0 +1,20 @@
+package org.example.calendarservice.dto;
+
+import org.example.calendarservice.enums.Visibility;
+
+import java.util.UUID;
+
+public record CalendarSummaryResponse(
+        UUID id,
+        String name,
+        String description,
+        UUID categoryId,
+        String categoryName,
+        UUID ownerId,
+        Visibility visibility,
+        String timeZone,
+        long memberCount,
+        long eventCount,
+        long taskCount
+) {
+}
@@ -0,0 +1,10 @@
+package org.example.calendarservice.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,    // opaque; pass back as ?cursor= for the next page, null on the last page
+        boolean hasNext
+) {
+}
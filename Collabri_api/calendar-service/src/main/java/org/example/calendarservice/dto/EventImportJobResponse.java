@@ -0,0 +1,19 @@
+package org.example.calendarservice.dto;
+
+import org.example.calendarservice.enums.ImportStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record EventImportJobResponse(
+        UUID id,
+        UUID calendarId,
+        ImportStatus status,
+        int processed,
+        int imported,
+        int skipped,
+        String error,
+        Instant createdAt,
+        Instant finishedAt
+) {
+}
@@ -0,0 +1,16 @@
+package org.example.calendarservice.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EventOccurrenceResponse(
+        UUID eventId,
+        String title,
+        String description,
+        UUID calendarId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        String location,
+        boolean recurring
+) {
+}
@@ -1,5 +1,6 @@
 package org.example.calendarservice.dto;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
@@ -17,6 +18,9 @@ public record EventRequest(
         @NotNull(message = "End time cannot be null")
         LocalDateTime endTime,
 
-        String location
+        String location,
+
+        @Valid
+        RecurrenceRule recurrence
 ) {
 }
\ No newline at end of file
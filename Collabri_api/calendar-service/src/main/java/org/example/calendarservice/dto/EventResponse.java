@@ -11,6 +11,7 @@ public record EventResponse(
         LocalDateTime startTime,
         LocalDateTime endTime,
         String location,
+        RecurrenceRule recurrence,
         LocalDateTime createdAt
 ) {
 }
\ No newline at end of file
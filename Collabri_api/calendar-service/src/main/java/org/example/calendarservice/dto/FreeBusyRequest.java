@@ -0,0 +1,22 @@
+package org.example.calendarservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+public record FreeBusyRequest(
+        @NotEmpty(message = "At least one user is required")
+        @Size(max = 50, message = "At most 50 users can be queried at once")
+        Set<UUID> userIds,
+
+        @NotNull(message = "Window start cannot be null")
+        LocalDateTime from,
+
+        @NotNull(message = "Window end cannot be null")
+        LocalDateTime to
+) {
+}
@@ -0,0 +1,9 @@
+package org.example.calendarservice.dto;
+
+import java.time.LocalDateTime;
+
+public record FreeSlot(
+        LocalDateTime start,
+        LocalDateTime end
+) {
+}
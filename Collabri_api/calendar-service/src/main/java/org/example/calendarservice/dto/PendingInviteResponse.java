@@ -0,0 +1,13 @@
+package org.example.calendarservice.dto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record PendingInviteResponse(
+        UUID id,
+        UUID calendarId,
+        String calendarName,
+        UUID invitedByUserId,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,24 @@
+package org.example.calendarservice.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record RecurrenceRule(
+        @NotNull(message = "Recurrence frequency cannot be null")
+        RecurrenceFrequency frequency,
+
+        @Positive(message = "Recurrence interval must be positive")
+        Integer interval,
+
+        LocalDateTime until,
+
+        @Positive(message = "Recurrence count must be positive")
+        Integer count,
+
+        List<LocalDateTime> exceptions   // occurrence start times to skip (EXDATE)
+) {
+}
@@ -0,0 +1,10 @@
+package org.example.calendarservice.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record UserFreeBusyResponse(
+        UUID userId,
+        List<BusyInterval> busy
+) {
+}
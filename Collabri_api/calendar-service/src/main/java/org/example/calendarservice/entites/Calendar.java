@@ -7,6 +7,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -17,13 +18,23 @@ import java.util.*;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(name = "calendars")
+@Table(name = "calendars", indexes = {
+        @Index(name = "idx_calendars_visibility_name", columnList = "visibility, name, id"),
+        @Index(name = "idx_calendars_visibility_name_key", columnList = "visibility, name_key, id"),
+        @Index(name = "idx_calendars_owner_visibility", columnList = "owner_id, visibility")
+})
 public class Calendar {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
     private String name;
 
+    // Search key maintained by Postgres: lower-cased, never null, and in "C" collation so one btree index
+    // serves both the LIKE prefix match and the (name_key, id) keyset order
+    @Column(name = "name_key", insertable = false, updatable = false,
+            columnDefinition = "text collate \"C\" generated always as (lower(coalesce(name, ''))) stored")
+    private String nameKey;
+
     @Column(length = 2000)
     private String description;
 
@@ -35,6 +46,13 @@ public class Calendar {
 
     private String timeZone;
 
+    // Bumped on every event write; drives the .ics feed's ETag / Last-Modified
+    private Instant eventsChangedAt;
+
+    // SHA-256 of the secret .ics feed token; null until the owner enables the feed
+    @Column(length = 64, unique = true)
+    private String feedTokenHash;
+
     @ManyToOne
     @JoinColumn(name="category_id")
     private Category category;
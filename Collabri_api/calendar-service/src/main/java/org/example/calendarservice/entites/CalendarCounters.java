@@ -0,0 +1,25 @@
+package org.example.calendarservice.entites;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+// Incrementally maintained child counts of a calendar (see CounterService); joined into directory rows
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "calendar_counters")
+public class CalendarCounters {
+
+    @Id
+    private UUID calendarId;
+
+    private long memberCount;
+
+    private long eventCount;
+
+    private long taskCount;
+}
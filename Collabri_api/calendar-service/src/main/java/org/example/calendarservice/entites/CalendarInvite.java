@@ -8,7 +8,9 @@ import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "invites")
+@Table(name = "invites", indexes = {
+        @Index(name = "idx_invites_status_expires", columnList = "status, expires_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
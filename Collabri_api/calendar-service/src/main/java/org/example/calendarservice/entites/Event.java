@@ -3,11 +3,15 @@ package org.example.calendarservice.entites;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
 @EntityListeners(AuditingEntityListener.class)
@@ -17,7 +21,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_calendar_start", columnList = "calendar_id, start_time, id"),
+        @Index(name = "idx_events_calendar_end", columnList = "calendar_id, end_time"),
+        @Index(name = "idx_events_calendar_series_end", columnList = "calendar_id, series_end_time")
+})
 public class Event {
 
     @Id
@@ -41,6 +49,26 @@ public class Event {
 
     private String location;
 
+    // Recurrence (RRULE subset); null frequency means a single occurrence
+    @Enumerated(EnumType.STRING)
+    private RecurrenceFrequency recurrenceFrequency;
+
+    private Integer recurrenceInterval;
+
+    private LocalDateTime recurrenceUntil;
+
+    private Integer recurrenceCount;
+
+    // End of the last occurrence, null for never-ending series; lets window queries skip finished series
+    private LocalDateTime seriesEndTime;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "event_recurrence_exceptions", joinColumns = @JoinColumn(name = "event_id"))
+    @Column(name = "occurrence_start")
+    @BatchSize(size = 50)
+    @Builder.Default
+    private Set<LocalDateTime> recurrenceExceptions = new HashSet<>();
+
     @CreatedDate
     private LocalDateTime createdAt;
 
@@ -0,0 +1,50 @@
+package org.example.calendarservice.entites;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.example.calendarservice.enums.ImportStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// One .ics import; counters are updated after every inserted batch so clients can poll progress
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "event_import_jobs", indexes = {
+        @Index(name = "idx_event_import_jobs_calendar", columnList = "calendar_id"),
+        @Index(name = "idx_event_import_jobs_status", columnList = "status, heartbeat_at")
+})
+public class EventImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "calendar_id", nullable = false)
+    private UUID calendarId;
+
+    private UUID requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    private int processed;   // VEVENTs read so far
+
+    private int imported;
+
+    private int skipped;     // unsupported or malformed VEVENTs
+
+    @Column(length = 1000)
+    private String error;
+
+    private Instant createdAt;
+
+    private Instant finishedAt;
+
+    // Refreshed while the owning instance holds the job; a QUEUED/RUNNING job with a stale heartbeat is orphaned
+    private Instant heartbeatAt;
+}
@@ -17,7 +17,12 @@ import java.util.UUID;
 @NoArgsConstructor
 @Setter
 @Getter
-@Table(name = "members")
+@Table(name = "members", indexes = {
+        @Index(name = "idx_members_calendar_id", columnList = "calendar_id, id"),
+        @Index(name = "idx_members_calendar_role", columnList = "calendar_id, role, user_id"),
+        @Index(name = "idx_members_calendar_user", columnList = "calendar_id, user_id"),
+        @Index(name = "idx_members_user_role", columnList = "user_id, role, calendar_id")
+})
 public class Member {
 
     @Id
@@ -0,0 +1,56 @@
+package org.example.calendarservice.entites;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+// An outbox message the relay gave up on; kept verbatim (same id) for inspection or a manual re-insert
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "outbox_dead_letters")
+public class OutboxDeadLetter {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    private int attempts;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private Instant deadAt;
+
+    public static OutboxDeadLetter of(OutboxMessage message, String error) {
+        return OutboxDeadLetter.builder()
+                .id(message.getId())
+                .topic(message.getTopic())
+                .messageKey(message.getMessageKey())
+                .payloadType(message.getPayloadType())
+                .payload(message.getPayload())
+                .createdAt(message.getCreatedAt())
+                .attempts(message.getAttempts())
+                .error(error)
+                .deadAt(Instant.now())
+                .build();
+    }
+}
@@ -17,7 +17,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @Getter
 @Setter
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_calendar_created", columnList = "calendar_id, created_at, id"),
+        @Index(name = "idx_tasks_assigned_created", columnList = "assigned_to, created_at, id"),
+        @Index(name = "idx_tasks_assigned_status_created", columnList = "assigned_to, task_status, created_at, id")
+})
 public class Task {
 
     @Id
@@ -0,0 +1,39 @@
+package org.example.calendarservice.entites;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+// Incrementally maintained per-user totals (see CounterService); read by primary key
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "user_counters")
+public class UserCounters {
+
+    @Id
+    private UUID userId;
+
+    private long ownedCalendars;
+
+    private long publicCalendars;
+
+    private long privateCalendars;
+
+    private long joinedCalendars;
+
+    private long calendarsAsManager;
+
+    private long calendarsAsViewer;
+
+    private long eventsCreated;
+
+    private long tasksAssigned;
+
+    private long tasksCompleted;
+
+    private long tasksPending;
+}
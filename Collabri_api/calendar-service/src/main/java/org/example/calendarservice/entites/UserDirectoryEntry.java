@@ -0,0 +1,36 @@
+package org.example.calendarservice.entites;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// Local copy of the user-service fields calendar writes need, kept current by user change events
+@Entity
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "user_directory")
+public class UserDirectoryEntry {
+
+    @Id
+    private UUID userId;
+
+    private String firstname;
+
+    private String lastname;
+
+    private String email;
+
+    // occurredAt of the last applied change; older events are ignored
+    private Instant changedAt;
+
+    // Tombstone of a deleted user: personal fields are cleared, the row stays so late events cannot re-create it
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean deleted;
+}
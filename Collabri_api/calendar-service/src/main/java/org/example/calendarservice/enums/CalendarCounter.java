@@ -0,0 +1,18 @@
+package org.example.calendarservice.enums;
+
+// Columns of calendar_counters
+public enum CalendarCounter {
+    MEMBERS("member_count"),
+    EVENTS("event_count"),
+    TASKS("task_count");
+
+    private final String column;
+
+    CalendarCounter(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.calendarservice.enums;
+
+import org.example.calendarservice.exceptions.CustomException;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+// Child collections a caller can ask to be embedded in a CalendarResponse via ?expand=
+public enum CalendarExpansion {
+    MEMBERS,
+    TASKS,
+    EVENTS;
+
+    public static Set<CalendarExpansion> parse(Collection<String> values) {
+        Set<CalendarExpansion> expansions = EnumSet.noneOf(CalendarExpansion.class);
+        if (values == null) {
+            return expansions;
+        }
+        for (String value : values) {
+            try {
+                expansions.add(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new CustomException("Unknown expand value '" + value + "'", HttpStatus.BAD_REQUEST);
+            }
+        }
+        return expansions;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.calendarservice.enums;
+
+public enum ConflictMode {
+    NONE,
+    WARN,
+    REJECT
+}
@@ -0,0 +1,8 @@
+package org.example.calendarservice.enums;
+
+public enum ImportStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
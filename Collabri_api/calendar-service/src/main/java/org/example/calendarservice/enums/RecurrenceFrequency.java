@@ -0,0 +1,8 @@
+package org.example.calendarservice.enums;
+
+public enum RecurrenceFrequency {
+    DAILY,
+    WEEKLY,
+    MONTHLY,
+    YEARLY
+}
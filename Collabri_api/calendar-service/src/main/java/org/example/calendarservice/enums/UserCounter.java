@@ -0,0 +1,25 @@
+package org.example.calendarservice.enums;
+
+// Columns of user_counters; deltas are applied by name so callers never build SQL
+public enum UserCounter {
+    OWNED_CALENDARS("owned_calendars"),
+    PUBLIC_CALENDARS("public_calendars"),
+    PRIVATE_CALENDARS("private_calendars"),
+    JOINED_CALENDARS("joined_calendars"),
+    CALENDARS_AS_MANAGER("calendars_as_manager"),
+    CALENDARS_AS_VIEWER("calendars_as_viewer"),
+    EVENTS_CREATED("events_created"),
+    TASKS_ASSIGNED("tasks_assigned"),
+    TASKS_COMPLETED("tasks_completed"),
+    TASKS_PENDING("tasks_pending");
+
+    private final String column;
+
+    UserCounter(String column) {
+        this.column = column;
+    }
+
+    public String column() {
+        return column;
+    }
+}
@@ -9,6 +9,8 @@ public record EventCreatedEvent(
         String createdBy,
         String calendarName,
         String location,
-        List<UUID> recipientsId
+        List<UUID> recipientsId,
+        UUID calendarId,
+        int chunk          // position of this recipient batch within the fan-out, from 0
 ) {
 }
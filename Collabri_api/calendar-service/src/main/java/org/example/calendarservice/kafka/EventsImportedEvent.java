@@ -0,0 +1,16 @@
+package org.example.calendarservice.kafka;
+
+import java.util.List;
+import java.util.UUID;
+
+// One per recipient chunk of a finished .ics import, instead of one event-created record per imported event
+public record EventsImportedEvent(
+        UUID importId,
+        UUID calendarId,
+        String calendarName,
+        String importedBy,
+        int imported,
+        List<UUID> recipientsId,
+        int chunk
+) {
+}
@@ -1,62 +1,95 @@
 package org.example.calendarservice.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.Message;
-import org.springframework.messaging.support.MessageBuilder;
+import org.example.calendarservice.entites.OutboxMessage;
+import org.example.calendarservice.repositories.OutboxRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.example.calendarservice.kafka.KafkaTopicsConfig.*;
+
+/**
+ * Records calendar domain events in the outbox as part of the caller's transaction; {@link OutboxRelay}
+ * publishes them to Kafka once committed. A rolled back write therefore never emits an event, and the
+ * request never waits on the broker.
+ * <p>
+ * Every record is keyed so that it lands on a stable partition: calendar-wide events by calendarId,
+ * events addressed to a single user (task assignment) by that recipient. Event fan-out chunks are keyed
+ * by calendarId and chunk number so the batches of one large calendar spread over partitions.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
 public class InviteProducer {
 
-    private final KafkaTemplate<String, CalendarInviteEvent> kafkaTemplate;
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
 
     public void sendCalendarInvitation(CalendarInviteEvent invite) {
-        log.info("Sending CalendarInvitation for {}", invite);
-        Message<CalendarInviteEvent> message = MessageBuilder
-                .withPayload(invite)
-                .setHeader(KafkaHeaders.TOPIC, "calendar-invite-topic" )
-                .build();
-        kafkaTemplate.send(message);
+        log.info("Queueing CalendarInvitation for calendar {}", invite.calendarId());
+        enqueue(INVITE_TOPIC, keyOf(invite.calendarId()), invite);
+    }
+
+    public void sendCalendarInvitations(List<CalendarInviteEvent> invites) {
+        log.info("Queueing {} CalendarInvitations", invites.size());
+        outboxRepository.saveAll(invites.stream()
+                .map(invite -> toMessage(INVITE_TOPIC, keyOf(invite.calendarId()), invite))
+                .toList());
     }
 
     public void sendEventCreatedNotification(EventCreatedEvent event) {
-        log.info("Sending EventCreatedNotification for {}", event);
-        Message<EventCreatedEvent> message = MessageBuilder
-                .withPayload(event)
-                .setHeader(KafkaHeaders.TOPIC, "calendar-event-topic" )
-                .build();
-        kafkaTemplate.send(message);
+        log.info("Queueing EventCreatedNotification for event {}", event.eventId());
+        enqueue(EVENT_TOPIC, event.calendarId() + "#" + event.chunk(), event);
     }
 
     public void sendTaskCreatedNotification(TaskCreatedEvent task) {
-        log.info("Sending TaskCreatedNotification for {}", task);
-        Message<TaskCreatedEvent> message = MessageBuilder
-                .withPayload(task)
-                .setHeader(KafkaHeaders.TOPIC, "calendar-task-topic" )
-                .build();
-        kafkaTemplate.send(message);
+        log.info("Queueing TaskCreatedNotification for task {}", task.taskId());
+        enqueue(TASK_TOPIC, keyOf(task.recipientId() != null ? task.recipientId() : task.calendarId()), task);
     }
 
     public void sendMemberJoinedNotification(MemberJoinedEvent memberActivityEvent) {
-        log.info("Sending MemberJoinedNotification for {}", memberActivityEvent);
-        Message<MemberJoinedEvent> message = MessageBuilder
-                .withPayload(memberActivityEvent)
-                .setHeader(KafkaHeaders.TOPIC, "calendar-member-joined-topic" )
-                .build();
-        kafkaTemplate.send(message);
+        log.info("Queueing MemberJoinedNotification for calendar {}", memberActivityEvent.calendarId());
+        enqueue(MEMBER_JOINED_TOPIC, keyOf(memberActivityEvent.calendarId()), memberActivityEvent);
     }
 
     public void sendMemberLeftNotification(MemberLeftEvent memberLeftEvent) {
-        log.info("Sending MemberLeftNotification for {}", memberLeftEvent);
-        Message<MemberLeftEvent> message = MessageBuilder
-                .withPayload(memberLeftEvent)
-                .setHeader(KafkaHeaders.TOPIC, "calendar-member-left-topic" )
-                .build();
-        kafkaTemplate.send(message);
+        log.info("Queueing MemberLeftNotification for calendar {}", memberLeftEvent.calendarId());
+        enqueue(MEMBER_LEFT_TOPIC, keyOf(memberLeftEvent.calendarId()), memberLeftEvent);
+    }
+
+    public void sendEventsImportedNotification(EventsImportedEvent imported) {
+        log.info("Queueing EventsImportedNotification for import {}", imported.importId());
+        enqueue(IMPORT_TOPIC, imported.calendarId() + "#" + imported.chunk(), imported);
+    }
+
+    private void enqueue(String topic, String key, Object payload) {
+        outboxRepository.save(toMessage(topic, key, payload));
+    }
+
+    private OutboxMessage toMessage(String topic, String key, Object payload) {
+        try {
+            return OutboxMessage.builder()
+                    .topic(topic)
+                    .messageKey(key)
+                    .payloadType(payload.getClass().getName())
+                    .payload(objectMapper.writeValueAsString(payload))
+                    .createdAt(Instant.now())
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static String keyOf(UUID id) {
+        return id == null ? null : id.toString();
     }
 }
@@ -0,0 +1,63 @@
+package org.example.calendarservice.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-topic producer metrics, recorded from the send future's completion callback so the sending
+ * thread never blocks for them:
+ * <ul>
+ *   <li>{@code calendar.kafka.send} – time from send() to broker ack, tagged with outcome</li>
+ *   <li>{@code calendar.kafka.send.errors} – failed sends, tagged with exception type</li>
+ *   <li>{@code calendar.kafka.record.size} – serialized value size of acknowledged records</li>
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class KafkaSendMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public <K, V> CompletableFuture<SendResult<K, V>> track(String topic, CompletableFuture<SendResult<K, V>> send) {
+        long start = System.nanoTime();
+        return send.whenComplete((result, error) -> {
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("calendar.kafka.send")
+                    .tag("topic", topic)
+                    .tag("outcome", error == null ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (error != null) {
+                Counter.builder("calendar.kafka.send.errors")
+                        .tag("topic", topic)
+                        .tag("exception", rootCause(error).getClass().getSimpleName())
+                        .register(meterRegistry)
+                        .increment();
+            } else if (result.getRecordMetadata() != null && result.getRecordMetadata().serializedValueSize() >= 0) {
+                DistributionSummary.builder("calendar.kafka.record.size")
+                        .tag("topic", topic)
+                        .baseUnit("bytes")
+                        .register(meterRegistry)
+                        .record(result.getRecordMetadata().serializedValueSize());
+            }
+        });
+    }
+
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
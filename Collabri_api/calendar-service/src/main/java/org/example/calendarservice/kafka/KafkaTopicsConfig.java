@@ -1,45 +1,64 @@
 package org.example.calendarservice.kafka;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
 
+// Records are keyed (see InviteProducer), so consumers scale out up to the partition count while per-key order holds.
+// Partitions can only be increased on existing topics, and doing so remaps keys: bump it before traffic, not during.
 @Configuration
 public class KafkaTopicsConfig {
 
+    public static final String INVITE_TOPIC = "calendar-invite-topic";
+    public static final String EVENT_TOPIC = "calendar-event-topic";
+    public static final String TASK_TOPIC = "calendar-task-topic";
+    public static final String MEMBER_JOINED_TOPIC = "calendar-member-joined-topic";
+    public static final String MEMBER_LEFT_TOPIC = "calendar-member-left-topic";
+    public static final String IMPORT_TOPIC = "calendar-import-topic";
+
+    @Value("${app.kafka.partitions:6}")
+    private int partitions;
+
+    @Value("${app.kafka.replicas:1}")
+    private int replicas;
+
     @Bean
     public NewTopic InviteTopic() {
-        return TopicBuilder
-                .name("calendar-invite-topic" )
-                .build();
+        return topic(INVITE_TOPIC);
     }
 
     @Bean
     public NewTopic EventTopic() {
-        return TopicBuilder
-                .name("calendar-event-topic" )
-                .build();
+        return topic(EVENT_TOPIC);
     }
 
     @Bean
     public NewTopic TaskTopic() {
-        return TopicBuilder
-                .name("calendar-task-topic" )
-                .build();
+        return topic(TASK_TOPIC);
     }
 
     @Bean
     public NewTopic MemberJoinedTopic() {
-        return TopicBuilder
-                .name("calendar-member-joined-topic" )
-                .build();
+        return topic(MEMBER_JOINED_TOPIC);
     }
 
     @Bean
     public NewTopic MemberLeftTopic() {
+        return topic(MEMBER_LEFT_TOPIC);
+    }
+
+    @Bean
+    public NewTopic ImportTopic() {
+        return topic(IMPORT_TOPIC);
+    }
+
+    private NewTopic topic(String name) {
         return TopicBuilder
-                .name("calendar-member-left-topic" )
+                .name(name)
+                .partitions(partitions)
+                .replicas(replicas)
                 .build();
     }
 }
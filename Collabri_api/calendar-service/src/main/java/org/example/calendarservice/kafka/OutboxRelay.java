@@ -0,0 +1,233 @@
+package org.example.calendarservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.InvalidTopicException;
+import org.apache.kafka.common.errors.RecordBatchTooLargeException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.SerializationException;
+import org.example.calendarservice.entites.OutboxDeadLetter;
+import org.example.calendarservice.entites.OutboxMessage;
+import org.example.calendarservice.repositories.OutboxDeadLetterRepository;
+import org.example.calendarservice.repositories.OutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drains the outbox to Kafka in id order. Sends of a batch are pipelined, then awaited in order; the relay
+ * stops at the first transient failure so nothing is published ahead of an earlier event for the same key.
+ * Delivery is at-least-once: messages sent after a failed one are sent again on the next run.
+ * <p>
+ * A message that can never be delivered (unreadable payload, record too large, invalid topic) is moved to
+ * outbox_dead_letters straight away and the messages behind it keep flowing. A transient failure (broker down,
+ * timeout) is never a reason to give up: the message stays at the head and the relay backs off exponentially,
+ * up to {@code app.outbox.max-backoff}. The head's attempt count is exported as a gauge and logged at error level
+ * from {@code app.outbox.alert-after-attempts} on, so a long outage pages someone instead of draining the outbox.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final long RELAY_LOCK_KEY = 0x6F7574626F78L; // "outbox"
+    private static final String PAYLOAD_PACKAGE = "org.example.calendarservice.kafka.";
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    // Retrying cannot change the outcome of these
+    private static final Set<Class<? extends Throwable>> PERMANENT_FAILURES = Set.of(
+            UnreadablePayloadException.class,
+            RecordTooLargeException.class,
+            RecordBatchTooLargeException.class,
+            SerializationException.class,
+            InvalidTopicException.class
+    );
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxDeadLetterRepository deadLetterRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final KafkaSendMetrics sendMetrics;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int alertAfterAttempts;
+    private final Duration sendTimeout;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final AtomicInteger headAttempts = new AtomicInteger();
+
+    // Relay runs before this instant (System.nanoTime) are skipped after a transient failure
+    private volatile long retryAt = System.nanoTime();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxDeadLetterRepository deadLetterRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       KafkaSendMetrics sendMetrics,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.alert-after-attempts:10}") int alertAfterAttempts,
+                       @Value("${app.outbox.send-timeout:PT10S}") Duration sendTimeout,
+                       @Value("${app.outbox.retry-backoff:PT1S}") Duration retryBackoff,
+                       @Value("${app.outbox.max-backoff:PT1M}") Duration maxBackoff) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.sendMetrics = sendMetrics;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.alertAfterAttempts = alertAfterAttempts;
+        this.sendTimeout = alignedSendTimeout(sendTimeout, kafkaTemplate);
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        meterRegistry.gauge("calendar.outbox.head_attempts", headAttempts);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    @Transactional
+    public void relay() {
+        if (System.nanoTime() - retryAt < 0 || !outboxRepository.tryAdvisoryLock(RELAY_LOCK_KEY)) {
+            return;
+        }
+        List<OutboxMessage> batch = outboxRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            try {
+                var record = new ProducerRecord<String, Object>(message.getTopic(), message.getMessageKey(), toPayload(message));
+                sends.add(sendMetrics.track(message.getTopic(), kafkaTemplate.send(record)));
+            } catch (RuntimeException e) {
+                sends.add(CompletableFuture.failedFuture(e)); // settled below like a failed send
+            }
+        }
+
+        // One deadline for the whole batch: the sends are in flight together, so waits must not add up
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        List<Long> done = new ArrayList<>(sends.size());
+        for (int i = 0; i < sends.size(); i++) {
+            OutboxMessage message = batch.get(i);
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                done.add(message.getId());
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                Throwable cause = rootCause(e);
+                message.setAttempts(message.getAttempts() + 1);
+                message.setLastError(truncate(cause.toString()));
+                if (isPermanent(cause)) {
+                    deadLetter(message, cause);
+                    done.add(message.getId());
+                    continue;
+                }
+                backOff(message, cause);
+                break;
+            }
+        }
+        if (done.size() == batch.size()) {
+            headAttempts.set(0);
+        }
+        outboxRepository.deleteAllByIdInBatch(done);
+        log.debug("Relayed {} of {} outbox messages", done.size(), batch.size());
+    }
+
+    // Keeps the message at the head and delays the next run: retryBackoff after the first failure, doubling up to maxBackoff
+    private void backOff(OutboxMessage message, Throwable cause) {
+        int attempts = message.getAttempts();
+        headAttempts.set(attempts);
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (delay.compareTo(maxBackoff) > 0) {
+            delay = maxBackoff;
+        }
+        retryAt = System.nanoTime() + delay.toNanos();
+        if (attempts >= alertAfterAttempts) {
+            log.error("Outbox relay blocked at message {} ({}) after {} attempts, retrying in {}: {}",
+                    message.getId(), message.getTopic(), attempts, delay, cause.toString());
+        } else {
+            log.warn("Outbox relay stopped at message {} ({}), attempt {}, retrying in {}: {}",
+                    message.getId(), message.getTopic(), attempts, delay, cause.getMessage());
+        }
+    }
+
+    private void deadLetter(OutboxMessage message, Throwable cause) {
+        deadLetterRepository.save(OutboxDeadLetter.of(message, message.getLastError()));
+        Counter.builder("calendar.outbox.dead_letters")
+                .description("Outbox messages moved to outbox_dead_letters")
+                .tag("topic", message.getTopic())
+                .tag("reason", cause.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+        log.error("Outbox message {} ({}) dead-lettered after {} attempt(s): {}",
+                message.getId(), message.getTopic(), message.getAttempts(), cause.toString());
+    }
+
+    private Object toPayload(OutboxMessage message) {
+        if (!message.getPayloadType().startsWith(PAYLOAD_PACKAGE)) {
+            throw new UnreadablePayloadException("Unexpected outbox payload type " + message.getPayloadType(), null);
+        }
+        try {
+            return objectMapper.readValue(message.getPayload(), Class.forName(message.getPayloadType()));
+        } catch (Exception e) {
+            throw new UnreadablePayloadException("Could not read outbox message " + message.getId(), e);
+        }
+    }
+
+    private static boolean isPermanent(Throwable cause) {
+        return PERMANENT_FAILURES.stream().anyMatch(type -> type.isInstance(cause));
+    }
+
+    // Unwraps ExecutionException / KafkaProducerException down to the producer's own error
+    private static Throwable rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null && !isPermanent(cause) && cause.getCause() != cause) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /*
+     * The producer settles every send within delivery.timeout.ms. Giving up earlier would leave a send that may
+     * still succeed and be published again next run, so the wait is kept just above the producer's timeout.
+     */
+    private static Duration alignedSendTimeout(Duration configured, KafkaTemplate<String, Object> kafkaTemplate) {
+        Object delivery = kafkaTemplate.getProducerFactory().getConfigurationProperties().get(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG);
+        long deliveryMillis = delivery == null ? 120_000L : Long.parseLong(delivery.toString());
+        Duration minimum = Duration.ofMillis(deliveryMillis).plusSeconds(1);
+        if (configured.compareTo(minimum) < 0) {
+            log.warn("app.outbox.send-timeout {} is below delivery.timeout.ms {}ms; using {}", configured, deliveryMillis, minimum);
+            return minimum;
+        }
+        return configured;
+    }
+
+    static class UnreadablePayloadException extends RuntimeException {
+        UnreadablePayloadException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
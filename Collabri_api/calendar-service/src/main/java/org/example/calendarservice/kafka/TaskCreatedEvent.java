@@ -8,7 +8,8 @@ public record TaskCreatedEvent(
         String assignTo,
         String createdBy,
         String calendarName,
-        UUID recipientId
+        UUID recipientId,
+        UUID calendarId
 
 ) {
 }
@@ -0,0 +1,21 @@
+package org.example.calendarservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.user.UserDirectory;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangedConsumer {
+
+    private final UserDirectory userDirectory;
+
+    @KafkaListener(topics = "user-changed-topic", groupId = "calendar-user-directory")
+    public void consumeUserChanged(UserChangedEvent event) {
+        log.info("Consumed UserChanged {} for user {}", event.type(), event.userId());
+        userDirectory.apply(event);
+    }
+}
@@ -1,16 +1,24 @@
 package org.example.calendarservice.mappers;
 
+import lombok.RequiredArgsConstructor;
 import org.example.calendarservice.dto.CalendarRequest;
 import org.example.calendarservice.dto.CalendarResponse;
 import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.enums.CalendarExpansion;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Set;
 
 @Service
+@RequiredArgsConstructor
 public class CalendarMapper {
 
+    private final MemberMapper memberMapper;
+    private final TaskMapper taskMapper;
+    private final EventMapper eventMapper;
+
     public Calendar toCalendar(CalendarRequest request) {
         return Calendar.builder()
                 .name(request.name())
@@ -23,7 +31,8 @@ public class CalendarMapper {
                 .build();
     }
 
-    public CalendarResponse fromCalendar(Calendar calendar) {
+    // Lazy child collections are only touched when the caller asked for them
+    public CalendarResponse fromCalendar(Calendar calendar, Set<CalendarExpansion> expand) {
         return new CalendarResponse(
                 calendar.getId(),
                 calendar.getCategory().getId(),
@@ -32,9 +41,15 @@ public class CalendarMapper {
                 calendar.getOwnerId(),
                 calendar.getVisibility(),
                 calendar.getTimeZone(),
-                calendar.getMembers(),
-                calendar.getTasks(),
-                calendar.getEvents()
+                expand.contains(CalendarExpansion.MEMBERS)
+                        ? calendar.getMembers().stream().map(memberMapper::fromMember).toList()
+                        : null,
+                expand.contains(CalendarExpansion.TASKS)
+                        ? calendar.getTasks().stream().map(taskMapper::fromTask).toList()
+                        : null,
+                expand.contains(CalendarExpansion.EVENTS)
+                        ? calendar.getEvents().stream().map(eventMapper::fromEvent).toList()
+                        : null
         );
     }
 }
@@ -1,21 +1,43 @@
 package org.example.calendarservice.mappers;
 
+import org.example.calendarservice.dto.EventOccurrenceResponse;
 import org.example.calendarservice.dto.EventRequest;
 import org.example.calendarservice.dto.EventResponse;
+import org.example.calendarservice.dto.RecurrenceRule;
 import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.utils.RecurrenceExpander;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
 @Service
 public class EventMapper {
 
     public Event toEvent(EventRequest request) {
-        return Event.builder()
+        Event event = Event.builder()
                 .title(request.title())
                 .description(request.description())
                 .startTime(request.startTime())
                 .endTime(request.endTime())
                 .location(request.location())
                 .build();
+        applyRecurrence(event, request.recurrence());
+        return event;
+    }
+
+    public void applyRecurrence(Event event, RecurrenceRule rule) {
+        event.setRecurrenceFrequency(rule == null ? null : rule.frequency());
+        event.setRecurrenceInterval(rule == null ? null : rule.interval());
+        event.setRecurrenceUntil(rule == null ? null : rule.until());
+        event.setRecurrenceCount(rule == null ? null : rule.count());
+        event.getRecurrenceExceptions().clear();
+        if (rule != null && rule.exceptions() != null) {
+            event.getRecurrenceExceptions().addAll(new HashSet<>(rule.exceptions()));
+        }
+        event.setSeriesEndTime(RecurrenceExpander.seriesEnd(event));
     }
 
     public EventResponse fromEvent(Event event) {
@@ -27,7 +49,35 @@ public class EventMapper {
                 event.getStartTime(),
                 event.getEndTime(),
                 event.getLocation(),
+                toRecurrenceRule(event),
                 event.getCreatedAt()
         );
     }
+
+    public EventOccurrenceResponse toOccurrence(Event event, LocalDateTime occurrenceStart) {
+        Duration duration = Duration.between(event.getStartTime(), event.getEndTime());
+        return new EventOccurrenceResponse(
+                event.getId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getCalendar().getId(),
+                occurrenceStart,
+                occurrenceStart.plus(duration),
+                event.getLocation(),
+                event.getRecurrenceFrequency() != null
+        );
+    }
+
+    private RecurrenceRule toRecurrenceRule(Event event) {
+        if (event.getRecurrenceFrequency() == null) {
+            return null;
+        }
+        return new RecurrenceRule(
+                event.getRecurrenceFrequency(),
+                event.getRecurrenceInterval(),
+                event.getRecurrenceUntil(),
+                event.getRecurrenceCount(),
+                List.copyOf(event.getRecurrenceExceptions())
+        );
+    }
 }
\ No newline at end of file
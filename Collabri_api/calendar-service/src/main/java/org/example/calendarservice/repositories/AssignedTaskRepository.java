@@ -0,0 +1,79 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.dto.AssignedTaskResponse;
+import org.example.calendarservice.enums.TaskStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tasks assigned to a user across every calendar they belong to, in one statement. The user's member ids
+ * come from idx_members_user_role and each one is a range scan on idx_tasks_assigned_created (or
+ * idx_tasks_assigned_status_created when filtering by status). Only the filters actually given are
+ * rendered, so each combination gets its own plan. Keyset order is (created_at, id).
+ */
+@Repository
+@RequiredArgsConstructor
+public class AssignedTaskRepository {
+
+    private static final String SELECT = """
+            select t.id, t.title, t.description, t.calendar_id, c.name as calendar_name,
+                   t.assigned_to, t.due_date, t.task_status, t.created_at
+            from members m
+            join tasks t on t.assigned_to = m.id
+            join calendars c on c.id = t.calendar_id
+            where m.user_id = :userId
+            """;
+
+    private static final RowMapper<AssignedTaskResponse> ROW_MAPPER = (rs, rowNum) -> new AssignedTaskResponse(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            rs.getString("description"),
+            rs.getObject("calendar_id", UUID.class),
+            rs.getString("calendar_name"),
+            rs.getObject("assigned_to", UUID.class),
+            toLocalDateTime(rs.getTimestamp("due_date")),
+            rs.getString("task_status") == null ? null : TaskStatus.valueOf(rs.getString("task_status")),
+            toLocalDateTime(rs.getTimestamp("created_at"))
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    // Null filters and a null cursor are left out of the statement
+    public List<AssignedTaskResponse> findForUser(UUID userId, TaskStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                                  LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        if (status != null) {
+            sql.append("  and t.task_status = :status\n");
+            params.addValue("status", status.name());
+        }
+        if (dueFrom != null) {
+            sql.append("  and t.due_date >= :dueFrom\n");
+            params.addValue("dueFrom", Timestamp.valueOf(dueFrom));
+        }
+        if (dueTo != null) {
+            sql.append("  and t.due_date < :dueTo\n");
+            params.addValue("dueTo", Timestamp.valueOf(dueTo));
+        }
+        if (afterId != null) {
+            sql.append("  and t.created_at >= :createdAt and (t.created_at > :createdAt or t.id > :afterId)\n");
+            params.addValue("createdAt", Timestamp.valueOf(afterCreatedAt)).addValue("afterId", afterId);
+        }
+        sql.append("order by t.created_at, t.id\nlimit :limit");
+        return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
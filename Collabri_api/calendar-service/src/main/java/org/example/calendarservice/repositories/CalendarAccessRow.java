@@ -0,0 +1,12 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.enums.Role;
+
+import java.util.UUID;
+
+// A calendar's owner and, when the user is a member, their member role (null otherwise)
+public record CalendarAccessRow(
+        UUID ownerId,
+        Role memberRole
+) {
+}
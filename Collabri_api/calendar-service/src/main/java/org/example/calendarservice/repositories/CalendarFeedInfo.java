@@ -0,0 +1,21 @@
+package org.example.calendarservice.repositories;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+// What the .ics feed needs to answer a conditional GET without touching events
+public record CalendarFeedInfo(UUID id, String name, String timeZone, Instant eventsChangedAt, LocalDateTime createdAt) {
+
+    public Instant lastModified() {
+        if (eventsChangedAt != null) {
+            return eventsChangedAt;
+        }
+        return createdAt == null ? Instant.EPOCH : createdAt.toInstant(ZoneOffset.UTC);
+    }
+
+    public String etag() {
+        return "\"" + id + "-" + lastModified().toEpochMilli() + "\"";
+    }
+}
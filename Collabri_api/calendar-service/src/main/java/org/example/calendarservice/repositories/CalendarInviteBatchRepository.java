@@ -0,0 +1,37 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.entites.CalendarInvite;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// Multi-row invite inserts as one JDBC batch; ids are assigned by the caller
+@Repository
+@RequiredArgsConstructor
+public class CalendarInviteBatchRepository {
+
+    private static final String INSERT = """
+            insert into invites (id, calendar_id, destination_email, invited_by_user_id, token_hash, expires_at, status)
+            values (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<CalendarInvite> invites) {
+        if (invites.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, invites, invites.size(), (ps, invite) -> {
+            ps.setObject(1, invite.getId());
+            ps.setObject(2, invite.getCalendarId());
+            ps.setString(3, invite.getDestinationEmail());
+            ps.setObject(4, invite.getInvitedByUserId());
+            ps.setString(5, invite.getTokenHash());
+            ps.setTimestamp(6, Timestamp.from(invite.getExpiresAt()));
+            ps.setString(7, invite.getStatus().name());
+        });
+    }
+}
@@ -1,10 +1,18 @@
 package org.example.calendarservice.repositories;
 
+import org.example.calendarservice.dto.PendingInviteResponse;
 import org.example.calendarservice.entites.CalendarInvite;
-import org.example.calendarservice.enums.InviteStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,8 +21,56 @@ public interface CalendarInviteRepository extends JpaRepository<CalendarInvite,
 
     Optional<CalendarInvite> findByCalendarIdAndDestinationEmailIgnoreCase(UUID calendarId, String email);
 
+    @Query("select i from CalendarInvite i where i.calendarId = :calendarId and lower(i.destinationEmail) in :emails")
+    List<CalendarInvite> findAllByCalendarIdAndEmails(@Param("calendarId") UUID calendarId, @Param("emails") Collection<String> emails);
+
     Optional<CalendarInvite> findByTokenHash(String tokenHash);      // used by accept/decline by token
 
-    long countByDestinationEmailIgnoreCaseAndStatus(String destinationEmail, InviteStatus status);
-    
+    // Live (pending, unexpired) invites addressed to the email; lower() so idx_invites_email_status applies
+    @Query("""
+            select count(i) from CalendarInvite i
+            where lower(i.destinationEmail) = lower(:email)
+              and i.status = org.example.calendarservice.enums.InviteStatus.PENDING
+              and i.expiresAt > :now
+            """)
+    long countLivePendingForEmail(@Param("email") String email, @Param("now") Instant now);
+
+    // Keyset pages of the invitee's live invites ordered by (expiresAt, id), soonest to expire first
+    String PENDING_FOR_EMAIL = """
+            select new org.example.calendarservice.dto.PendingInviteResponse(
+                i.id, i.calendarId, c.name, i.invitedByUserId, i.expiresAt)
+            from CalendarInvite i
+            join Calendar c on c.id = i.calendarId
+            where lower(i.destinationEmail) = lower(:email)
+              and i.status = org.example.calendarservice.enums.InviteStatus.PENDING
+              and i.expiresAt > :now
+            """;
+
+    @Query(PENDING_FOR_EMAIL + " order by i.expiresAt, i.id")
+    List<PendingInviteResponse> findPendingFirstPage(@Param("email") String email, @Param("now") Instant now, Limit limit);
+
+    @Query(PENDING_FOR_EMAIL + """
+              and i.expiresAt >= :expiresAt
+              and (i.expiresAt > :expiresAt or i.id > :id)
+            order by i.expiresAt, i.id
+            """)
+    List<PendingInviteResponse> findPendingPageAfter(@Param("email") String email,
+                                                     @Param("now") Instant now,
+                                                     @Param("expiresAt") Instant expiresAt,
+                                                     @Param("id") UUID id,
+                                                     Limit limit);
+
+    // Expires at most batchSize overdue invites and clears their tokens; rows locked by a concurrent accept are skipped
+    @Modifying
+    @Transactional
+    @Query(value = """
+            update invites set status = 'EXPIRED', token_hash = null
+            where id in (
+                select id from invites
+                where status = 'PENDING' and expires_at < :now
+                limit :batchSize
+                for update skip locked
+            )
+            """, nativeQuery = true)
+    int expirePendingBefore(@Param("now") Instant now, @Param("batchSize") int batchSize);
 }
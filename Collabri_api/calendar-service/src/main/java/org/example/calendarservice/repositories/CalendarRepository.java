@@ -1,11 +1,18 @@
 package org.example.calendarservice.repositories;
 
+import org.example.calendarservice.dto.CalendarSummaryResponse;
 import org.example.calendarservice.entites.Calendar;
 import org.example.calendarservice.enums.Visibility;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -14,10 +21,67 @@ public interface CalendarRepository extends JpaRepository<Calendar, UUID> {
 
     List<Calendar> findByVisibility(Visibility visibility);
 
+    // Directory rows: calendar columns, category name and maintained child counts in one statement, no entity graph
+    String SUMMARY = """
+            select new org.example.calendarservice.dto.CalendarSummaryResponse(
+                c.id, c.name, c.description, cat.id, cat.name, c.ownerId, c.visibility, c.timeZone,
+                coalesce(cc.memberCount, 0), coalesce(cc.eventCount, 0), coalesce(cc.taskCount, 0))
+            from Calendar c
+            left join c.category cat
+            left join CalendarCounters cc on cc.calendarId = c.id
+            """;
+
+    @Query(SUMMARY + " where c.visibility = :visibility order by c.name, c.id")
+    List<CalendarSummaryResponse> findSummariesByVisibility(@Param("visibility") Visibility visibility, Limit limit);
+
+    // Keyset pages of a name-prefix search ordered by (nameKey, id); :prefix is a lower-case LIKE pattern, already
+    // escaped. :name is the raw name from the cursor and is keyed by the database, exactly as the column is.
+    @Query(SUMMARY + """
+            where c.visibility = :visibility
+              and c.nameKey like :prefix escape '\\'
+            order by c.nameKey, c.id
+            """)
+    List<CalendarSummaryResponse> searchFirstPage(@Param("visibility") Visibility visibility,
+                                                  @Param("prefix") String prefix,
+                                                  Limit limit);
+
+    @Query(SUMMARY + """
+            where c.visibility = :visibility
+              and c.nameKey like :prefix escape '\\'
+              and c.nameKey >= lower(:name)
+              and (c.nameKey > lower(:name) or c.id > :id)
+            order by c.nameKey, c.id
+            """)
+    List<CalendarSummaryResponse> searchPageAfter(@Param("visibility") Visibility visibility,
+                                                  @Param("prefix") String prefix,
+                                                  @Param("name") String name,
+                                                  @Param("id") UUID id,
+                                                  Limit limit);
+
     boolean existsByIdAndOwnerId(UUID id, UUID ownerId);
 
-    long countByOwnerId(UUID ownerId);
+    // Owner and the user's member role in one round trip; empty when the calendar does not exist
+    @Query("""
+            select new org.example.calendarservice.repositories.CalendarAccessRow(c.ownerId, m.role)
+            from Calendar c
+            left join Member m on m.calendar = c and m.userId = :userId
+            where c.id = :calendarId
+            """)
+    List<CalendarAccessRow> findAccess(@Param("calendarId") UUID calendarId, @Param("userId") UUID userId);
+
+    // Row lock held to commit; every event write takes it too (touchEvents), so holders are serialized
+    @Query(value = "select id from calendars where id = :calendarId for update", nativeQuery = true)
+    Optional<UUID> lockForEventWrite(@Param("calendarId") UUID calendarId);
+
+    @Modifying
+    @Query("update Calendar c set c.eventsChangedAt = :changedAt where c.id = :calendarId")
+    void touchEvents(@Param("calendarId") UUID calendarId, @Param("changedAt") Instant changedAt);
 
-    long countByOwnerIdAndVisibility(UUID ownerId, Visibility visibility);
+    @Query("""
+            select new org.example.calendarservice.repositories.CalendarFeedInfo(c.id, c.name, c.timeZone, c.eventsChangedAt, c.createdAt)
+            from Calendar c
+            where c.feedTokenHash = :tokenHash
+            """)
+    Optional<CalendarFeedInfo> findFeedByTokenHash(@Param("tokenHash") String tokenHash);
 }
 
@@ -0,0 +1,92 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.config.SearchIndexInitializer;
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.enums.Visibility;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ranked, typo tolerant search over public calendars (name, description, category name).
+ * Candidates come from the GIN full-text and trigram indexes; ties on score are broken by id
+ * so (score, id) can be used as a keyset cursor.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CalendarSearchRepository {
+
+    public record RankedSummary(CalendarSummaryResponse calendar, double score) {
+    }
+
+    private static final String DOCUMENT = SearchIndexInitializer.CALENDAR_DOCUMENT;
+
+    private static final String RANKED = """
+            select c.id, c.name, c.description, cat.id as category_id, cat.name as category_name,
+                   c.owner_id, c.visibility, c.time_zone,
+                   (2 * ts_rank(%1$s, websearch_to_tsquery('simple', :query))
+                      + greatest(similarity(lower(c.name), :term), word_similarity(:term, lower(c.name)))
+                      + 0.5 * coalesce(similarity(lower(cat.name), :term), 0))::float8 as score
+            from calendars c
+            left join categories cat on cat.id = c.category_id
+            where c.visibility = :visibility
+              and (%1$s @@ websearch_to_tsquery('simple', :query)
+                   or lower(c.name) %% :term
+                   or :term <%% lower(c.name)
+                   or c.category_id in (select id from categories where lower(name) %% :term))
+            """.formatted(DOCUMENT);
+
+    private static final String PAGE = """
+            select p.*,
+                   coalesce(cc.member_count, 0) as member_count,
+                   coalesce(cc.event_count, 0) as event_count,
+                   coalesce(cc.task_count, 0) as task_count
+            from (select r.*
+                  from (%s) r
+                  %s
+                  order by r.score desc, r.id
+                  limit :limit) p
+            left join calendar_counters cc on cc.calendar_id = p.id
+            order by p.score desc, p.id
+            """;
+
+    private static final String AFTER = "where r.score < :afterScore or (r.score = :afterScore and r.id > :afterId)";
+
+    private static final RowMapper<RankedSummary> ROW_MAPPER = (rs, rowNum) -> new RankedSummary(
+            new CalendarSummaryResponse(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("name"),
+                    rs.getString("description"),
+                    rs.getObject("category_id", UUID.class),
+                    rs.getString("category_name"),
+                    rs.getObject("owner_id", UUID.class),
+                    Visibility.valueOf(rs.getString("visibility")),
+                    rs.getString("time_zone"),
+                    rs.getLong("member_count"),
+                    rs.getLong("event_count"),
+                    rs.getLong("task_count")
+            ),
+            rs.getDouble("score")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<RankedSummary> search(String query, Double afterScore, UUID afterId, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("term", query.toLowerCase())
+                .addValue("visibility", Visibility.PUBLIC.name())
+                .addValue("limit", limit);
+        String seek = "";
+        if (afterScore != null) {
+            seek = AFTER;
+            params.addValue("afterScore", afterScore).addValue("afterId", afterId);
+        }
+        return jdbcTemplate.query(PAGE.formatted(RANKED, seek), params, ROW_MAPPER);
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.enums.CalendarCounter;
+import org.example.calendarservice.enums.UserCounter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Delta upserts and set-based recomputation for user_counters / calendar_counters.
+ * Deltas are applied as {@code col = col + delta} in the caller's transaction, so concurrent writers
+ * never lose each other's increments; reconciliation recomputes from the source tables and only
+ * rewrites rows that drifted.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounterRepository {
+
+    private static final String USER_COLUMNS = Arrays.stream(UserCounter.values())
+            .map(UserCounter::column)
+            .collect(Collectors.joining(", "));
+
+    private static final String CALENDAR_COLUMNS = Arrays.stream(CalendarCounter.values())
+            .map(CalendarCounter::column)
+            .collect(Collectors.joining(", "));
+
+    private static final String ADD_TO_USER = upsertDelta("user_counters", "user_id",
+            Arrays.stream(UserCounter.values()).map(UserCounter::column).toList());
+
+    private static final String ADD_TO_CALENDAR = upsertDelta("calendar_counters", "calendar_id",
+            Arrays.stream(CalendarCounter.values()).map(CalendarCounter::column).toList());
+
+    // %1$s narrows every source scan to the users being reconciled (empty for a full pass)
+    private static final String RECONCILE_USERS = """
+            with owned as (
+                select c.owner_id as user_id, count(*) as total,
+                       count(*) filter (where c.visibility = 'PUBLIC') as public_count,
+                       count(*) filter (where c.visibility = 'PRIVATE') as private_count
+                from calendars c where true %1$s
+                group by c.owner_id
+            ), memberships as (
+                select m.user_id, count(*) as total,
+                       count(*) filter (where m.role = 'MANAGER') as managers,
+                       count(*) filter (where m.role = 'VIEWER') as viewers
+                from members m where true %2$s
+                group by m.user_id
+            ), created as (
+                select e.created_by as user_id, count(*) as total
+                from events e where e.created_by is not null %3$s
+                group by e.created_by
+            ), assigned as (
+                select m.user_id, count(*) as total,
+                       count(*) filter (where t.task_status = 'COMPLETED') as completed,
+                       count(*) filter (where t.task_status = 'PENDING') as pending
+                from tasks t join members m on m.id = t.assigned_to
+                where true %2$s
+                group by m.user_id
+            ), users as (
+                select user_id from owned
+                union select user_id from memberships
+                union select user_id from created
+                union select user_id from assigned
+                union select uc.user_id from user_counters uc where true %4$s
+            )
+            insert into user_counters (user_id, %5$s)
+            select u.user_id,
+                   coalesce(o.total, 0), coalesce(o.public_count, 0), coalesce(o.private_count, 0),
+                   coalesce(ms.total, 0), coalesce(ms.managers, 0), coalesce(ms.viewers, 0),
+                   coalesce(cr.total, 0),
+                   coalesce(a.total, 0), coalesce(a.completed, 0), coalesce(a.pending, 0)
+            from users u
+            left join owned o on o.user_id = u.user_id
+            left join memberships ms on ms.user_id = u.user_id
+            left join created cr on cr.user_id = u.user_id
+            left join assigned a on a.user_id = u.user_id
+            on conflict (user_id) do update set %6$s
+            where (%7$s) is distinct from (%8$s)
+            """;
+
+    private static final String RECONCILE_CALENDARS = """
+            insert into calendar_counters (calendar_id, %s)
+            select c.id,
+                   (select count(*) from members m where m.calendar_id = c.id),
+                   (select count(*) from events e where e.calendar_id = c.id),
+                   (select count(*) from tasks t where t.calendar_id = c.id)
+            from calendars c
+            on conflict (calendar_id) do update set %s
+            where (%s) is distinct from (%s)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void addToUser(UUID userId, Map<UserCounter, Long> deltas) {
+        var params = new MapSqlParameterSource("id", userId);
+        for (UserCounter counter : UserCounter.values()) {
+            params.addValue(counter.column(), deltas.getOrDefault(counter, 0L));
+        }
+        jdbcTemplate.update(ADD_TO_USER, params);
+    }
+
+    public void addToCalendar(UUID calendarId, Map<CalendarCounter, Long> deltas) {
+        var params = new MapSqlParameterSource("id", calendarId);
+        for (CalendarCounter counter : CalendarCounter.values()) {
+            params.addValue(counter.column(), deltas.getOrDefault(counter, 0L));
+        }
+        jdbcTemplate.update(ADD_TO_CALENDAR, params);
+    }
+
+    public void deleteCalendar(UUID calendarId) {
+        jdbcTemplate.update("delete from calendar_counters where calendar_id = :id", new MapSqlParameterSource("id", calendarId));
+    }
+
+    // Everyone whose counters a calendar contributes to: owner, members and event creators
+    public Set<UUID> findUsersCountedIn(UUID calendarId) {
+        var params = new MapSqlParameterSource("id", calendarId);
+        return new HashSet<>(jdbcTemplate.queryForList("""
+                select c.owner_id from calendars c where c.id = :id
+                union select m.user_id from members m where m.calendar_id = :id
+                union select e.created_by from events e where e.calendar_id = :id and e.created_by is not null
+                """, params, UUID.class));
+    }
+
+    /**
+     * Recomputes the given users' rows (all users when {@code userIds} is null); returns the number of rows fixed.
+     */
+    public int reconcileUsers(Collection<UUID> userIds) {
+        var params = new MapSqlParameterSource();
+        String[] filters = {"", "", "", ""};
+        if (userIds != null) {
+            if (userIds.isEmpty()) {
+                return 0;
+            }
+            params.addValue("userIds", userIds);
+            filters = new String[]{
+                    "and c.owner_id in (:userIds)",
+                    "and m.user_id in (:userIds)",
+                    "and e.created_by in (:userIds)",
+                    "and uc.user_id in (:userIds)"
+            };
+        }
+        String sql = RECONCILE_USERS.formatted(filters[0], filters[1], filters[2], filters[3],
+                USER_COLUMNS, assignExcluded(USER_COLUMNS), qualified("user_counters", USER_COLUMNS), qualified("excluded", USER_COLUMNS));
+        return jdbcTemplate.update(sql, params);
+    }
+
+    public int reconcileCalendars() {
+        int fixed = jdbcTemplate.update(RECONCILE_CALENDARS.formatted(CALENDAR_COLUMNS, assignExcluded(CALENDAR_COLUMNS),
+                qualified("calendar_counters", CALENDAR_COLUMNS), qualified("excluded", CALENDAR_COLUMNS)), new MapSqlParameterSource());
+        fixed += jdbcTemplate.update("""
+                delete from calendar_counters cc
+                where not exists (select 1 from calendars c where c.id = cc.calendar_id)
+                """, new MapSqlParameterSource());
+        return fixed;
+    }
+
+    private static String upsertDelta(String table, String key, List<String> columns) {
+        String names = String.join(", ", columns);
+        String values = columns.stream().map(column -> ":" + column).collect(Collectors.joining(", "));
+        String increments = columns.stream()
+                .map(column -> column + " = " + table + "." + column + " + excluded." + column)
+                .collect(Collectors.joining(", "));
+        return "insert into " + table + " (" + key + ", " + names + ") values (:id, " + values + ")"
+                + " on conflict (" + key + ") do update set " + increments;
+    }
+
+    private static String assignExcluded(String columns) {
+        return Arrays.stream(columns.split(", "))
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String qualified(String table, String columns) {
+        return Arrays.stream(columns.split(", "))
+                .map(column -> table + "." + column)
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The one dashboard figure that cannot be a stored counter because it moves with the clock: upcoming
+ * events in calendars the user owns or belongs to. Everything else is read from user_counters.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DashboardRepository {
+
+    private static final String UPCOMING = """
+            with accessible as (
+                select c.id from calendars c where c.owner_id = :userId
+                union
+                select m.calendar_id from members m where m.user_id = :userId
+            )
+            select count(*)
+            from events e
+            join accessible a on a.id = e.calendar_id
+            where e.start_time > :now
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long countUpcoming(UUID userId, LocalDateTime now) {
+        var params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("now", Timestamp.valueOf(now));
+        Long count = jdbcTemplate.queryForObject(UPCOMING, params, Long.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,68 @@
+package org.example.calendarservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.entites.Event;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// JDBC batch inserts for bulk event creation (imports); ids are assigned by the caller
+@Repository
+@RequiredArgsConstructor
+public class EventBatchRepository {
+
+    private static final String INSERT_EVENT = """
+            insert into events (id, title, description, created_by, calendar_id, start_time, end_time, location,
+                                recurrence_frequency, recurrence_interval, recurrence_until, recurrence_count,
+                                series_end_time, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_EXCEPTION = "insert into event_recurrence_exceptions (event_id, occurrence_start) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(UUID calendarId, List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_EVENT, events, events.size(), (ps, event) -> {
+            ps.setObject(1, event.getId());
+            ps.setString(2, event.getTitle());
+            ps.setString(3, event.getDescription());
+            ps.setObject(4, event.getCreatedBy());
+            ps.setObject(5, calendarId);
+            ps.setTimestamp(6, timestamp(event.getStartTime()));
+            ps.setTimestamp(7, timestamp(event.getEndTime()));
+            ps.setString(8, event.getLocation());
+            ps.setString(9, event.getRecurrenceFrequency() == null ? null : event.getRecurrenceFrequency().name());
+            ps.setObject(10, event.getRecurrenceInterval(), Types.INTEGER);
+            ps.setTimestamp(11, timestamp(event.getRecurrenceUntil()));
+            ps.setObject(12, event.getRecurrenceCount(), Types.INTEGER);
+            ps.setTimestamp(13, timestamp(event.getSeriesEndTime()));
+            ps.setTimestamp(14, now);
+            ps.setTimestamp(15, now);
+        });
+
+        List<Object[]> exceptions = new ArrayList<>();
+        for (Event event : events) {
+            for (LocalDateTime occurrence : event.getRecurrenceExceptions()) {
+                exceptions.add(new Object[]{event.getId(), Timestamp.valueOf(occurrence)});
+            }
+        }
+        if (!exceptions.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EXCEPTION, exceptions);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.calendarservice.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Reads a calendar's events for the .ics feed through a server-side cursor: rows are handed to the
+ * callback as they arrive, FETCH_SIZE at a time, and are never collected into a list. The Postgres driver
+ * only uses a cursor inside a transaction, hence the read-only transaction around the query.
+ */
+@Repository
+public class EventFeedRepository {
+
+    private static final int FETCH_SIZE = 500;
+
+    private static final String EVENTS = """
+            select e.id, e.title, e.description, e.location, e.start_time, e.end_time,
+                   e.recurrence_frequency, e.recurrence_interval, e.recurrence_until, e.recurrence_count,
+                   e.created_at, e.updated_at,
+                   (select string_agg(to_char(x.occurrence_start, 'YYYYMMDD"T"HH24MISS'), ',' order by x.occurrence_start)
+                    from event_recurrence_exceptions x
+                    where x.event_id = e.id) as exdates
+            from events e
+            where e.calendar_id = ?
+            order by e.start_time, e.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventFeedRepository(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamEvents(UUID calendarId, RowCallbackHandler handler) {
+        jdbcTemplate.query(EVENTS, handler, calendarId);
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.EventImportJob;
+import org.example.calendarservice.enums.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EventImportJobRepository extends JpaRepository<EventImportJob, UUID> {
+
+    Optional<EventImportJob> findByIdAndCalendarId(UUID id, UUID calendarId);
+
+    long countByCalendarIdAndStatusIn(UUID calendarId, Collection<ImportStatus> statuses);
+
+    long countByRequestedByAndStatusIn(UUID requestedBy, Collection<ImportStatus> statuses);
+
+    @Modifying
+    @Transactional
+    @Query("update EventImportJob j set j.heartbeatAt = :now where j.id in :ids")
+    void heartbeat(@Param("ids") Collection<UUID> ids, @Param("now") Instant now);
+
+    // Jobs whose instance stopped refreshing them (crash, redeploy) would otherwise stay QUEUED/RUNNING forever
+    @Modifying
+    @Transactional
+    @Query("""
+            update EventImportJob j
+            set j.status = org.example.calendarservice.enums.ImportStatus.FAILED, j.error = :error, j.finishedAt = :now
+            where j.status in :active and (j.heartbeatAt is null or j.heartbeatAt < :staleBefore)
+            """)
+    int failOrphaned(@Param("active") Collection<ImportStatus> active,
+                     @Param("staleBefore") Instant staleBefore,
+                     @Param("error") String error,
+                     @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            update EventImportJob j
+            set j.status = :status, j.processed = :processed, j.imported = :imported, j.skipped = :skipped
+            where j.id = :id
+            """)
+    void updateProgress(@Param("id") UUID id,
+                        @Param("status") ImportStatus status,
+                        @Param("processed") int processed,
+                        @Param("imported") int imported,
+                        @Param("skipped") int skipped);
+
+    @Modifying
+    @Transactional
+    @Query("update EventImportJob j set j.status = :status, j.error = :error, j.finishedAt = :finishedAt where j.id = :id")
+    void finish(@Param("id") UUID id,
+                @Param("status") ImportStatus status,
+                @Param("error") String error,
+                @Param("finishedAt") Instant finishedAt);
+}
@@ -0,0 +1,11 @@
+package org.example.calendarservice.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record EventInterval(
+        UUID id,
+        LocalDateTime startTime,
+        LocalDateTime endTime
+) {
+}
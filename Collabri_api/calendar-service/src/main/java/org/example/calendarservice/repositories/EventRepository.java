@@ -1,34 +1,119 @@
 package org.example.calendarservice.repositories;
 
+import jakarta.persistence.QueryHint;
 import org.example.calendarservice.entites.Event;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, UUID> {
     List<Event> findAllByCalendarId(UUID calendarId);
 
+    // Event writes go through the calendar in the path; an event of another calendar is "not found"
+    Optional<Event> findByIdAndCalendarId(UUID id, UUID calendarId);
+
+    // Keyset pages ordered by (startTime, id); first page, then every page after a cursor
+    List<Event> findByCalendarIdOrderByStartTimeAscIdAsc(UUID calendarId, Limit limit);
+
+    @Query("""
+            select e
+            from Event e
+            where e.calendar.id = :calendarId
+              and e.startTime >= :startTime
+              and (e.startTime > :startTime or e.id > :id)
+            order by e.startTime, e.id
+            """)
+    List<Event> findPageAfter(@Param("calendarId") UUID calendarId,
+                              @Param("startTime") LocalDateTime startTime,
+                              @Param("id") UUID id,
+                              Limit limit);
+
+    // Series overlapping [from, to): single events by their own end, recurring series by the end of their last
+    // occurrence (null = never ends). Served by the calendar/start, calendar/end and calendar/series_end indexes.
+    String SERIES_IN_WINDOW = """
+            from Event e
+            where e.calendar.id = :calendarId
+              and e.startTime < :to
+              and ((e.recurrenceFrequency is null and e.endTime > :from)
+                   or (e.recurrenceFrequency is not null and (e.seriesEndTime is null or e.seriesEndTime > :from)))
+            """;
+
+    @Query(value = "select e " + SERIES_IN_WINDOW, countQuery = "select count(e) " + SERIES_IN_WINDOW)
+    Page<Event> findOverlappingWindow(@Param("calendarId") UUID calendarId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to,
+                                      Pageable pageable);
+
+    @Query("select e " + SERIES_IN_WINDOW + " order by e.startTime")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<Event> streamSeriesInWindow(@Param("calendarId") UUID calendarId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    // Every event visible to any of the given users, one row per (member, event), in a single range query
+    @Query("""
+            select new org.example.calendarservice.repositories.MemberEventRow(m.userId, e)
+            from Member m
+            join Event e on e.calendar = m.calendar
+            where m.userId in :userIds
+              and e.startTime < :to
+              and ((e.recurrenceFrequency is null and e.endTime > :from)
+                   or (e.recurrenceFrequency is not null and (e.seriesEndTime is null or e.seriesEndTime > :from)))
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<MemberEventRow> streamMemberEventsInWindow(@Param("userIds") Collection<UUID> userIds,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
+    // Events of every calendar any member of :calendarId belongs to, deduplicated, in a single range query
+    @Query("""
+            select e
+            from Event e
+            where e.calendar.id in (select other.calendar.id
+                                    from Member target
+                                    join Member other on other.userId = target.userId
+                                    where target.calendar.id = :calendarId)
+              and e.startTime < :to
+              and ((e.recurrenceFrequency is null and e.endTime > :from)
+                   or (e.recurrenceFrequency is not null and (e.seriesEndTime is null or e.seriesEndTime > :from)))
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "200"))
+    Stream<Event> streamCalendarMembersEventsInWindow(@Param("calendarId") UUID calendarId,
+                                                      @Param("from") LocalDateTime from,
+                                                      @Param("to") LocalDateTime to);
+
     @Query("""
-            select count(e)
+            select new org.example.calendarservice.repositories.EventInterval(e.id, e.startTime, e.endTime)
             from Event e
-            where e.createdBy = :userId
-              and (e.calendar.ownerId = :userId
-                   or exists (select 1 from Member m where m.calendar = e.calendar and m.userId = :userId))
+            where e.calendar.id = :calendarId
+              and e.recurrenceFrequency is null
+            order by e.startTime
             """)
-    long countCreatedByAccessible(@Param("userId") UUID userId);
+    List<EventInterval> findSingleEventIntervals(@Param("calendarId") UUID calendarId);
 
     @Query("""
-            select count(e)
+            select e
             from Event e
-            where e.startTime > :now
-              and (e.calendar.ownerId = :userId
-                   or exists (select 1 from Member m where m.calendar = e.calendar and m.userId = :userId))
+            where e.calendar.id = :calendarId
+              and e.recurrenceFrequency is not null
+              and e.startTime < :to
+              and (e.seriesEndTime is null or e.seriesEndTime > :from)
             """)
-    long countUpcomingAccessible(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
-}
\ No newline at end of file
+    List<Event> findRecurringSeriesInWindow(@Param("calendarId") UUID calendarId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,12 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.Event;
+
+import java.util.UUID;
+
+// One event as seen by one member of its calendar; rows of cross-calendar range queries
+public record MemberEventRow(
+        UUID userId,
+        Event event
+) {
+}
@@ -2,11 +2,16 @@ package org.example.calendarservice.repositories;
 
 import org.example.calendarservice.entites.Member;
 import org.example.calendarservice.enums.Role;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -19,16 +24,49 @@ public interface MemberRepository extends JpaRepository<Member, UUID> {
 
     boolean existsByCalendarIdAndEmailIgnoreCase(UUID calendarId, String email);
 
+    @Query("select lower(m.email) from Member m where m.calendar.id = :calendarId and lower(m.email) in :emails")
+    Set<String> findMemberEmails(@Param("calendarId") UUID calendarId, @Param("emails") Collection<String> emails);
+
     List<Member> findAllByCalendarId(UUID calendarId);
 
-    List<Member> findAllByRoleIn(List<Role> roles);
+    // Keyset pages ordered by id
+    List<Member> findByCalendarIdOrderByIdAsc(UUID calendarId, Limit limit);
+
+    List<Member> findByCalendarIdAndIdGreaterThanOrderByIdAsc(UUID calendarId, UUID id, Limit limit);
+
+    // Member user ids in user id order, read in keyset chunks for notification fan-out
+    @Query("select m.userId from Member m where m.calendar.id = :calendarId order by m.userId")
+    List<UUID> findFirstUserIdChunk(@Param("calendarId") UUID calendarId, Limit limit);
+
+    @Query("select m.userId from Member m where m.calendar.id = :calendarId and m.userId > :afterUserId order by m.userId")
+    List<UUID> findUserIdChunkAfter(@Param("calendarId") UUID calendarId, @Param("afterUserId") UUID afterUserId, Limit limit);
+
+    // Recipient ids of one role in user id order, read in keyset chunks along idx_members_calendar_role
+    @Query("select m.userId from Member m where m.calendar.id = :calendarId and m.role = :role order by m.userId")
+    List<UUID> findFirstUserIdChunkByRole(@Param("calendarId") UUID calendarId, @Param("role") Role role, Limit limit);
+
+    @Query("""
+            select m.userId from Member m
+            where m.calendar.id = :calendarId and m.role = :role and m.userId > :afterUserId
+            order by m.userId
+            """)
+    List<UUID> findUserIdChunkByRoleAfter(@Param("calendarId") UUID calendarId,
+                                          @Param("role") Role role,
+                                          @Param("afterUserId") UUID afterUserId,
+                                          Limit limit);
 
     boolean existsByIdAndCalendarId(UUID memberId, UUID calendarId);
 
     Optional<Member> findByUserId(UUID userId);
 
-    long countByUserId(UUID userId);
 
-    long countByUserIdAndRole(UUID userId, Role role);
+    @Query("""
+            select distinct other.userId
+            from Member self
+            join Member other on other.calendar = self.calendar
+            where self.userId = :userId
+              and other.userId in :candidateIds
+            """)
+    Set<UUID> findUserIdsSharingCalendarWith(@Param("userId") UUID userId, @Param("candidateIds") Collection<UUID> candidateIds);
 }
 
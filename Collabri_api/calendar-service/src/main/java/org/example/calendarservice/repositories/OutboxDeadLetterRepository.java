@@ -0,0 +1,9 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+}
@@ -0,0 +1,20 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.OutboxMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+
+    List<OutboxMessage> findAllByOrderByIdAsc(Limit limit);
+
+    // Transaction-scoped lock so only one instance relays at a time; released on commit/rollback
+    @Query(value = "select pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+    boolean tryAdvisoryLock(@Param("lockKey") long lockKey);
+}
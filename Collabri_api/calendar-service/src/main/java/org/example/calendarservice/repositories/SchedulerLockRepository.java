@@ -0,0 +1,30 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // 1 when the lease was free (or expired) and is now ours, 0 when another instance holds it
+    @Modifying
+    @Transactional
+    @Query(value = """
+            insert into scheduler_locks (name, locked_until, locked_at, locked_by)
+            values (:name, :until, :now, :owner)
+            on conflict (name) do update
+                set locked_until = excluded.locked_until, locked_at = excluded.locked_at, locked_by = excluded.locked_by
+                where scheduler_locks.locked_until <= :now
+            """, nativeQuery = true)
+    int tryAcquire(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") Instant now,
+                   @Param("until") Instant until);
+}
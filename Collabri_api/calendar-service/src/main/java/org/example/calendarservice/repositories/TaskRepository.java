@@ -1,10 +1,13 @@
 package org.example.calendarservice.repositories;
 
 import org.example.calendarservice.entites.Task;
-import org.example.calendarservice.enums.TaskStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -12,7 +15,27 @@ import java.util.UUID;
 public interface TaskRepository extends JpaRepository<Task, UUID> {
     List<Task> findAllByCalendarId(UUID calendarId);
 
-    long countByAssignedToUserId(UUID userId);
+    // Keyset pages ordered by (createdAt, id); assignee fetched in the same query
+    @Query("""
+            select t
+            from Task t
+            left join fetch t.assignedTo
+            where t.calendar.id = :calendarId
+            order by t.createdAt, t.id
+            """)
+    List<Task> findFirstPage(@Param("calendarId") UUID calendarId, Limit limit);
 
-    long countByAssignedToUserIdAndTaskStatusIn(UUID userId, List<TaskStatus> statuses);
+    @Query("""
+            select t
+            from Task t
+            left join fetch t.assignedTo
+            where t.calendar.id = :calendarId
+              and t.createdAt >= :createdAt
+              and (t.createdAt > :createdAt or t.id > :id)
+            order by t.createdAt, t.id
+            """)
+    List<Task> findPageAfter(@Param("calendarId") UUID calendarId,
+                             @Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") UUID id,
+                             Limit limit);
 }
\ No newline at end of file
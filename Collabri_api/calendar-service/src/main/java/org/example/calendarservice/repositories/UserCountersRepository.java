@@ -0,0 +1,11 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.UserCounters;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface UserCountersRepository extends JpaRepository<UserCounters, UUID> {
+}
@@ -0,0 +1,39 @@
+package org.example.calendarservice.repositories;
+
+import org.example.calendarservice.entites.UserDirectoryEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface UserDirectoryRepository extends JpaRepository<UserDirectoryEntry, UUID> {
+
+    /*
+     * Insert or overwrite an entry unless the stored one is newer. Concurrent writers of the same user cannot
+     * collide on the key, and a late event never rolls back a newer change or resurrects a deleted user.
+     * Runs in its own transaction so read-only callers can remember a fetched user. Returns 0 if stale.
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(value = """
+            insert into user_directory (user_id, firstname, lastname, email, changed_at, deleted)
+            values (:userId, :firstname, :lastname, :email, :changedAt, :deleted)
+            on conflict (user_id) do update
+            set firstname = excluded.firstname, lastname = excluded.lastname, email = excluded.email,
+                changed_at = excluded.changed_at, deleted = excluded.deleted
+            where user_directory.changed_at is null or user_directory.changed_at <= excluded.changed_at
+            """, nativeQuery = true)
+    int upsertIfNewer(@Param("userId") UUID userId,
+                      @Param("firstname") String firstname,
+                      @Param("lastname") String lastname,
+                      @Param("email") String email,
+                      @Param("changedAt") Instant changedAt,
+                      @Param("deleted") boolean deleted);
+}
@@ -0,0 +1,136 @@
+package org.example.calendarservice.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.repositories.CalendarFeedInfo;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.EventFeedRepository;
+import org.example.calendarservice.utils.IcsWriter;
+import org.example.calendarservice.utils.TokenUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Read-only iCalendar subscription feed, addressed by a secret per-calendar token so that external
+ * clients can poll it without a JWT. Callers answer conditional GETs from {@link CalendarFeedInfo}
+ * alone; events are only read when the feed actually changed, and then streamed row by row.
+ */
+@Service
+@RequiredArgsConstructor
+public class CalendarFeedService {
+
+    private final CalendarRepository calendarRepository;
+    private final EventFeedRepository eventFeedRepository;
+
+    // Issues a new feed token, invalidating the previous URL; only the hash is stored
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.isOwner(#calendarId, authentication)")
+    @Transactional
+    public String rotateFeedToken(UUID calendarId, Authentication authentication) {
+        Calendar calendar = calendarRepository.findById(calendarId)
+                .orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND));
+        String token = TokenUtil.generatePlainToken();
+        calendar.setFeedTokenHash(TokenUtil.hashTokenSha256Hex(token));
+        return token;
+    }
+
+    public CalendarFeedInfo findFeed(String token) {
+        return calendarRepository.findFeedByTokenHash(TokenUtil.hashTokenSha256Hex(token))
+                .orElseThrow(() -> new CustomException("Feed not found", HttpStatus.NOT_FOUND));
+    }
+
+    public void writeFeed(CalendarFeedInfo feed, OutputStream output) throws IOException {
+        String tzid = validZone(feed.timeZone());
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        IcsWriter ics = new IcsWriter(writer);
+        ics.line("BEGIN", "VCALENDAR")
+                .line("VERSION", "2.0")
+                .line("PRODID", "-//Collabri//Calendar Feed//EN")
+                .line("CALSCALE", "GREGORIAN")
+                .line("METHOD", "PUBLISH")
+                .text("X-WR-CALNAME", feed.name());
+        if (tzid != null) {
+            ics.line("X-WR-TIMEZONE", tzid);
+        }
+
+        Instant now = Instant.now();
+        try {
+            eventFeedRepository.streamEvents(feed.id(), rs -> writeEvent(ics, rs, tzid, now));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        ics.line("END", "VCALENDAR");
+        writer.flush();
+    }
+
+    private static void writeEvent(IcsWriter ics, ResultSet rs, String tzid, Instant now) throws SQLException {
+        try {
+            Timestamp updatedAt = rs.getTimestamp("updated_at");
+            ics.line("BEGIN", "VEVENT")
+                    .line("UID", rs.getObject("id", UUID.class) + "@collabri")
+                    .utc("DTSTAMP", updatedAt == null ? now : updatedAt.toInstant())
+                    .dateTime("DTSTART", rs.getTimestamp("start_time").toLocalDateTime(), tzid);
+            Timestamp end = rs.getTimestamp("end_time");
+            if (end != null) {
+                ics.dateTime("DTEND", end.toLocalDateTime(), tzid);
+            }
+            ics.text("SUMMARY", rs.getString("title"))
+                    .text("DESCRIPTION", rs.getString("description"))
+                    .text("LOCATION", rs.getString("location"));
+
+            String frequency = rs.getString("recurrence_frequency");
+            if (frequency != null) {
+                StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+                int interval = rs.getInt("recurrence_interval");
+                if (!rs.wasNull() && interval > 1) {
+                    rule.append(";INTERVAL=").append(interval);
+                }
+                int count = rs.getInt("recurrence_count");
+                if (!rs.wasNull()) {
+                    rule.append(";COUNT=").append(count);
+                }
+                Timestamp until = rs.getTimestamp("recurrence_until");
+                if (until != null) {
+                    rule.append(";UNTIL=").append(IcsWriter.formatUntil(until.toLocalDateTime(), tzid));
+                }
+                ics.line("RRULE", rule.toString());
+                String exdates = rs.getString("exdates");
+                if (exdates != null) {
+                    ics.line(tzid == null ? "EXDATE" : "EXDATE;TZID=" + tzid, exdates);
+                }
+            }
+            ics.line("END", "VEVENT");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String validZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return null;
+        }
+        try {
+            return ZoneId.of(timeZone).getId();
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
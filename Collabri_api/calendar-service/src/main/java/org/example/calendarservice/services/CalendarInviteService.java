@@ -3,22 +3,27 @@ package org.example.calendarservice.services;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.config.CalendarAccessCache;
 import org.example.calendarservice.config.VerifiedUserChecker;
+import org.example.calendarservice.dto.BulkInviteResponse;
+import org.example.calendarservice.dto.CursorPage;
+import org.example.calendarservice.dto.PendingInviteResponse;
 import org.example.calendarservice.entites.Calendar;
 import org.example.calendarservice.entites.CalendarInvite;
 import org.example.calendarservice.entites.Member;
 import org.example.calendarservice.enums.InviteStatus;
-import org.example.calendarservice.enums.Role;
 import org.example.calendarservice.exceptions.CustomException;
 import org.example.calendarservice.kafka.CalendarInviteEvent;
 import org.example.calendarservice.kafka.InviteProducer;
 import org.example.calendarservice.kafka.MemberJoinedEvent;
 import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.repositories.CalendarInviteBatchRepository;
 import org.example.calendarservice.repositories.CalendarInviteRepository;
 import org.example.calendarservice.repositories.CalendarRepository;
 import org.example.calendarservice.repositories.MemberRepository;
-import org.example.calendarservice.user.UserClient;
+import org.example.calendarservice.user.UserDirectory;
 import org.example.calendarservice.user.UserResponse;
+import org.example.calendarservice.utils.Keyset;
 import org.example.calendarservice.utils.TokenUtil; // your utility
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -29,8 +34,15 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -41,15 +53,23 @@ public class CalendarInviteService {
     @Value("${app.invites.expire-days}")
     private int inviteExpireDays;
 
+    @Value("${app.invites.max-bulk:500}")
+    private int maxBulkInvites;
+
     @Value("${app.mail.username}")
     private String defaultFromAddress;
 
     private final InviteProducer inviteProducer;
-    private final UserClient userClient;
+    private final UserDirectory userDirectory;
     private final CalendarInviteRepository calendarInviteRepository;
     private final CalendarRepository calendarRepository;
     private final MemberRepository memberRepository;
     private final MemberMapper memberMapper;
+    private final CalendarAccessCache calendarAccessCache;
+    private final NotificationRecipients notificationRecipients;
+    private final CalendarInviteBatchRepository calendarInviteBatchRepository;
+    private final UserCalendarDashboardService dashboardService;
+    private final CounterService counterService;
 
     // ---------------------------
     // Helpers
@@ -64,7 +84,7 @@ public class CalendarInviteService {
     }
 
     private void publishInviteEvent(CalendarInvite invite, Calendar calendar, UUID callerUserId, String destinationEmail, String plainToken) {
-        String inviterEmail = userClient.findUserbyId(callerUserId).map(UserResponse::email).orElse(defaultFromAddress);
+        String inviterEmail = userDirectory.findById(callerUserId).map(UserResponse::email).orElse(defaultFromAddress);
         // publish plaintext token only to internal topic — notification service will send via email
         inviteProducer.sendCalendarInvitation(new CalendarInviteEvent(
                 invite.getCalendarId(),
@@ -159,6 +179,92 @@ public class CalendarInviteService {
         return null;
     }
 
+    // Bulk variant of inviteMember: set-based checks, one inviter lookup, one insert batch, one outbox batch.
+    // Emails that cannot be invited are reported per address instead of failing the whole request.
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
+    @Transactional
+    public BulkInviteResponse inviteMembers(UUID calendarId, Collection<String> destinationEmailsRaw, Authentication authentication) {
+        Set<String> emails = new LinkedHashSet<>();
+        for (String raw : destinationEmailsRaw) {
+            if (raw != null && !raw.isBlank()) {
+                emails.add(raw.trim().toLowerCase());
+            }
+        }
+        if (emails.isEmpty()) {
+            throw new CustomException("At least one email is required", HttpStatus.BAD_REQUEST);
+        }
+        if (emails.size() > maxBulkInvites) {
+            throw new CustomException("At most " + maxBulkInvites + " emails per request", HttpStatus.BAD_REQUEST);
+        }
+
+        Calendar calendar = calendarRepository.findById(calendarId)
+                .orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND));
+        UUID userId = UUID.fromString(authentication.getName());
+        String inviterEmail = userDirectory.findById(userId).map(UserResponse::email).orElse(defaultFromAddress);
+
+        Set<String> memberEmails = memberRepository.findMemberEmails(calendarId, emails);
+        Map<String, CalendarInvite> existing = new HashMap<>();
+        for (CalendarInvite invite : calendarInviteRepository.findAllByCalendarIdAndEmails(calendarId, emails)) {
+            existing.put(invite.getDestinationEmail().toLowerCase(), invite);
+        }
+
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(inviteExpireDays, ChronoUnit.DAYS);
+        List<String> invited = new ArrayList<>();
+        Map<String, String> skipped = new LinkedHashMap<>();
+        List<CalendarInvite> created = new ArrayList<>();
+        List<CalendarInviteEvent> events = new ArrayList<>();
+
+        for (String email : emails) {
+            if (memberEmails.contains(email)) {
+                skipped.put(email, "already a member");
+                continue;
+            }
+            CalendarInvite invite = existing.get(email);
+            if (invite != null) {
+                boolean overdue = invite.getExpiresAt() != null && invite.getExpiresAt().isBefore(now);
+                if (invite.getStatus() == InviteStatus.PENDING && !overdue) {
+                    skipped.put(email, "invite already pending");
+                    continue;
+                }
+                if (invite.getStatus() == InviteStatus.ACCEPTED) {
+                    skipped.put(email, "invite already accepted");
+                    continue;
+                }
+            } else {
+                invite = CalendarInvite.builder()
+                        .id(UUID.randomUUID())
+                        .calendarId(calendarId)
+                        .destinationEmail(email)
+                        .build();
+                created.add(invite);
+            }
+
+            // new, expired or declined: (re)issue the token; existing rows are flushed by dirty checking
+            String plainToken = TokenUtil.generatePlainToken();
+            invite.setTokenHash(TokenUtil.hashTokenSha256Hex(plainToken));
+            invite.setExpiresAt(expiresAt);
+            invite.setStatus(InviteStatus.PENDING);
+            invite.setInvitedByUserId(userId);
+
+            events.add(new CalendarInviteEvent(
+                    calendarId,
+                    userId,
+                    calendar.getName(),
+                    inviterEmail,
+                    email,
+                    plainToken,
+                    expiresAt
+            ));
+            invited.add(email);
+        }
+
+        calendarInviteBatchRepository.insertAll(created);
+        inviteProducer.sendCalendarInvitations(events);
+        log.info("Bulk invite to calendar {} by {}: {} invited, {} skipped", calendarId, userId, invited.size(), skipped.size());
+        return new BulkInviteResponse(invited, skipped);
+    }
+
     // Accept with authenticated user (incoming token is plaintext)
 
     @PreAuthorize("@verified.isVerified(authentication)")
@@ -178,7 +284,7 @@ public class CalendarInviteService {
         }
 
         // Verify destination email matches authenticated user (if invite had email)
-        var userResp = userClient.findUserbyId(userId).orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
+        var userResp = userDirectory.findById(userId).orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
         if (invite.getDestinationEmail() != null && !invite.getDestinationEmail().equalsIgnoreCase(userResp.email())) {
             throw new CustomException("Invite email does not match authenticated user", HttpStatus.CONFLICT);
         }
@@ -187,6 +293,7 @@ public class CalendarInviteService {
         if (memberRepository.existsByUserIdAndCalendarId(userId, calId)) {
             invite.setStatus(InviteStatus.ACCEPTED);
             calendarInviteRepository.save(invite);
+            dashboardService.invalidate(userId);
             return null;
         }
 
@@ -194,25 +301,39 @@ public class CalendarInviteService {
         member.setUserId(userId);
         member.setCalendar(calendarRepository.findById(calId).orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND)));
         memberRepository.save(member);
+        calendarAccessCache.invalidate(userId, calId);
+        counterService.memberAdded(userId, calId, member.getRole());
+        dashboardService.invalidate(userId);
 
         invite.setStatus(InviteStatus.ACCEPTED);
         calendarInviteRepository.save(invite);
         log.info("User {} accepted invite to calendar {}", userId, calId);
 
         //--- Future: Publish Member Activity Event ---
-        var memberJoinedEvent = new MemberJoinedEvent(
-                member.getDisplayName(),
-                member.getCalendar().getId(),
-                member.getCalendar().getName(),
-                memberRepository.findAllByRoleIn(List.of(Role.OWNER, Role.MANAGER)).stream()
-                        .map(Member::getUserId)
-                        .toList()
-        );
-        inviteProducer.sendMemberJoinedNotification(memberJoinedEvent);
+        notificationRecipients.forEachWatcherChunk(calId, recipients -> inviteProducer.sendMemberJoinedNotification(
+                new MemberJoinedEvent(
+                        member.getDisplayName(),
+                        member.getCalendar().getId(),
+                        member.getCalendar().getName(),
+                        recipients
+                )));
         return null;
     }
 
 
+    // The caller's live invites across calendars, matched on the email the invites were sent to
+    @PreAuthorize("@verified.isVerified(authentication)")
+    public CursorPage<PendingInviteResponse> getMyPendingInvites(String cursor, int size, Authentication authentication) {
+        String email = userDirectory.findEmail(authentication)
+                .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
+        Keyset.Position after = Keyset.decode(cursor);
+        Instant now = Instant.now();
+        List<PendingInviteResponse> rows = after == null
+                ? calendarInviteRepository.findPendingFirstPage(email, now, Keyset.limit(size))
+                : calendarInviteRepository.findPendingPageAfter(email, now, after.keyAsInstant(), after.id(), Keyset.limit(size));
+        return Keyset.page(rows, size, invite -> Keyset.encode(invite.expiresAt(), invite.id()), invite -> invite);
+    }
+
     // Decline (supports authenticated or token)
     @Transactional
     @PreAuthorize("@verified.isVerified(authentication)")
@@ -229,7 +350,7 @@ public class CalendarInviteService {
         if (authentication != null) {
             Jwt jwt = (Jwt) authentication.getPrincipal();
             UUID userId = UUID.fromString(jwt.getClaim("userId").toString());
-            var userResp = userClient.findUserbyId(userId)
+            var userResp = userDirectory.findById(userId)
                     .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
             if (invite.getDestinationEmail() != null && !invite.getDestinationEmail().equalsIgnoreCase(userResp.email())) {
                 throw new CustomException("Invite email does not match authenticated user", HttpStatus.CONFLICT);
@@ -238,6 +359,9 @@ public class CalendarInviteService {
 
         invite.setStatus(InviteStatus.DECLINED);
         calendarInviteRepository.save(invite);
+        if (authentication != null) {
+            dashboardService.invalidate(UUID.fromString(authentication.getName()));
+        }
 
         log.info("Invite {} declined", invite.getId());
         return null;
@@ -4,19 +4,29 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.calendarservice.dto.CalendarRequest;
 import org.example.calendarservice.dto.CalendarResponse;
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.entites.Calendar;
 import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.enums.CalendarExpansion;
 import org.example.calendarservice.enums.Role;
 import org.example.calendarservice.enums.Visibility;
 import org.example.calendarservice.mappers.CalendarMapper;
 import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.config.SearchIndexInitializer;
 import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.CalendarSearchRepository;
 import org.example.calendarservice.repositories.CategoryRepository;
 import org.example.calendarservice.repositories.MemberRepository;
-import org.example.calendarservice.user.UserClient;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.utils.Keyset;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -30,9 +40,16 @@ public class CalendarService {
     private final CategoryRepository categoryRepository;
     private final CalendarMapper calendarMapper;
     private final MemberMapper memberMapper;
-    private final UserClient userClient;
+    private final UserDirectory userDirectory;
+    private final CalendarSearchRepository calendarSearchRepository;
+    private final SearchIndexInitializer searchIndexInitializer;
+    private final PublicCalendarDirectory publicCalendarDirectory;
+    private final CalendarAccessCache calendarAccessCache;
+    private final UserCalendarDashboardService dashboardService;
+    private final CounterService counterService;
 
 
+    @Transactional
     public void createCalendar(CalendarRequest request, Authentication authentication) {
 
         // 1. AUTHENTICATION & VALIDATION
@@ -41,7 +58,7 @@ public class CalendarService {
         UUID userId = UUID.fromString(jwt.getClaim("userId").toString());
 
         // Get user details from user service
-        var userResponse = userClient.findUserbyId(userId).orElseThrow(() ->
+        var userResponse = userDirectory.findById(userId).orElseThrow(() ->
                 new IllegalArgumentException("User not found")
         );
 
@@ -64,37 +81,56 @@ public class CalendarService {
         // 5. PERSIST TO DATABASE
         calendarRepository.save(calendar);
         memberRepository.save(member);
+        counterService.calendarCreated(userId, calendar.getId(), calendar.getVisibility());
+        publicCalendarDirectory.invalidate();
+        dashboardService.invalidate(userId);
     }
 
-    public List<CalendarResponse> getAllCalendars() {
-        return calendarRepository.findByVisibility(Visibility.PUBLIC)
-                .stream()
-                .map(calendarMapper::fromCalendar)
-                .toList();
+    public PublicCalendarDirectory.Snapshot getAllCalendars() {
+        return publicCalendarDirectory.get();
     }
 
-    public List<CalendarResponse> searchPublicCalendars(String name) {
-        List<Calendar> calendars;
+    public CursorPage<CalendarSummaryResponse> searchPublicCalendars(String name, String cursor, int size) {
+        // Public calendars whose name starts with the prefix; no prefix matches every calendar, unnamed ones first
+        String prefix = (name == null ? "" : escapeLike(name.toLowerCase())) + "%";
+        Keyset.Position after = Keyset.decode(cursor);
+        List<CalendarSummaryResponse> calendars = after == null
+                ? calendarRepository.searchFirstPage(Visibility.PUBLIC, prefix, Keyset.limit(size))
+                : calendarRepository.searchPageAfter(Visibility.PUBLIC, prefix, after.key(), after.id(), Keyset.limit(size));
+
+        return Keyset.page(calendars, size, calendar -> Keyset.encode(calendar.name(), calendar.id()), calendar -> calendar);
+    }
 
-        if (name == null || name.isEmpty()) {
-            // Return all public calendars when no name provided
-            calendars = calendarRepository.findByVisibility(Visibility.PUBLIC);
-        } else {
-            // Return public calendars with names starting with the provided prefix
-            calendars = calendarRepository.findByVisibilityAndNameStartingWithIgnoreCase(Visibility.PUBLIC, name);
+    // Shorter terms carry too few trigrams to rank meaningfully and are served as a prefix match
+    private static final int MIN_RANKED_QUERY_LENGTH = 3;
+
+    public CursorPage<CalendarSummaryResponse> rankedSearchPublicCalendars(String query, String cursor, int size) {
+        String trimmed = query.trim();
+        if (trimmed.length() < MIN_RANKED_QUERY_LENGTH || !searchIndexInitializer.isReady()) {
+            return searchPublicCalendars(trimmed, cursor, size);
         }
+        Keyset.Position after = Keyset.decode(cursor);
+        List<CalendarSearchRepository.RankedSummary> rows = calendarSearchRepository.search(
+                trimmed,
+                after == null ? null : after.keyAsDouble(),
+                after == null ? null : after.id(),
+                Keyset.limit(size).max());
+        return Keyset.page(rows, size, row -> Keyset.encode(row.score(), row.calendar().id()), CalendarSearchRepository.RankedSummary::calendar);
+    }
 
-        return calendars.stream()
-                .map(calendarMapper::fromCalendar)
-                .toList();
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
-    public CalendarResponse getCalendarById(UUID id) {
+    @Transactional(readOnly = true)
+    public CalendarResponse getCalendarById(UUID id, Collection<String> expand) {
+        var expansions = CalendarExpansion.parse(expand);
         return calendarRepository.findById(id)
-                .map(calendarMapper::fromCalendar)
+                .map(calendar -> calendarMapper.fromCalendar(calendar, expansions))
                 .orElseThrow(() -> new IllegalArgumentException("Calendar not found"));
     }
 
+    @Transactional
     public void deleteCalendarById(UUID id, Authentication authentication) {
         Calendar calendar = calendarRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Calendar not found"));
@@ -107,9 +143,14 @@ public class CalendarService {
 
         }
         // Proceed to delete the calendar
+        counterService.calendarDeleting(id);
         calendarRepository.deleteById(id);
+        calendarAccessCache.invalidateCalendar(id);
+        publicCalendarDirectory.invalidate();
+        dashboardService.invalidateAll(); // every member's counts change
     }
 
+    @Transactional
     public void updateCalendar(CalendarRequest request, UUID id, Authentication authentication) {
         Calendar calendar = calendarRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Calendar not found"));
@@ -124,14 +165,18 @@ public class CalendarService {
         }
 
         // Update calendar fields
+        counterService.calendarVisibilityChanged(userId, calendar.getVisibility(), request.visibility());
         calendar.setName(request.name());
         calendar.setDescription(request.description());
         calendar.setVisibility(request.visibility());
         calendar.setTimeZone(request.timeZone());
         calendar.setUpdatedAt(java.time.LocalDateTime.now());
+        calendar.setEventsChangedAt(java.time.Instant.now()); // name and time zone are part of the .ics feed
 
         // Save updated calendar
         calendarRepository.save(calendar);
+        publicCalendarDirectory.invalidate();
+        dashboardService.invalidate(userId);
     }
 
 
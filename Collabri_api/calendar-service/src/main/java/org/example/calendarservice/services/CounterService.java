@@ -0,0 +1,177 @@
+package org.example.calendarservice.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.calendarservice.enums.CalendarCounter;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.TaskStatus;
+import org.example.calendarservice.enums.UserCounter;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.repositories.CounterRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps user_counters and calendar_counters in step with the writes that change them. Each hook must run
+ * in the caller's transaction (enforced), so a counter moves iff the write commits. Deletes that cascade through
+ * many rows recompute the affected users instead of tracking every delta; {@link org.example.calendarservice.utils.CounterReconciler}
+ * fixes whatever drift remains.
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class CounterService {
+
+    private final CounterRepository counterRepository;
+    private final TransactionTemplate requiresNew;
+
+    public CounterService(CounterRepository counterRepository, PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // The owner is also the calendar's first member (role OWNER)
+    public void calendarCreated(UUID ownerId, UUID calendarId, Visibility visibility) {
+        Map<UserCounter, Long> owner = deltas(UserCounter.OWNED_CALENDARS, 1, UserCounter.JOINED_CALENDARS, 1);
+        visibilityCounter(visibility, owner, 1);
+        counterRepository.addToUser(ownerId, owner);
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.MEMBERS, 1L));
+    }
+
+    public void calendarVisibilityChanged(UUID ownerId, Visibility from, Visibility to) {
+        if (from == to) {
+            return;
+        }
+        Map<UserCounter, Long> owner = new EnumMap<>(UserCounter.class);
+        visibilityCounter(from, owner, -1);
+        visibilityCounter(to, owner, 1);
+        counterRepository.addToUser(ownerId, owner);
+    }
+
+    // Call before deleting: members, tasks and events go with the calendar, so its users are recomputed after commit
+    public void calendarDeleting(UUID calendarId) {
+        Set<UUID> affected = counterRepository.findUsersCountedIn(calendarId);
+        afterCommit(() -> {
+            counterRepository.deleteCalendar(calendarId);
+            counterRepository.reconcileUsers(affected);
+        });
+    }
+
+    public void memberAdded(UUID userId, UUID calendarId, Role role) {
+        counterRepository.addToUser(userId, roleDeltas(role, 1));
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.MEMBERS, 1L));
+    }
+
+    // Tasks assigned to the membership may go with it, so the user's row is recomputed after commit
+    public void memberRemoved(UUID userId, UUID calendarId) {
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.MEMBERS, -1L));
+        reconcileAfterCommit(Set.of(userId));
+    }
+
+    public void memberRoleChanged(UUID userId, Role from, Role to) {
+        if (from == to) {
+            return;
+        }
+        Map<UserCounter, Long> deltas = roleDeltas(from, -1);
+        roleDeltas(to, 1).forEach((counter, delta) -> deltas.merge(counter, delta, Long::sum));
+        counterRepository.addToUser(userId, deltas);
+    }
+
+    public void eventsCreated(UUID userId, UUID calendarId, long count) {
+        if (userId != null) {
+            counterRepository.addToUser(userId, Map.of(UserCounter.EVENTS_CREATED, count));
+        }
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.EVENTS, count));
+    }
+
+    public void eventDeleted(UUID createdBy, UUID calendarId) {
+        eventsCreated(createdBy, calendarId, -1);
+    }
+
+    public void taskCreated(UUID calendarId, UUID assigneeId, TaskStatus status) {
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.TASKS, 1L));
+        taskAssignment(assigneeId, status, 1);
+    }
+
+    public void taskChanged(UUID previousAssigneeId, TaskStatus previousStatus, UUID assigneeId, TaskStatus status) {
+        if (previousStatus == status && Objects.equals(previousAssigneeId, assigneeId)) {
+            return;
+        }
+        taskAssignment(previousAssigneeId, previousStatus, -1);
+        taskAssignment(assigneeId, status, 1);
+    }
+
+    public void taskDeleted(UUID calendarId, UUID assigneeId, TaskStatus status) {
+        counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.TASKS, -1L));
+        taskAssignment(assigneeId, status, -1);
+    }
+
+    public void reconcileAfterCommit(Collection<UUID> userIds) {
+        afterCommit(() -> counterRepository.reconcileUsers(userIds));
+    }
+
+    private void taskAssignment(UUID assigneeId, TaskStatus status, long sign) {
+        if (assigneeId == null) {
+            return;
+        }
+        Map<UserCounter, Long> deltas = deltas(UserCounter.TASKS_ASSIGNED, sign);
+        if (status == TaskStatus.COMPLETED) {
+            deltas.put(UserCounter.TASKS_COMPLETED, sign);
+        } else if (status == TaskStatus.PENDING) {
+            deltas.put(UserCounter.TASKS_PENDING, sign);
+        }
+        counterRepository.addToUser(assigneeId, deltas);
+    }
+
+    private static Map<UserCounter, Long> roleDeltas(Role role, long sign) {
+        Map<UserCounter, Long> deltas = deltas(UserCounter.JOINED_CALENDARS, sign);
+        if (role == Role.MANAGER) {
+            deltas.put(UserCounter.CALENDARS_AS_MANAGER, sign);
+        } else if (role == Role.VIEWER) {
+            deltas.put(UserCounter.CALENDARS_AS_VIEWER, sign);
+        }
+        return deltas;
+    }
+
+    private static void visibilityCounter(Visibility visibility, Map<UserCounter, Long> deltas, long sign) {
+        if (visibility == Visibility.PUBLIC) {
+            deltas.merge(UserCounter.PUBLIC_CALENDARS, sign, Long::sum);
+        } else if (visibility == Visibility.PRIVATE) {
+            deltas.merge(UserCounter.PRIVATE_CALENDARS, sign, Long::sum);
+        }
+    }
+
+    private static Map<UserCounter, Long> deltas(UserCounter counter, long delta) {
+        Map<UserCounter, Long> deltas = new EnumMap<>(UserCounter.class);
+        deltas.put(counter, delta);
+        return deltas;
+    }
+
+    private static Map<UserCounter, Long> deltas(UserCounter first, long firstDelta, UserCounter second, long secondDelta) {
+        Map<UserCounter, Long> deltas = deltas(first, firstDelta);
+        deltas.put(second, secondDelta);
+        return deltas;
+    }
+
+    // Runs once the surrounding transaction has committed, in its own transaction
+    private void afterCommit(Runnable work) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requiresNew.executeWithoutResult(status -> work.run());
+            }
+        });
+    }
+}
@@ -0,0 +1,247 @@
+package org.example.calendarservice.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.repositories.EventInterval;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.utils.RecurrenceExpander;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Per-calendar in-memory interval index used to detect overlapping events on create/update.
+ * Single events are kept in a start-ordered skip list; an overlap lookup scans only events starting
+ * within {@code long-event-threshold} before the window, plus the (few) events longer than that, which are
+ * kept apart. Recurring series are few and are expanded on demand.
+ * <p>
+ * An index is built lazily on first use and then patched with each write's own interval rather than rebuilt.
+ * It is rebuilt from the database after {@code ttl} regardless, which bounds any drift from writes whose
+ * after-commit patches interleave out of order. Bulk imports drop the index instead of patching it.
+ */
+@Component
+@Slf4j
+public class EventConflictIndex {
+
+    private final EventRepository eventRepository;
+    private final Cache<UUID, CalendarIntervals> indexes;
+    private final long longEventSeconds;
+
+    @Value("${app.events.conflict-index.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${app.events.conflict-index.max-checked-occurrences:500}")
+    private int maxCheckedOccurrences;
+
+    public EventConflictIndex(EventRepository eventRepository,
+                              @Value("${app.events.conflict-index.max-calendars:256}") int maxCalendars,
+                              @Value("${app.events.conflict-index.ttl:PT10M}") Duration ttl,
+                              @Value("${app.events.conflict-index.long-event-threshold:P1D}") Duration longEventThreshold) {
+        this.eventRepository = eventRepository;
+        this.longEventSeconds = longEventThreshold.toSeconds();
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxCalendars)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Ids of existing events in the calendar overlapping any occurrence of the candidate.
+     * Recurring candidates are checked up to the configured horizon / occurrence count.
+     */
+    public List<UUID> findConflicts(UUID calendarId, Event candidate) {
+        LocalDateTime windowStart = candidate.getStartTime();
+        LocalDateTime seriesEnd = RecurrenceExpander.seriesEnd(candidate);
+        LocalDateTime horizon = windowStart.plusDays(horizonDays);
+        LocalDateTime windowEnd = seriesEnd == null || seriesEnd.isAfter(horizon) ? horizon : seriesEnd;
+        if (!windowEnd.isAfter(windowStart)) {
+            windowEnd = candidate.getEndTime();
+        }
+
+        Duration duration = Duration.between(candidate.getStartTime(), candidate.getEndTime());
+        List<LocalDateTime> occurrences = RecurrenceExpander.occurrencesBetween(candidate, windowStart, windowEnd)
+                .limit(maxCheckedOccurrences)
+                .toList();
+        if (occurrences.isEmpty()) {
+            return List.of();
+        }
+
+        CalendarIntervals intervals = indexes.get(calendarId, this::load);
+        List<Event> recurring = eventRepository.findRecurringSeriesInWindow(calendarId, windowStart, windowEnd);
+
+        Set<UUID> conflicts = new LinkedHashSet<>();
+        for (LocalDateTime start : occurrences) {
+            LocalDateTime end = start.plus(duration);
+            intervals.collectOverlaps(start, end, conflicts);
+            for (Event series : recurring) {
+                if (!conflicts.contains(series.getId())
+                        && RecurrenceExpander.occurrencesBetween(series, start, end).findAny().isPresent()) {
+                    conflicts.add(series.getId());
+                }
+            }
+        }
+        if (candidate.getId() != null) {
+            conflicts.remove(candidate.getId());
+        }
+        return new ArrayList<>(conflicts);
+    }
+
+    /**
+     * Records a created or updated event in the cached index. The patch is applied before commit (so a writer
+     * serialized behind this one sees it) and again after commit (in case a concurrent load read the
+     * pre-commit rows); a rollback drops the index instead.
+     */
+    public void eventSaved(UUID calendarId, Event event) {
+        UUID eventId = event.getId();
+        if (event.getRecurrenceFrequency() != null) {
+            patch(calendarId, intervals -> intervals.remove(eventId)); // series are not indexed
+            return;
+        }
+        EventInterval interval = new EventInterval(eventId, event.getStartTime(), event.getEndTime());
+        patch(calendarId, intervals -> intervals.put(interval));
+    }
+
+    public void eventDeleted(UUID calendarId, UUID eventId) {
+        patch(calendarId, intervals -> intervals.remove(eventId));
+    }
+
+    /**
+     * Drops the calendar's index now and again after the surrounding transaction completes,
+     * so a concurrent reader cannot re-cache the pre-commit state. Used for bulk writes.
+     */
+    public void invalidate(UUID calendarId) {
+        indexes.invalidate(calendarId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    indexes.invalidate(calendarId);
+                }
+            });
+        }
+    }
+
+    // Patches are idempotent (put/remove by event id), so applying one twice is harmless
+    private void patch(UUID calendarId, Consumer<CalendarIntervals> change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyIfCached(calendarId, change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                applyIfCached(calendarId, change);
+            }
+
+            @Override
+            public void afterCommit() {
+                applyIfCached(calendarId, change);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    indexes.invalidate(calendarId);
+                }
+            }
+        });
+    }
+
+    // computeIfPresent waits for an in-flight load of the same calendar, so the patch is never lost to it
+    private void applyIfCached(UUID calendarId, Consumer<CalendarIntervals> change) {
+        indexes.asMap().computeIfPresent(calendarId, (id, intervals) -> {
+            change.accept(intervals);
+            return intervals;
+        });
+    }
+
+    private CalendarIntervals load(UUID calendarId) {
+        List<EventInterval> rows = eventRepository.findSingleEventIntervals(calendarId);
+        log.debug("Built conflict index for calendar {} with {} events", calendarId, rows.size());
+        CalendarIntervals intervals = new CalendarIntervals(longEventSeconds);
+        rows.forEach(intervals::put);
+        return intervals;
+    }
+
+    //-------------------------------- Index ---------------------------------//
+    static final class CalendarIntervals {
+
+        private record Key(long start, UUID id) implements Comparable<Key> {
+            @Override
+            public int compareTo(Key other) {
+                int byStart = Long.compare(start, other.start);
+                return byStart != 0 ? byStart : id.compareTo(other.id);
+            }
+        }
+
+        private record Span(long start, long end) {
+        }
+
+        private final long longEventSeconds;
+        private final ConcurrentNavigableMap<Key, Long> shortByStart = new ConcurrentSkipListMap<>(); // key -> end
+        private final Map<UUID, Span> longEvents = new ConcurrentHashMap<>();
+        private final Map<UUID, Span> byId = new ConcurrentHashMap<>();
+
+        CalendarIntervals(long longEventSeconds) {
+            this.longEventSeconds = longEventSeconds;
+        }
+
+        // Readers are lock-free; writers are serialized so an update's remove+add is not interleaved
+        synchronized void put(EventInterval interval) {
+            remove(interval.id());
+            Span span = new Span(toSeconds(interval.startTime()), toSeconds(interval.endTime()));
+            byId.put(interval.id(), span);
+            if (span.end() - span.start() > longEventSeconds) {
+                longEvents.put(interval.id(), span);
+            } else {
+                shortByStart.put(new Key(span.start(), interval.id()), span.end());
+            }
+        }
+
+        synchronized void remove(UUID id) {
+            Span previous = byId.remove(id);
+            if (previous != null) {
+                longEvents.remove(id);
+                shortByStart.remove(new Key(previous.start(), id));
+            }
+        }
+
+        void collectOverlaps(LocalDateTime start, LocalDateTime end, Set<UUID> into) {
+            long from = toSeconds(start);
+            long to = toSeconds(end);
+            // a short event overlapping [from, to) must start in [from - longEventSeconds, to)
+            Key lower = new Key(from - longEventSeconds, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+            Key upper = new Key(to, new UUID(Long.MIN_VALUE, Long.MIN_VALUE));
+            shortByStart.subMap(lower, true, upper, false).forEach((key, eventEnd) -> {
+                if (eventEnd > from) {
+                    into.add(key.id());
+                }
+            });
+            longEvents.forEach((id, span) -> {
+                if (span.start() < to && span.end() > from) {
+                    into.add(id);
+                }
+            });
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        private static long toSeconds(LocalDateTime time) {
+            return time.toEpochSecond(ZoneOffset.UTC);
+        }
+    }
+}
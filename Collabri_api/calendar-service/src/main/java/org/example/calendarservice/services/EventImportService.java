@@ -0,0 +1,471 @@
+package org.example.calendarservice.services;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.dto.EventImportJobResponse;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.entites.EventImportJob;
+import org.example.calendarservice.enums.ImportStatus;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.kafka.EventsImportedEvent;
+import org.example.calendarservice.kafka.InviteProducer;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.EventBatchRepository;
+import org.example.calendarservice.repositories.EventImportJobRepository;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.user.UserResponse;
+import org.example.calendarservice.utils.IcsReader;
+import org.example.calendarservice.utils.RecurrenceExpander;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports .ics uploads as background jobs. The request body is spooled to a temp file (never held in
+ * memory), then a worker streams VEVENTs out of it and inserts them in JDBC batches, one transaction per
+ * batch, updating the job's counters as it goes. Members get one import summary (calendar-import-topic)
+ * instead of one event-created notification per event.
+ * <p>
+ * Admission is bounded: at most {@code max-active-per-calendar} / {@code max-active-per-user} queued or
+ * running jobs (429 beyond that) and {@code queue-capacity} jobs waiting per instance (503 when full).
+ * Jobs live on the instance that accepted them, which refreshes their heartbeat; a job left QUEUED/RUNNING
+ * by an instance that died is marked FAILED once its heartbeat is {@code orphan-after} old.
+ */
+@Service
+@Slf4j
+public class EventImportService {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int MAX_TEXT = 255;
+    private static final Set<ImportStatus> ACTIVE = Set.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+
+    private final CalendarRepository calendarRepository;
+    private final EventImportJobRepository jobRepository;
+    private final EventBatchRepository eventBatchRepository;
+    private final EventService eventService;
+    private final EventConflictIndex eventConflictIndex;
+    private final CounterService counterService;
+    private final UserDirectory userDirectory;
+    private final InviteProducer inviteProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long maxBytes;
+    private final int maxEvents;
+    private final int maxActivePerCalendar;
+    private final int maxActivePerUser;
+    private final Duration orphanAfter;
+    private final ExecutorService workers;
+    private final Set<UUID> localJobs = ConcurrentHashMap.newKeySet(); // queued or running on this instance
+
+    public EventImportService(CalendarRepository calendarRepository,
+                              EventImportJobRepository jobRepository,
+                              EventBatchRepository eventBatchRepository,
+                              EventService eventService,
+                              EventConflictIndex eventConflictIndex,
+                              CounterService counterService,
+                              UserDirectory userDirectory,
+                              InviteProducer inviteProducer,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.imports.batch-size:500}") int batchSize,
+                              @Value("${app.imports.max-size:50MB}") DataSize maxSize,
+                              @Value("${app.imports.max-events:50000}") int maxEvents,
+                              @Value("${app.imports.concurrency:2}") int concurrency,
+                              @Value("${app.imports.queue-capacity:20}") int queueCapacity,
+                              @Value("${app.imports.max-active-per-calendar:1}") int maxActivePerCalendar,
+                              @Value("${app.imports.max-active-per-user:3}") int maxActivePerUser,
+                              @Value("${app.imports.orphan-after:PT5M}") Duration orphanAfter) {
+        this.calendarRepository = calendarRepository;
+        this.jobRepository = jobRepository;
+        this.eventBatchRepository = eventBatchRepository;
+        this.eventService = eventService;
+        this.eventConflictIndex = eventConflictIndex;
+        this.counterService = counterService;
+        this.userDirectory = userDirectory;
+        this.inviteProducer = inviteProducer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBytes = maxSize.toBytes();
+        this.maxEvents = maxEvents;
+        this.maxActivePerCalendar = maxActivePerCalendar;
+        this.maxActivePerUser = maxActivePerUser;
+        this.orphanAfter = orphanAfter;
+        this.workers = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "ics-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs once at startup and then periodically: keeps this instance's jobs alive, fails everyone's orphans
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.imports.heartbeat-interval:PT1M}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        if (!localJobs.isEmpty()) {
+            jobRepository.heartbeat(Set.copyOf(localJobs), now);
+        }
+        int orphaned = jobRepository.failOrphaned(ACTIVE, now.minus(orphanAfter), "Import was interrupted", now);
+        if (orphaned > 0) {
+            log.warn("Marked {} orphaned import job(s) as failed", orphaned);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
+    public EventImportJobResponse startImport(UUID calendarId, InputStream body, Authentication authentication) {
+        Calendar calendar = calendarRepository.findById(calendarId)
+                .orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND));
+        UUID userId = UUID.fromString(authentication.getName());
+        ZoneId zone = zoneOf(calendar);
+
+        Path file = spool(body);
+        EventImportJob job;
+        try {
+            job = transactionTemplate.execute(status -> admit(calendarId, userId));
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+
+        localJobs.add(job.getId());
+        try {
+            workers.submit(() -> run(job.getId(), calendarId, calendar.getName(), zone, userId, file));
+        } catch (RejectedExecutionException e) {
+            localJobs.remove(job.getId());
+            deleteQuietly(file);
+            jobRepository.finish(job.getId(), ImportStatus.FAILED, "Import queue is full", Instant.now());
+            throw new CustomException("Too many imports in progress, try again later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        log.info("Queued ics import {} for calendar {}", job.getId(), calendarId);
+        return toResponse(job);
+    }
+
+    // The calendar row lock makes the count-then-insert atomic for imports into the same calendar
+    private EventImportJob admit(UUID calendarId, UUID userId) {
+        calendarRepository.lockForEventWrite(calendarId);
+        if (jobRepository.countByCalendarIdAndStatusIn(calendarId, ACTIVE) >= maxActivePerCalendar) {
+            throw new CustomException("An import is already in progress for this calendar", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        if (jobRepository.countByRequestedByAndStatusIn(userId, ACTIVE) >= maxActivePerUser) {
+            throw new CustomException("Too many imports in progress for this user", HttpStatus.TOO_MANY_REQUESTS);
+        }
+        Instant now = Instant.now();
+        return jobRepository.save(EventImportJob.builder()
+                .calendarId(calendarId)
+                .requestedBy(userId)
+                .status(ImportStatus.QUEUED)
+                .createdAt(now)
+                .heartbeatAt(now)
+                .build());
+    }
+
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
+    public EventImportJobResponse getImport(UUID calendarId, UUID jobId) {
+        return jobRepository.findByIdAndCalendarId(jobId, calendarId)
+                .map(this::toResponse)
+                .orElseThrow(() -> new CustomException("Import not found", HttpStatus.NOT_FOUND));
+    }
+
+    private Path spool(InputStream body) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("ics-import-", ".ics");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[8192];
+                long total = 0;
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxBytes) {
+                        throw new CustomException("Import file exceeds " + DataSize.ofBytes(maxBytes).toMegabytes() + "MB", HttpStatus.PAYLOAD_TOO_LARGE);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return file;
+        } catch (CustomException e) {
+            deleteQuietly(file);
+            throw e;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new CustomException("Could not read import file", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private void run(UUID jobId, UUID calendarId, String calendarName, ZoneId zone, UUID userId, Path file) {
+        int[] counters = new int[3]; // processed, imported, skipped
+        List<Event> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            jobRepository.updateProgress(jobId, ImportStatus.RUNNING, 0, 0, 0);
+            IcsReader.readEvents(reader, properties -> {
+                counters[0]++;
+                if (counters[1] + batch.size() >= maxEvents) {
+                    counters[2]++;
+                    return;
+                }
+                Event event = toEvent(properties, zone, userId);
+                if (event == null) {
+                    counters[2]++;
+                    return;
+                }
+                batch.add(event);
+                if (batch.size() >= batchSize) {
+                    flush(jobId, calendarId, userId, batch, counters);
+                }
+            });
+            flush(jobId, calendarId, userId, batch, counters);
+            jobRepository.finish(jobId, ImportStatus.COMPLETED, null, Instant.now());
+            log.info("Import {} into calendar {}: {} imported, {} skipped", jobId, calendarId, counters[1], counters[2]);
+        } catch (Exception e) {
+            log.warn("Import {} into calendar {} failed after {} events: {}", jobId, calendarId, counters[1], e.getMessage());
+            jobRepository.finish(jobId, ImportStatus.FAILED, truncate(e.getMessage(), 1000), Instant.now());
+        } finally {
+            localJobs.remove(jobId);
+            deleteQuietly(file);
+        }
+
+        if (counters[1] > 0) {
+            eventConflictIndex.invalidate(calendarId);
+            publishSummary(jobId, calendarId, calendarName, userId, counters[1]);
+        }
+    }
+
+    private void flush(UUID jobId, UUID calendarId, UUID userId, List<Event> batch, int[] counters) {
+        int size = batch.size();
+        transactionTemplate.executeWithoutResult(status -> {
+            eventBatchRepository.insertAll(calendarId, batch);
+            calendarRepository.touchEvents(calendarId, Instant.now());
+            counterService.eventsCreated(userId, calendarId, size);
+            jobRepository.updateProgress(jobId, ImportStatus.RUNNING, counters[0], counters[1] + size, counters[2]);
+        });
+        counters[1] += size;
+        batch.clear();
+    }
+
+    private void publishSummary(UUID jobId, UUID calendarId, String calendarName, UUID userId, int imported) {
+        String requestedBy = userDirectory.findById(userId).map(UserResponse::email).orElse(null);
+        transactionTemplate.executeWithoutResult(status -> eventService.forEachRecipientChunk(calendarId,
+                (recipients, chunk) -> inviteProducer.sendEventsImportedNotification(new EventsImportedEvent(
+                        jobId,
+                        calendarId,
+                        calendarName,
+                        requestedBy,
+                        imported,
+                        recipients,
+                        chunk
+                ))));
+    }
+
+    // Returns null for events that cannot be represented: modified instances, cancelled events,
+    // missing DTSTART, or recurrence rules beyond FREQ/INTERVAL/COUNT/UNTIL
+    private Event toEvent(List<IcsReader.Property> properties, ZoneId zone, UUID userId) {
+        Map<String, IcsReader.Property> byName = new HashMap<>();
+        List<IcsReader.Property> exdates = new ArrayList<>();
+        for (IcsReader.Property property : properties) {
+            if (property.name().equals("EXDATE")) {
+                exdates.add(property);
+            } else {
+                byName.putIfAbsent(property.name(), property);
+            }
+        }
+        if (byName.containsKey("RECURRENCE-ID") || !byName.containsKey("DTSTART")) {
+            return null;
+        }
+        IcsReader.Property status = byName.get("STATUS");
+        if (status != null && status.value().equalsIgnoreCase("CANCELLED")) {
+            return null;
+        }
+
+        try {
+            IcsReader.Property dtStart = byName.get("DTSTART");
+            LocalDateTime start = dateTime(dtStart.value(), dtStart.param("TZID"), zone);
+            LocalDateTime end;
+            if (byName.containsKey("DTEND")) {
+                IcsReader.Property dtEnd = byName.get("DTEND");
+                end = dateTime(dtEnd.value(), dtEnd.param("TZID"), zone);
+            } else if (byName.containsKey("DURATION")) {
+                end = plusDuration(start, byName.get("DURATION").value());
+            } else {
+                end = isDate(dtStart.value()) ? start.plusDays(1) : start;
+            }
+            if (end.isBefore(start)) {
+                return null;
+            }
+
+            Event event = Event.builder()
+                    .id(UUID.randomUUID())
+                    .title(truncate(text(byName.get("SUMMARY")), MAX_TEXT))
+                    .description(truncate(text(byName.get("DESCRIPTION")), MAX_TEXT))
+                    .location(truncate(text(byName.get("LOCATION")), MAX_TEXT))
+                    .createdBy(userId)
+                    .startTime(start)
+                    .endTime(end)
+                    .build();
+            if (byName.containsKey("RRULE") && !applyRule(event, byName.get("RRULE").value(), zone)) {
+                return null;
+            }
+            if (event.getRecurrenceFrequency() != null) {
+                for (IcsReader.Property exdate : exdates) {
+                    for (String value : exdate.value().split(",")) {
+                        event.getRecurrenceExceptions().add(dateTime(value.trim(), exdate.param("TZID"), zone));
+                    }
+                }
+            }
+            event.setSeriesEndTime(RecurrenceExpander.seriesEnd(event));
+            return event;
+        } catch (DateTimeException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private boolean applyRule(Event event, String rule, ZoneId zone) {
+        for (String part : rule.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                continue;
+            }
+            String key = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim();
+            switch (key) {
+                case "FREQ" -> event.setRecurrenceFrequency(RecurrenceFrequency.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "INTERVAL" -> event.setRecurrenceInterval(Integer.parseInt(value));
+                case "COUNT" -> event.setRecurrenceCount(Integer.parseInt(value));
+                case "UNTIL" -> event.setRecurrenceUntil(dateTime(value, null, zone));
+                case "WKST" -> {
+                }
+                // a single BYDAY equal to the start's weekday is what most clients emit for plain weekly rules
+                case "BYDAY" -> {
+                    String startDay = event.getStartTime().getDayOfWeek().name().substring(0, 2);
+                    if (!value.equalsIgnoreCase(startDay)) {
+                        return false;
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+        return event.getRecurrenceFrequency() != null;
+    }
+
+    private static LocalDateTime dateTime(String value, String tzid, ZoneId calendarZone) {
+        if (isDate(value)) {
+            return LocalDate.parse(value, DATE).atStartOfDay();
+        }
+        if (value.endsWith("Z")) {
+            LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME);
+            return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(calendarZone).toLocalDateTime();
+        }
+        LocalDateTime local = LocalDateTime.parse(value, DATE_TIME);
+        if (tzid != null) {
+            try {
+                return local.atZone(ZoneId.of(tzid)).withZoneSameInstant(calendarZone).toLocalDateTime();
+            } catch (DateTimeException e) {
+                return local; // non-IANA TZID (e.g. Windows names): keep wall-clock time
+            }
+        }
+        return local;
+    }
+
+    private static LocalDateTime plusDuration(LocalDateTime start, String value) {
+        String duration = value.startsWith("+") ? value.substring(1) : value;
+        int t = duration.indexOf('T');
+        String datePart = t < 0 ? duration : duration.substring(0, t);
+        LocalDateTime end = start;
+        if (datePart.length() > 1) {
+            end = end.plus(Period.parse(datePart));
+        }
+        if (t >= 0) {
+            end = end.plus(Duration.parse("PT" + duration.substring(t + 1)));
+        }
+        return end;
+    }
+
+    private static boolean isDate(String value) {
+        return value.length() == 8;
+    }
+
+    private static String text(IcsReader.Property property) {
+        return property == null ? null : IcsReader.unescape(property.value());
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private static ZoneId zoneOf(Calendar calendar) {
+        try {
+            return calendar.getTimeZone() == null ? ZoneOffset.UTC : ZoneId.of(calendar.getTimeZone());
+        } catch (DateTimeException e) {
+            return ZoneOffset.UTC;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete temp file {}", file);
+        }
+    }
+
+    private EventImportJobResponse toResponse(EventImportJob job) {
+        return new EventImportJobResponse(
+                job.getId(),
+                job.getCalendarId(),
+                job.getStatus(),
+                job.getProcessed(),
+                job.getImported(),
+                job.getSkipped(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
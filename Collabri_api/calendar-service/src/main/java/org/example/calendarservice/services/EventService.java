@@ -1,11 +1,15 @@
 package org.example.calendarservice.services;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.dto.CursorPage;
+import org.example.calendarservice.dto.EventOccurrenceResponse;
 import org.example.calendarservice.dto.EventRequest;
 import org.example.calendarservice.dto.EventResponse;
+import org.example.calendarservice.dto.RecurrenceRule;
 import org.example.calendarservice.entites.Event;
-import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.enums.ConflictMode;
 import org.example.calendarservice.exceptions.CustomException;
 import org.example.calendarservice.kafka.EventCreatedEvent;
 import org.example.calendarservice.kafka.InviteProducer;
@@ -13,16 +17,31 @@ import org.example.calendarservice.mappers.EventMapper;
 import org.example.calendarservice.repositories.CalendarRepository;
 import org.example.calendarservice.repositories.EventRepository;
 import org.example.calendarservice.repositories.MemberRepository;
-import org.example.calendarservice.user.UserClient;
+import org.example.calendarservice.user.UserDirectory;
 import org.example.calendarservice.user.UserResponse;
+import org.example.calendarservice.utils.Keyset;
+import org.example.calendarservice.utils.RecurrenceExpander;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -34,41 +53,114 @@ public class EventService {
     private final EventMapper eventMapper;
     private final CalendarRepository calendarRepository;
     private final InviteProducer inviteProducer;
-    private final UserClient userClient;
+    private final UserDirectory userDirectory;
     private final MemberRepository memberRepository;
+    private final EventConflictIndex eventConflictIndex;
+    private final UserCalendarDashboardService dashboardService;
+    private final CounterService counterService;
+    private final EntityManager entityManager;
+
+    @Value("${app.events.max-occurrences:5000}")
+    private int maxOccurrences;
+
+    @Value("${app.notifications.fan-out-chunk-size:500}")
+    private int fanOutChunkSize;
+
+    @Value("${app.events.conflict-mode:NONE}")
+    private ConflictMode defaultConflictMode;
 
     //-------------------------------- Publish Event Notification ---------------------------------//
     public void publishEventNotification(UUID eventId, String title, String createdBy, String calendarName, String location, UUID calendarId) {
-        var eventCreatedEvent = new EventCreatedEvent(
-                eventId,
-                title,
-                createdBy,
-                calendarName,
-                location,
-                memberRepository.findAllByCalendarId(calendarId).stream()
-                        .map(Member::getUserId)
-                        .toList()
-        );
-        inviteProducer.sendEventCreatedNotification(eventCreatedEvent);
-        log.info("Published event created notification for event {}", eventId);
+        int chunks = forEachRecipientChunk(calendarId, (recipients, chunk) -> inviteProducer.sendEventCreatedNotification(
+                new EventCreatedEvent(
+                        eventId,
+                        title,
+                        createdBy,
+                        calendarName,
+                        location,
+                        recipients,
+                        calendarId,
+                        chunk
+                )));
+        log.info("Published event created notification for event {} in {} chunk(s)", eventId, chunks);
+
+    }
+
+    // One record per chunk of members, so a large calendar never becomes one huge record; returns the chunk count
+    int forEachRecipientChunk(UUID calendarId, BiConsumer<List<UUID>, Integer> publish) {
+        UUID after = null;
+        int chunk = 0;
+        List<UUID> recipients;
+        do {
+            recipients = after == null
+                    ? memberRepository.findFirstUserIdChunk(calendarId, Limit.of(fanOutChunkSize))
+                    : memberRepository.findUserIdChunkAfter(calendarId, after, Limit.of(fanOutChunkSize));
+            if (recipients.isEmpty()) {
+                break;
+            }
+            publish.accept(recipients, chunk++);
+            after = recipients.get(recipients.size() - 1);
+        } while (recipients.size() == fanOutChunkSize);
+        return chunk;
+    }
+
+    private void validateSchedule(EventRequest request) {
+        if (request.endTime().isBefore(request.startTime())) {
+            throw new CustomException("Event end must not be before its start", HttpStatus.BAD_REQUEST);
+        }
+        RecurrenceRule rule = request.recurrence();
+        if (rule == null) {
+            return;
+        }
+        if (rule.until() != null && rule.count() != null) {
+            throw new CustomException("Recurrence cannot define both 'until' and 'count'", HttpStatus.BAD_REQUEST);
+        }
+        if (rule.until() != null && rule.until().isBefore(request.startTime())) {
+            throw new CustomException("Recurrence 'until' must not be before the event start", HttpStatus.BAD_REQUEST);
+        }
+    }
 
+    /*
+     * Returns the overlapping event ids (empty when the check is disabled); REJECT fails the write instead.
+     * REJECT locks the calendar row first, so the check and the insert cannot interleave with another write
+     * to the same calendar (all of them lock the row through touchEvents). WARN is advisory and takes no lock.
+     */
+    private List<UUID> checkConflicts(UUID calendarId, Event event, ConflictMode requestedMode) {
+        ConflictMode mode = requestedMode != null ? requestedMode : defaultConflictMode;
+        if (mode == ConflictMode.NONE) {
+            return List.of();
+        }
+        if (mode == ConflictMode.REJECT) {
+            calendarRepository.lockForEventWrite(calendarId);
+        }
+        List<UUID> conflicts = eventConflictIndex.findConflicts(calendarId, event);
+        if (mode == ConflictMode.REJECT && !conflicts.isEmpty()) {
+            throw new CustomException("Event overlaps " + conflicts.size() + " existing event(s)", HttpStatus.CONFLICT);
+        }
+        return conflicts;
     }
 
     //-------------------------------- Event Services ---------------------------------//
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
     @Transactional
-    public void createEvent(EventRequest request, UUID calendarId, Authentication authentication) {
+    public List<UUID> createEvent(EventRequest request, UUID calendarId, ConflictMode conflictMode, Authentication authentication) {
         String userIdStr = authentication.getName();
         UUID userId = UUID.fromString(userIdStr);
+        validateSchedule(request);
         Event event = eventMapper.toEvent(request);
         event.setCreatedBy(userId);
         event.setCalendar(calendarRepository.findById(calendarId)
                 .orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND)));
+        List<UUID> conflicts = checkConflicts(calendarId, event, conflictMode);
         eventRepository.save(event);
+        eventConflictIndex.eventSaved(calendarId, event);
+        calendarRepository.touchEvents(calendarId, Instant.now());
+        counterService.eventsCreated(userId, calendarId, 1);
+        dashboardService.invalidate(userId);
 
         //-------------------------------- Publish Event Created Notification ---------------------------------//
-        UserResponse user = userClient.findUserbyId(userId)
+        UserResponse user = userDirectory.findById(userId)
                 .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
         publishEventNotification(
                 event.getId(),
@@ -80,33 +172,141 @@ public class EventService {
 
         );
         log.info("Created event {} for calendar {}", event.getId(), calendarId);
+        return conflicts;
+    }
+
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
+    @Transactional(readOnly = true)
+    public CursorPage<EventResponse> getEventsByCalendar(UUID calendarId, String cursor, int size) {
+        Keyset.Position after = Keyset.decode(cursor);
+        List<Event> rows = after == null
+                ? eventRepository.findByCalendarIdOrderByStartTimeAscIdAsc(calendarId, Keyset.limit(size))
+                : eventRepository.findPageAfter(calendarId, after.keyAsDateTime(), after.id(), Keyset.limit(size));
+        return Keyset.page(rows, size, event -> Keyset.encode(event.getStartTime(), event.getId()), eventMapper::fromEvent);
+    }
 
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
+    @Transactional(readOnly = true)
+    public Page<EventResponse> getEventsInWindow(UUID calendarId, LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        if (!from.isBefore(to)) {
+            throw new CustomException("'from' must be before 'to'", HttpStatus.BAD_REQUEST);
+        }
+        return eventRepository.findOverlappingWindow(calendarId, from, to, pageable)
+                .map(eventMapper::fromEvent);
     }
 
+    // Expands recurring series into concrete occurrences for the window only; nothing per-occurrence is stored
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
-    public List<EventResponse> getEventsByCalendar(UUID calendarId) {
-        return eventRepository.findAllByCalendarId(calendarId).stream()
-                .map(eventMapper::fromEvent)
-                .toList();
+    @Transactional(readOnly = true)
+    public List<EventOccurrenceResponse> getOccurrencesInWindow(UUID calendarId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new CustomException("'from' must be before 'to'", HttpStatus.BAD_REQUEST);
+        }
+        try (Stream<Event> events = eventRepository.streamSeriesInWindow(calendarId, from, to)) {
+            return mergeOccurrences(events.iterator(), from, to);
+        }
+    }
+
+    /*
+     * K-way merge of the events' occurrence sequences, stopping at maxOccurrences. Rows arrive by start time and
+     * no occurrence starts before its event, so whatever is pending ahead of the next row's start can be emitted;
+     * the heap holds one cursor per event still in play, never the occurrences themselves. Rows are detached once
+     * their cursor is open so the persistence context does not grow with the stream.
+     */
+    private List<EventOccurrenceResponse> mergeOccurrences(Iterator<Event> rows, LocalDateTime from, LocalDateTime to) {
+        PriorityQueue<OccurrenceCursor> pending = new PriorityQueue<>(Comparator.comparing(OccurrenceCursor::next));
+        List<EventOccurrenceResponse> merged = new ArrayList<>();
+        while (merged.size() < maxOccurrences) {
+            Event row = rows.hasNext() ? rows.next() : null;
+            while (!pending.isEmpty() && merged.size() < maxOccurrences
+                    && (row == null || pending.peek().next().isBefore(row.getStartTime()))) {
+                OccurrenceCursor cursor = pending.poll();
+                merged.add(eventMapper.toOccurrence(cursor.event(), cursor.next()));
+                if (cursor.advance()) {
+                    pending.add(cursor);
+                }
+            }
+            if (row == null) {
+                break;
+            }
+            OccurrenceCursor cursor = OccurrenceCursor.open(row, from, to);
+            entityManager.detach(row);
+            if (cursor != null) {
+                pending.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class OccurrenceCursor {
+        private final Event event;
+        private final Iterator<LocalDateTime> starts;
+        private LocalDateTime next;
+
+        private OccurrenceCursor(Event event, Iterator<LocalDateTime> starts) {
+            this.event = event;
+            this.starts = starts;
+            this.next = starts.next();
+        }
+
+        // Loads the exceptions while the row is still attached; null when nothing falls in the window
+        static OccurrenceCursor open(Event event, LocalDateTime from, LocalDateTime to) {
+            if (event.getRecurrenceFrequency() != null) {
+                Hibernate.initialize(event.getRecurrenceExceptions());
+            }
+            Iterator<LocalDateTime> starts = RecurrenceExpander.occurrencesBetween(event, from, to).iterator();
+            return starts.hasNext() ? new OccurrenceCursor(event, starts) : null;
+        }
+
+        Event event() {
+            return event;
+        }
+
+        LocalDateTime next() {
+            return next;
+        }
+
+        boolean advance() {
+            if (!starts.hasNext()) {
+                return false;
+            }
+            next = starts.next();
+            return true;
+        }
     }
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
     @Transactional
-    public void updateEvent(EventRequest request, UUID eventId, UUID calendarId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new CustomException("Event not found", HttpStatus.NOT_FOUND));
+    public List<UUID> updateEvent(EventRequest request, UUID eventId, UUID calendarId, ConflictMode conflictMode) {
+        validateSchedule(request);
+        Event event = findInCalendar(eventId, calendarId);
         event.setTitle(request.title());
         event.setDescription(request.description());
         event.setStartTime(request.startTime());
         event.setEndTime(request.endTime());
         event.setLocation(request.location());
+        eventMapper.applyRecurrence(event, request.recurrence());
+        List<UUID> conflicts = checkConflicts(calendarId, event, conflictMode);
         eventRepository.save(event);
+        eventConflictIndex.eventSaved(calendarId, event);
+        calendarRepository.touchEvents(calendarId, Instant.now());
         log.info("Updated event {}", eventId);
+        return conflicts;
     }
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'OWNER')")
     public void deleteEvent(UUID eventId, UUID calendarId) {
-        eventRepository.deleteById(eventId);
+        Event event = findInCalendar(eventId, calendarId);
+        counterService.eventDeleted(event.getCreatedBy(), event.getCalendar().getId());
+        eventRepository.delete(event);
+        eventConflictIndex.eventDeleted(calendarId, eventId);
+        calendarRepository.touchEvents(calendarId, Instant.now());
         log.info("Deleted event {}", eventId);
     }
-}
\ No newline at end of file
+
+    // Scoped to the path calendar so access checks, the conflict index and the feed ETag all refer to the event's own calendar
+    private Event findInCalendar(UUID eventId, UUID calendarId) {
+        return eventRepository.findByIdAndCalendarId(eventId, calendarId)
+                .orElseThrow(() -> new CustomException("Event not found", HttpStatus.NOT_FOUND));
+    }
+}
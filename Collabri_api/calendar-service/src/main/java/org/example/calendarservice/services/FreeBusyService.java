@@ -0,0 +1,126 @@
+package org.example.calendarservice.services;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.dto.BusyInterval;
+import org.example.calendarservice.dto.FreeBusyRequest;
+import org.example.calendarservice.dto.FreeSlot;
+import org.example.calendarservice.dto.UserFreeBusyResponse;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.repositories.MemberEventRow;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.utils.BusyIntervals;
+import org.example.calendarservice.utils.RecurrenceExpander;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class FreeBusyService {
+
+    private final EventRepository eventRepository;
+    private final MemberRepository memberRepository;
+    private final EntityManager entityManager;
+
+    @Value("${app.freebusy.max-window-days:62}")
+    private int maxWindowDays;
+
+    @Value("${app.freebusy.max-slots:50}")
+    private int maxSlots;
+
+    //-------------------------------- Helpers ---------------------------------//
+    private void validateWindow(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new CustomException("'from' must be before 'to'", HttpStatus.BAD_REQUEST);
+        }
+        if (Duration.between(from, to).toDays() > maxWindowDays) {
+            throw new CustomException("Window cannot exceed " + maxWindowDays + " days", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Busy intervals per user, collected from one streamed range query over every calendar the users belong to.
+     * Intervals are clipped to the window but not merged.
+     */
+    Map<UUID, List<BusyInterval>> collectBusy(Collection<UUID> userIds, LocalDateTime from, LocalDateTime to) {
+        Map<UUID, List<BusyInterval>> busyByUser = new HashMap<>();
+        userIds.forEach(userId -> busyByUser.put(userId, new ArrayList<>()));
+
+        try (Stream<MemberEventRow> rows = eventRepository.streamMemberEventsInWindow(userIds, from, to)) {
+            rows.forEach(row -> {
+                Event event = row.event();
+                Duration duration = Duration.between(event.getStartTime(), event.getEndTime());
+                List<BusyInterval> busy = busyByUser.get(row.userId());
+                RecurrenceExpander.occurrencesBetween(event, from, to)
+                        .forEach(start -> busy.add(BusyIntervals.clip(start, start.plus(duration), from, to)));
+                // Expanded while attached; dropping it keeps the persistence context flat however wide the window
+                entityManager.detach(event);
+            });
+        }
+        return busyByUser;
+    }
+
+    //-------------------------------- Free/Busy ---------------------------------//
+    @PreAuthorize("@verified.isVerified(authentication)")
+    public List<UserFreeBusyResponse> getFreeBusy(FreeBusyRequest request, Authentication authentication) {
+        validateWindow(request.from(), request.to());
+
+        // Only expose availability of users the caller shares at least one calendar with
+        UUID callerId = UUID.fromString(authentication.getName());
+        Set<UUID> visible = memberRepository.findUserIdsSharingCalendarWith(callerId, request.userIds());
+        for (UUID userId : request.userIds()) {
+            if (!userId.equals(callerId) && !visible.contains(userId)) {
+                throw new CustomException("No shared calendar with user " + userId, HttpStatus.FORBIDDEN);
+            }
+        }
+
+        Map<UUID, List<BusyInterval>> busyByUser = collectBusy(request.userIds(), request.from(), request.to());
+        log.info("Computed free/busy for {} users between {} and {}", request.userIds().size(), request.from(), request.to());
+
+        return request.userIds().stream()
+                .map(userId -> new UserFreeBusyResponse(userId, BusyIntervals.merge(busyByUser.get(userId))))
+                .toList();
+    }
+
+    //-------------------------------- Scheduling Assistant ---------------------------------//
+    // A slot is free only if no member of the calendar is busy in any of their calendars, so the union of all
+    // members' busy time is swept once and the gaps are cut into slots.
+    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
+    public List<FreeSlot> findCommonFreeSlots(UUID calendarId, LocalDateTime from, LocalDateTime to,
+                                              int durationMinutes, Integer stepMinutes, int limit) {
+        validateWindow(from, to);
+        if (durationMinutes <= 0 || limit <= 0 || (stepMinutes != null && stepMinutes <= 0)) {
+            throw new CustomException("Duration, step and limit must be positive", HttpStatus.BAD_REQUEST);
+        }
+        Duration duration = Duration.ofMinutes(durationMinutes);
+        Duration step = stepMinutes == null ? duration : Duration.ofMinutes(stepMinutes);
+
+        List<BusyInterval> busy = new ArrayList<>();
+        try (Stream<Event> events = eventRepository.streamCalendarMembersEventsInWindow(calendarId, from, to)) {
+            events.forEach(event -> {
+                Duration length = Duration.between(event.getStartTime(), event.getEndTime());
+                RecurrenceExpander.occurrencesBetween(event, from, to)
+                        .forEach(start -> busy.add(BusyIntervals.clip(start, start.plus(length), from, to)));
+                entityManager.detach(event);
+            });
+        }
+
+        List<FreeSlot> slots = BusyIntervals.freeSlots(BusyIntervals.merge(busy), from, to, duration, step, Math.min(limit, maxSlots));
+        log.info("Found {} common free slots for calendar {}", slots.size(), calendarId);
+        return slots;
+    }
+}
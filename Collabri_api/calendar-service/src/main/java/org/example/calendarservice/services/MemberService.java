@@ -3,6 +3,8 @@ package org.example.calendarservice.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.dto.MemberResponse;
 import org.example.calendarservice.entites.Calendar;
 import org.example.calendarservice.entites.Member;
@@ -15,7 +17,8 @@ import org.example.calendarservice.kafka.MemberLeftEvent;
 import org.example.calendarservice.mappers.MemberMapper;
 import org.example.calendarservice.repositories.CalendarRepository;
 import org.example.calendarservice.repositories.MemberRepository;
-import org.example.calendarservice.user.UserClient;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.utils.Keyset;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -24,7 +27,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -35,8 +37,12 @@ public class MemberService {
     private final MemberRepository memberRepository;
     private final MemberMapper mapper;
     private final CalendarRepository calendarRepository;
-    private final UserClient userClient;
+    private final UserDirectory userDirectory;
     private final InviteProducer inviteProducer;
+    private final CalendarAccessCache calendarAccessCache;
+    private final NotificationRecipients notificationRecipients;
+    private final UserCalendarDashboardService dashboardService;
+    private final CounterService counterService;
 
 
     @PreAuthorize("@verified.isVerified(authentication)")
@@ -56,35 +62,38 @@ public class MemberService {
             throw new CustomException("User is already a member", HttpStatus.CONFLICT);
         }
 
-        var userResponse = userClient.findUserbyId(userId)
+        var userResponse = userDirectory.findById(userId)
                 .orElseThrow(() -> new CustomException("User not found", HttpStatus.NOT_FOUND));
 
         Member member = mapper.toMember(userResponse);
         member.setRole(Role.VIEWER);  // Fixed: Set default role for new members
         calendar.addMember(member);
+        calendarAccessCache.invalidate(userId, calendarId);
+        counterService.memberAdded(userId, calendarId, member.getRole());
+        dashboardService.invalidate(userId);
         log.info("User {} joined calendar {}", userId, calendarId);
 
         //--- Future: Publish Member Activity Event ---
-        var memberJoinedEvent = new MemberJoinedEvent(
-                member.getDisplayName(),
-                member.getCalendar().getId(),
-                member.getCalendar().getName(),
-                memberRepository.findAllByRoleIn(List.of(Role.OWNER, Role.MANAGER)).stream()
-                        .map(Member::getUserId)
-                        .toList()
-        );
-        inviteProducer.sendMemberJoinedNotification(memberJoinedEvent);
+        notificationRecipients.forEachWatcherChunk(calendarId, recipients -> inviteProducer.sendMemberJoinedNotification(
+                new MemberJoinedEvent(
+                        member.getDisplayName(),
+                        member.getCalendar().getId(),
+                        member.getCalendar().getName(),
+                        recipients
+                )));
     }
 
     // Java
 //    @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
-    public List<MemberResponse> getCalendarMembers(UUID calendarId) {
+    public CursorPage<MemberResponse> getCalendarMembers(UUID calendarId, String cursor, int size) {
         Calendar calendar = calendarRepository.findById(calendarId)
                 .orElseThrow(() -> new CustomException("Calendar not found", HttpStatus.NOT_FOUND));
         if (calendar.getVisibility() == Visibility.PUBLIC) {
-            return memberRepository.findAllByCalendarId(calendarId).stream()
-                    .map(mapper::fromMember)
-                    .collect(Collectors.toList());
+            Keyset.Position after = Keyset.decode(cursor);
+            List<Member> rows = after == null
+                    ? memberRepository.findByCalendarIdOrderByIdAsc(calendarId, Keyset.limit(size))
+                    : memberRepository.findByCalendarIdAndIdGreaterThanOrderByIdAsc(calendarId, after.id(), Keyset.limit(size));
+            return Keyset.page(rows, size, member -> Keyset.encode(null, member.getId()), mapper::fromMember);
         }
         throw new CustomException("Calendar is not public", HttpStatus.FORBIDDEN);
     }
@@ -111,16 +120,17 @@ public class MemberService {
         Member member = memberRepository.findById(memberId)
                 .orElseThrow(() -> new CustomException("Member not found", HttpStatus.NOT_FOUND));
         memberRepository.deleteById(memberId);
-
-        var memberLeftEvent = new MemberLeftEvent(
-                member.getDisplayName(),
-                member.getCalendar().getId(),
-                member.getCalendar().getName(),
-                memberRepository.findAllByRoleIn(List.of(Role.OWNER, Role.MANAGER)).stream()
-                        .map(Member::getUserId)
-                        .toList()
-        );
-        inviteProducer.sendMemberLeftNotification(memberLeftEvent);
+        calendarAccessCache.invalidate(member.getUserId(), calendarId);
+        counterService.memberRemoved(member.getUserId(), calendarId);
+        dashboardService.invalidate(member.getUserId());
+
+        notificationRecipients.forEachWatcherChunk(calendarId, recipients -> inviteProducer.sendMemberLeftNotification(
+                new MemberLeftEvent(
+                        member.getDisplayName(),
+                        member.getCalendar().getId(),
+                        member.getCalendar().getName(),
+                        recipients
+                )));
     }
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.isOwner(#calendarId, authentication)")
@@ -131,7 +141,10 @@ public class MemberService {
         if (!member.getCalendar().getId().equals(calendarId)) {
             throw new CustomException("Member not in this calendar", HttpStatus.NOT_FOUND);
         }
+        counterService.memberRoleChanged(member.getUserId(), member.getRole(), newRole);
         member.setRole(newRole);
+        calendarAccessCache.invalidate(member.getUserId(), calendarId);
+        dashboardService.invalidate(member.getUserId());
         log.info("Set role {} for member {} in calendar {}", newRole, memberId, calendarId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package org.example.calendarservice.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Who hears about membership changes of a calendar: its owner and managers. Recipients are handed out in
+ * chunks of {@code max-recipients} so one event stays small; the owner always leads the first chunk and
+ * managers are paged by user id after it, so nobody is dropped however many managers there are.
+ */
+@Component
+@Slf4j
+public class NotificationRecipients {
+
+    private final MemberRepository memberRepository;
+    private final int maxRecipients;
+
+    public NotificationRecipients(MemberRepository memberRepository,
+                                  @Value("${app.notifications.max-recipients:100}") int maxRecipients) {
+        this.memberRepository = memberRepository;
+        this.maxRecipients = maxRecipients;
+    }
+
+    // Calls publish once per recipient chunk; returns the number of chunks
+    public int forEachWatcherChunk(UUID calendarId, Consumer<List<UUID>> publish) {
+        List<UUID> managers = memberRepository.findFirstUserIdChunkByRole(calendarId, Role.MANAGER, Limit.of(maxRecipients));
+        List<UUID> first = new ArrayList<>(managers.size() + 1);
+        first.addAll(memberRepository.findFirstUserIdChunkByRole(calendarId, Role.OWNER, Limit.of(1)));
+        first.addAll(managers);
+        if (first.isEmpty()) {
+            return 0;
+        }
+        publish.accept(first);
+        int chunks = 1;
+        while (managers.size() == maxRecipients) {
+            managers = memberRepository.findUserIdChunkByRoleAfter(calendarId, Role.MANAGER,
+                    managers.get(managers.size() - 1), Limit.of(maxRecipients));
+            if (managers.isEmpty()) {
+                break;
+            }
+            publish.accept(managers);
+            chunks++;
+        }
+        if (chunks > 1) {
+            log.info("Calendar {} has more than {} managers; membership notification split into {} chunks",
+                    calendarId, maxRecipients, chunks);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.calendarservice.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In-process snapshot of the public calendar directory served by the unauthenticated listing endpoint.
+ * A snapshot lives for a short TTL and is dropped as soon as a calendar is created, updated or deleted;
+ * its ETag is a hash of the content, so a reload that finds nothing changed keeps clients on 304s.
+ */
+@Component
+@Slf4j
+public class PublicCalendarDirectory {
+
+    public record Snapshot(List<CalendarSummaryResponse> calendars, String etag) {
+    }
+
+    private static final String KEY = "public";
+
+    private final CalendarRepository calendarRepository;
+    private final LoadingCache<String, Snapshot> snapshots;
+    private final int maxEntries;
+
+    public PublicCalendarDirectory(CalendarRepository calendarRepository,
+                                   @Value("${app.directory.ttl:PT1M}") Duration ttl,
+                                   @Value("${app.directory.max-entries:5000}") int maxEntries) {
+        this.calendarRepository = calendarRepository;
+        this.maxEntries = maxEntries;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .build(key -> load());
+    }
+
+    public Snapshot get() {
+        return snapshots.get(KEY);
+    }
+
+    // Evict now and again once the transaction completes, so a concurrent read cannot re-cache the pre-commit listing
+    public void invalidate() {
+        snapshots.invalidateAll();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.invalidateAll();
+                }
+            });
+        }
+    }
+
+    // One row past the cap tells a truncated listing apart from one that fits exactly
+    private Snapshot load() {
+        List<CalendarSummaryResponse> calendars = calendarRepository.findSummariesByVisibility(Visibility.PUBLIC, Limit.of(maxEntries + 1));
+        if (calendars.size() > maxEntries) {
+            log.warn("Public directory has more than {} calendars, serving the first {}", maxEntries, maxEntries);
+            calendars = List.copyOf(calendars.subList(0, maxEntries));
+        }
+        String etag = "\"" + DigestUtils.md5DigestAsHex(calendars.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new Snapshot(calendars, etag);
+    }
+}
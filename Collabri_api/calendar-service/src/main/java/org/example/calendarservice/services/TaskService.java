@@ -2,23 +2,29 @@ package org.example.calendarservice.services;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.dto.AssignedTaskResponse;
+import org.example.calendarservice.dto.CursorPage;
 import org.example.calendarservice.dto.TaskRequest;
 import org.example.calendarservice.dto.TaskResponse;
 import org.example.calendarservice.entites.Member;
 import org.example.calendarservice.entites.Task;
+import org.example.calendarservice.enums.TaskStatus;
 import org.example.calendarservice.exceptions.CustomException;
 import org.example.calendarservice.kafka.InviteProducer;
 import org.example.calendarservice.kafka.TaskCreatedEvent;
 import org.example.calendarservice.mappers.TaskMapper;
+import org.example.calendarservice.repositories.AssignedTaskRepository;
 import org.example.calendarservice.repositories.CalendarRepository;
 import org.example.calendarservice.repositories.MemberRepository;
 import org.example.calendarservice.repositories.TaskRepository;
+import org.example.calendarservice.utils.Keyset;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -33,10 +39,13 @@ public class TaskService {
     private final CalendarRepository calendarRepository;
     private final MemberRepository memberRepository;
     private final InviteProducer inviteProducer;
+    private final UserCalendarDashboardService dashboardService;
+    private final CounterService counterService;
+    private final AssignedTaskRepository assignedTaskRepository;
 
     //-------------------------------- Publish Task Notification ---------------------------------//
     // (Placeholder for future task notification methods)
-    public void publishTaskNotification(UUID taskId, String title, String assignTo, String createdBy, String calendarName, UUID recipipentId) {
+    public void publishTaskNotification(UUID taskId, String title, String assignTo, String createdBy, String calendarName, UUID recipipentId, UUID calendarId) {
         // Implementation for publishing task notifications will go here
         var taskCreatedEvent = new TaskCreatedEvent(
                 taskId,
@@ -44,7 +53,8 @@ public class TaskService {
                 assignTo,
                 createdBy,
                 calendarName,
-                recipipentId
+                recipipentId,
+                calendarId
         ); // Placeholder
         inviteProducer.sendTaskCreatedNotification(taskCreatedEvent);
         log.info("Published task created notification for task {}", taskId);
@@ -65,6 +75,8 @@ public class TaskService {
         task.setAssignedTo(assignedTo);
         task.setCreatedBy(userId);
         taskRepository.save(task);
+        counterService.taskCreated(calendarId, assignedTo.getUserId(), task.getTaskStatus());
+        dashboardService.invalidate(assignedTo.getUserId());
         log.info("Created task {} for calendar {}", task.getId(), calendarId);
 
         String senderEmail = memberRepository.findByUserId(userId)
@@ -77,16 +89,41 @@ public class TaskService {
                 assignedTo.getEmail(),
                 senderEmail,
                 task.getCalendar().getName(),
-                assignedTo.getUserId()
+                assignedTo.getUserId(),
+                calendarId
         );
         log.info("Published task created notification for task {}", task.getId());
     }
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'VIEWER')")
-    public List<TaskResponse> getTasksByCalendar(UUID calendarId) {
-        return taskRepository.findAllByCalendarId(calendarId).stream()
-                .map(taskMapper::fromTask)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<TaskResponse> getTasksByCalendar(UUID calendarId, String cursor, int size) {
+        Keyset.Position after = Keyset.decode(cursor);
+        List<Task> rows = after == null
+                ? taskRepository.findFirstPage(calendarId, Keyset.limit(size))
+                : taskRepository.findPageAfter(calendarId, after.keyAsDateTime(), after.id(), Keyset.limit(size));
+        return Keyset.page(rows, size, task -> Keyset.encode(task.getCreatedAt(), task.getId()), taskMapper::fromTask);
+    }
+
+    // Everything assigned to the caller across calendars; membership is implied by the assignment
+    @PreAuthorize("@verified.isVerified(authentication)")
+    @Transactional(readOnly = true)
+    public CursorPage<AssignedTaskResponse> getMyTasks(TaskStatus status, LocalDateTime dueFrom, LocalDateTime dueTo,
+                                                       String cursor, int size, Authentication authentication) {
+        if (dueFrom != null && dueTo != null && !dueFrom.isBefore(dueTo)) {
+            throw new CustomException("'dueFrom' must be before 'dueTo'", HttpStatus.BAD_REQUEST);
+        }
+        UUID userId = UUID.fromString(authentication.getName());
+        Keyset.Position after = Keyset.decode(cursor);
+        List<AssignedTaskResponse> rows = assignedTaskRepository.findForUser(
+                userId,
+                status,
+                dueFrom,
+                dueTo,
+                after == null ? null : after.keyAsDateTime(),
+                after == null ? null : after.id(),
+                Keyset.limit(size).max());
+        return Keyset.page(rows, size, task -> Keyset.encode(task.createdAt(), task.id()), task -> task);
     }
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'MANAGER')")
@@ -96,6 +133,12 @@ public class TaskService {
                 .orElseThrow(() -> new CustomException("Task not found", HttpStatus.NOT_FOUND));
         Member assignedTo = memberRepository.findById(request.assignedTo())
                 .orElseThrow(() -> new CustomException("Assigned member not found", HttpStatus.NOT_FOUND));
+        UUID previousAssigneeId = task.getAssignedTo() == null ? null : task.getAssignedTo().getUserId();
+        if (previousAssigneeId != null) {
+            dashboardService.invalidate(previousAssigneeId);
+        }
+        dashboardService.invalidate(assignedTo.getUserId());
+        counterService.taskChanged(previousAssigneeId, task.getTaskStatus(), assignedTo.getUserId(), request.taskStatus());
         task.setAssignedTo(assignedTo);
         task.setTaskStatus(request.taskStatus());
         task.setTitle(request.title());
@@ -107,7 +150,14 @@ public class TaskService {
 
     @PreAuthorize("@verified.isVerified(authentication) and @ownershipChecker.hasAccess(#calendarId, authentication, 'OWNER')")
     public void deleteTask(UUID taskId, UUID calendarId) {
-        taskRepository.deleteById(taskId);
+        taskRepository.findById(taskId).ifPresent(task -> {
+            UUID assigneeId = task.getAssignedTo() == null ? null : task.getAssignedTo().getUserId();
+            if (assigneeId != null) {
+                dashboardService.invalidate(assigneeId);
+            }
+            counterService.taskDeleted(calendarId, assigneeId, task.getTaskStatus());
+            taskRepository.delete(task);
+        });
         log.info("Deleted task {}", taskId);
     }
 }
\ No newline at end of file
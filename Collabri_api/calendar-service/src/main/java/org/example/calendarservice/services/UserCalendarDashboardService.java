@@ -1,66 +1,114 @@
 package org.example.calendarservice.services;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.example.calendarservice.dto.UserDashboardResponse;
-import org.example.calendarservice.enums.Role;
-import org.example.calendarservice.enums.TaskStatus;
-import org.example.calendarservice.enums.Visibility;
-import org.example.calendarservice.repositories.CalendarRepository;
-import org.example.calendarservice.repositories.EventRepository;
-import org.example.calendarservice.repositories.MemberRepository;
-import org.example.calendarservice.repositories.TaskRepository;
+import org.example.calendarservice.entites.UserCounters;
+import org.example.calendarservice.repositories.CalendarInviteRepository;
+import org.example.calendarservice.repositories.DashboardRepository;
+import org.example.calendarservice.repositories.UserCountersRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
+/**
+ * Per-user dashboard counters: a primary-key read of user_counters plus the upcoming-events and
+ * pending-invite counts, cached for a short TTL.
+ * Writes that change a user's own calendars, memberships or task assignments evict that user's entry;
+ * counters driven by other people's writes (e.g. new events in a shared calendar, new invites) catch up within the TTL.
+ */
 @Service
-@RequiredArgsConstructor
 public class UserCalendarDashboardService {
 
-    private final CalendarRepository calendarRepository;
-    private final MemberRepository memberRepository;
-    private final EventRepository eventRepository;
-    private final TaskRepository taskRepository;
+    private final DashboardRepository dashboardRepository;
+    private final UserCountersRepository userCountersRepository;
+    private final CalendarInviteRepository calendarInviteRepository;
+    private final Cache<UUID, UserDashboardResponse> cache;
+    private final Timer queryTimer;
 
-    @Transactional(readOnly = true)
-    public UserDashboardResponse getDashboard(UUID userId) {
-        long ownedCalendars = calendarRepository.countByOwnerId(userId);
-        long joinedCalendars = memberRepository.countByUserId(userId);
-        long publicCalendars = calendarRepository.countByOwnerIdAndVisibility(userId, Visibility.PUBLIC);
-        long privateCalendars = calendarRepository.countByOwnerIdAndVisibility(userId, Visibility.PRIVATE);
+    public UserCalendarDashboardService(DashboardRepository dashboardRepository,
+                                        UserCountersRepository userCountersRepository,
+                                        CalendarInviteRepository calendarInviteRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.dashboard.max-size:10000}") long maxSize,
+                                        @Value("${app.dashboard.ttl:PT30S}") Duration ttl) {
+        this.dashboardRepository = dashboardRepository;
+        this.userCountersRepository = userCountersRepository;
+        this.calendarInviteRepository = calendarInviteRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "calendar.dashboard");
+        this.queryTimer = Timer.builder("calendar.dashboard.query")
+                .description("Latency of the dashboard reads (cache misses only)")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // email is the address invites are sent to; null skips the pending-invite count
+    public UserDashboardResponse getDashboard(UUID userId, String email) {
+        return cache.get(userId, id -> load(id, email));
+    }
 
-        long totalEventsCreated = eventRepository.countCreatedByAccessible(userId);
-        long upcomingEvents = eventRepository.countUpcomingAccessible(userId, LocalDateTime.now());
+    public void invalidate(UUID userId) {
+        evict(() -> cache.invalidate(userId));
+    }
 
-        long totalTasksAssigned = taskRepository.countByAssignedToUserId(userId);
-        long completedTasks = taskRepository.countByAssignedToUserIdAndTaskStatusIn(userId, List.of(TaskStatus.COMPLETED));
-        long pendingTasks = taskRepository.countByAssignedToUserIdAndTaskStatusIn(userId, List.of(TaskStatus.PENDING));
+    public void invalidateAll() {
+        evict(cache::invalidateAll);
+    }
 
-        long calendarsAsManager = memberRepository.countByUserIdAndRole(userId, Role.MANAGER);
-        long calendarsAsViewer = memberRepository.countByUserIdAndRole(userId, Role.VIEWER);
+    // Evict now and again once the transaction completes, so a concurrent read cannot re-cache pre-commit counts
+    private void evict(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
 
-        // TODO: Pending invites require cross-service email lookup (user-service) and are intentionally deferred.
-        long pendingInvites = -1L;
+    private UserDashboardResponse load(UUID userId, String email) {
+        return queryTimer.record(() -> {
+            UserCounters counts = userCountersRepository.findById(userId).orElseGet(UserCounters::new);
+            long upcomingEvents = dashboardRepository.countUpcoming(userId, LocalDateTime.now());
+            long pendingInvites = email == null
+                    ? 0
+                    : calendarInviteRepository.countLivePendingForEmail(email, Instant.now());
+            return toResponse(counts, upcomingEvents, pendingInvites);
+        });
+    }
 
+    private static UserDashboardResponse toResponse(UserCounters counts, long upcomingEvents, long pendingInvites) {
         return new UserDashboardResponse(
-                ownedCalendars,
-                joinedCalendars,
-                ownedCalendars + joinedCalendars,
-                publicCalendars,
-                privateCalendars,
-                totalEventsCreated,
+                counts.getOwnedCalendars(),
+                counts.getJoinedCalendars(),
+                counts.getOwnedCalendars() + counts.getJoinedCalendars(),
+                counts.getPublicCalendars(),
+                counts.getPrivateCalendars(),
+                counts.getEventsCreated(),
                 upcomingEvents,
-                totalTasksAssigned,
-                completedTasks,
-                pendingTasks,
-                ownedCalendars,
-                calendarsAsManager,
-                calendarsAsViewer,
+                counts.getTasksAssigned(),
+                counts.getTasksCompleted(),
+                counts.getTasksPending(),
+                counts.getOwnedCalendars(),
+                counts.getCalendarsAsManager(),
+                counts.getCalendarsAsViewer(),
                 pendingInvites
         );
     }
 }
-
@@ -0,0 +1,104 @@
+package org.example.calendarservice.user;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.exceptions.CustomException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent single-user lookups into one {@link UserClient#findUsersBatch} call. The first lookup
+ * opens a short window; every lookup arriving within it (or until the batch is full) shares one HTTP request.
+ */
+@Component
+@Slf4j
+public class UserBatchLoader {
+
+    private final UserClient userClient;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final Duration timeout;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "user-batch-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Object lock = new Object();
+    private Map<UUID, CompletableFuture<Optional<UserResponse>>> pending = new HashMap<>();
+
+    public UserBatchLoader(UserClient userClient,
+                           @Value("${app.users.batch-window-ms:5}") long windowMillis,
+                           @Value("${app.users.max-batch-size:100}") int maxBatchSize,
+                           @Value("${app.users.batch-timeout:PT3S}") Duration timeout) {
+        this.userClient = userClient;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.timeout = timeout;
+    }
+
+    public Optional<UserResponse> load(UUID userId) {
+        CompletableFuture<Optional<UserResponse>> future;
+        boolean flushNow = false;
+        synchronized (lock) {
+            future = pending.get(userId);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                pending.put(userId, future);
+                if (pending.size() == 1) {
+                    scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+                } else if (pending.size() >= maxBatchSize) {
+                    flushNow = true;
+                }
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CustomException("User lookup failed", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (TimeoutException e) {
+            throw new CustomException("User service is temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CustomException("User lookup interrupted", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private void flush() {
+        Map<UUID, CompletableFuture<Optional<UserResponse>>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            Map<UUID, UserResponse> found = userClient.findUsersBatch(new UserBatchRequest(batch.keySet(), List.of()))
+                    .stream()
+                    .collect(Collectors.toMap(UserResponse::id, Function.identity(), (a, b) -> a));
+            log.debug("Resolved {} of {} users in one batch", found.size(), batch.size());
+            batch.forEach((id, future) -> future.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.calendarservice.user;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public record UserBatchRequest(
+        Collection<UUID> ids,
+        Collection<String> emails
+) {
+}
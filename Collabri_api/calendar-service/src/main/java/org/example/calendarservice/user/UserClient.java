@@ -3,17 +3,24 @@ package org.example.calendarservice.user;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-@FeignClient(name = "user", fallback = UserClientFallback.class)
+@FeignClient(name = "user", fallback = UserClientFallback.class, configuration = UserClientConfig.class)
 public interface UserClient {
 
     @GetMapping("/api/v1/users/{id}")
     Optional<UserResponse> findUserbyId(@PathVariable("id") UUID id);
 
+    // Unknown ids/emails are left out of the result; user-service only serves it to service tokens
+    @PostMapping("/api/v1/users/batch")
+    List<UserResponse> findUsersBatch(@RequestBody UserBatchRequest request);
+
     @GetMapping("/api/v1/users/by-email")
     Optional<UserResponse> findByEmail(@RequestParam("email") String email);
 }
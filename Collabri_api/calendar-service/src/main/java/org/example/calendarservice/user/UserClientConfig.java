@@ -0,0 +1,66 @@
+package org.example.calendarservice.user;
+
+import feign.RequestInterceptor;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Feign configuration for {@link UserClient} only (deliberately not a @Configuration, so it does not apply to
+ * other clients). Calls carry a short-lived ROLE_SERVICE token signed with the shared JWT secret, which is what
+ * user-service requires for its internal endpoints such as /users/batch.
+ */
+public class UserClientConfig {
+
+    @Bean
+    public RequestInterceptor serviceTokenInterceptor(@Value("${jwt.secret}") String jwtSecret,
+                                                      @Value("${spring.application.name:calendar}") String serviceName,
+                                                      @Value("${app.users.service-token-ttl:PT5M}") Duration ttl) {
+        ServiceTokens tokens = new ServiceTokens(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)), serviceName, ttl);
+        return template -> template.header("Authorization", "Bearer " + tokens.current());
+    }
+
+    // Re-signs once the cached token is within a fifth of its lifetime of expiring
+    static final class ServiceTokens {
+
+        private final SecretKey key;
+        private final String subject;
+        private final Duration ttl;
+        private volatile String token;
+        private volatile Instant refreshAt = Instant.EPOCH;
+
+        ServiceTokens(SecretKey key, String subject, Duration ttl) {
+            this.key = key;
+            this.subject = subject;
+            this.ttl = ttl;
+        }
+
+        String current() {
+            Instant now = Instant.now();
+            if (now.isAfter(refreshAt)) {
+                synchronized (this) {
+                    if (now.isAfter(refreshAt)) {
+                        Instant expiresAt = now.plus(ttl);
+                        token = Jwts.builder()
+                                .subject(subject)
+                                .claim("roles", List.of("ROLE_SERVICE"))
+                                .issuedAt(Date.from(now))
+                                .expiration(Date.from(expiresAt))
+                                .signWith(key)
+                                .compact();
+                        refreshAt = expiresAt.minus(ttl.dividedBy(5));
+                    }
+                }
+            }
+            return token;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import org.example.calendarservice.exceptions.CustomException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,6 +15,11 @@ public class UserClientFallback implements UserClient {
         throw new CustomException("User service is temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    @Override
+    public List<UserResponse> findUsersBatch(UserBatchRequest request) {
+        throw new CustomException("User service is temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @Override
     public Optional<UserResponse> findByEmail(String email) {
         throw new CustomException("User service is temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
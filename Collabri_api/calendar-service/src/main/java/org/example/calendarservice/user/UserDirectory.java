@@ -0,0 +1,68 @@
+package org.example.calendarservice.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.entites.UserDirectoryEntry;
+import org.example.calendarservice.enums.UserChangeType;
+import org.example.calendarservice.kafka.UserChangedEvent;
+import org.example.calendarservice.repositories.UserDirectoryRepository;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Resolves users from the local replica fed by user-service change events, so calendar write paths do not
+ * depend on user-service being up. Users not replicated yet (e.g. created before the replica existed)
+ * are fetched once from user-service, batched, and remembered.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDirectory {
+
+    private final UserDirectoryRepository userDirectoryRepository;
+    private final UserBatchLoader userBatchLoader;
+
+    public Optional<UserResponse> findById(UUID userId) {
+        Optional<UserDirectoryEntry> entry = userDirectoryRepository.findById(userId);
+        if (entry.isPresent()) {
+            return entry.filter(e -> !e.isDeleted()).map(UserDirectory::toResponse);
+        }
+        return userBatchLoader.load(userId).map(this::remember);
+    }
+
+    // The access token carries the email; tokens issued before that claim existed fall back to the replica
+    public Optional<String> findEmail(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof Jwt jwt && jwt.getClaimAsString("email") != null) {
+            return Optional.of(jwt.getClaimAsString("email"));
+        }
+        return findById(UUID.fromString(authentication.getName())).map(UserResponse::email);
+    }
+
+    // A deletion leaves a tombstone carrying its timestamp, so a late UPDATED event cannot bring the user back
+    public void apply(UserChangedEvent event) {
+        boolean deleted = event.type() == UserChangeType.DELETED;
+        int applied = deleted
+                ? userDirectoryRepository.upsertIfNewer(event.userId(), null, null, null, event.occurredAt(), true)
+                : userDirectoryRepository.upsertIfNewer(event.userId(), event.firstname(), event.lastname(),
+                        event.email(), event.occurredAt(), false);
+        if (applied == 0) {
+            log.debug("Ignoring stale {} for user {}", event.type(), event.userId());
+        }
+    }
+
+    private UserResponse remember(UserResponse user) {
+        // changedAt is unknown for a fetched copy; the epoch lets any later change event overwrite it,
+        // and a concurrent first lookup of the same user just rewrites the same row
+        userDirectoryRepository.upsertIfNewer(user.id(), user.firstname(), user.lastname(), user.email(), Instant.EPOCH, false);
+        return user;
+    }
+
+    private static UserResponse toResponse(UserDirectoryEntry entry) {
+        return new UserResponse(entry.getUserId(), entry.getFirstname(), entry.getLastname(), entry.getEmail());
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.dto.BusyInterval;
+import org.example.calendarservice.dto.FreeSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public final class BusyIntervals {
+
+    private BusyIntervals() {
+    }
+
+    /**
+     * Clips an occurrence to the window so busy intervals never leak outside what was asked for.
+     */
+    public static BusyInterval clip(LocalDateTime start, LocalDateTime end, LocalDateTime from, LocalDateTime to) {
+        return new BusyInterval(start.isBefore(from) ? from : start, end.isAfter(to) ? to : end);
+    }
+
+    /**
+     * Sorts by start and sweeps once, coalescing overlapping or touching intervals.
+     */
+    public static List<BusyInterval> merge(List<BusyInterval> intervals) {
+        List<BusyInterval> sorted = new ArrayList<>(intervals);
+        sorted.sort(Comparator.comparing(BusyInterval::start));
+
+        List<BusyInterval> merged = new ArrayList<>();
+        LocalDateTime currentStart = null;
+        LocalDateTime currentEnd = null;
+        for (BusyInterval interval : sorted) {
+            if (currentEnd != null && !interval.start().isAfter(currentEnd)) {
+                if (interval.end().isAfter(currentEnd)) {
+                    currentEnd = interval.end();
+                }
+                continue;
+            }
+            if (currentStart != null) {
+                merged.add(new BusyInterval(currentStart, currentEnd));
+            }
+            currentStart = interval.start();
+            currentEnd = interval.end();
+        }
+        if (currentStart != null) {
+            merged.add(new BusyInterval(currentStart, currentEnd));
+        }
+        return merged;
+    }
+
+    /**
+     * Walks the gaps between merged (sorted, non-overlapping) busy intervals and returns up to {@code limit}
+     * earliest slots of {@code duration}, starting every {@code step} within each gap.
+     */
+    public static List<FreeSlot> freeSlots(List<BusyInterval> merged, LocalDateTime from, LocalDateTime to,
+                                           Duration duration, Duration step, int limit) {
+        List<FreeSlot> slots = new ArrayList<>();
+        LocalDateTime gapStart = from;
+        for (BusyInterval busy : merged) {
+            if (slots.size() >= limit) {
+                return slots;
+            }
+            fillGap(slots, gapStart, busy.start(), duration, step, limit);
+            if (busy.end().isAfter(gapStart)) {
+                gapStart = busy.end();
+            }
+        }
+        fillGap(slots, gapStart, to, duration, step, limit);
+        return slots;
+    }
+
+    private static void fillGap(List<FreeSlot> slots, LocalDateTime gapStart, LocalDateTime gapEnd,
+                                Duration duration, Duration step, int limit) {
+        for (LocalDateTime start = gapStart;
+             slots.size() < limit && !start.plus(duration).isAfter(gapEnd);
+             start = start.plus(step)) {
+            slots.add(new FreeSlot(start, start.plus(duration)));
+        }
+    }
+}
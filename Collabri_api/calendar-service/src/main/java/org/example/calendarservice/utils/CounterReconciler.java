@@ -0,0 +1,41 @@
+package org.example.calendarservice.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.repositories.CounterRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CounterReconciler {
+
+    private static final String LEASE_NAME = "counter-reconcile";
+
+    private final CounterRepository counterRepository;
+    private final SchedulerLeases schedulerLeases;
+
+    @Value("${app.counters.reconcile-lease:PT50M}")
+    private Duration lease;
+
+    // Recomputes every counter row from the source tables and rewrites only the ones that drifted;
+    // the first run shortly after startup also backfills counters for pre-existing data
+    @Scheduled(initialDelayString = "${app.counters.reconcile-initial-delay:PT30S}",
+            fixedRateString = "${app.counters.reconcile-interval:PT1H}")
+    @Transactional
+    public void reconcile() {
+        if (!schedulerLeases.tryAcquire(LEASE_NAME, lease)) {
+            return;
+        }
+        int users = counterRepository.reconcileUsers(null);
+        int calendars = counterRepository.reconcileCalendars();
+        if (users + calendars > 0) {
+            log.info("Counter reconciliation fixed {} user rows and {} calendar rows", users, calendars);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.calendarservice.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Minimal streaming iCalendar (RFC 5545) reader. Content lines are unfolded as they are read and each
+ * VEVENT is handed to the callback as soon as its END line is seen, so memory use is bounded by the
+ * largest single event, not the file. Sub-components of an event (VALARM, ...) are ignored.
+ */
+public final class IcsReader {
+
+    public record Property(String name, Map<String, String> params, String value) {
+
+        public String param(String key) {
+            return params.get(key);
+        }
+    }
+
+    private IcsReader() {
+    }
+
+    public static void readEvents(Reader source, Consumer<List<Property>> onEvent) throws IOException {
+        BufferedReader reader = source instanceof BufferedReader buffered ? buffered : new BufferedReader(source);
+        EventCollector collector = new EventCollector(onEvent);
+        StringBuilder current = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isEmpty() && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                if (current != null) {
+                    current.append(line, 1, line.length());
+                }
+                continue;
+            }
+            if (current != null) {
+                collector.accept(current.toString());
+            }
+            current = new StringBuilder(line);
+        }
+        if (current != null) {
+            collector.accept(current.toString());
+        }
+    }
+
+    /**
+     * Unescapes a TEXT value (\n, \, \; \\).
+     */
+    public static String unescape(String value) {
+        if (value == null || value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(next == 'n' || next == 'N' ? '\n' : next);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    static Property parse(String line) {
+        int colon = -1;
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                colon = i;
+                break;
+            }
+        }
+        if (colon < 0) {
+            return null;
+        }
+        String head = line.substring(0, colon);
+        String value = line.substring(colon + 1);
+
+        Map<String, String> params = new LinkedHashMap<>();
+        List<String> parts = splitUnquoted(head);
+        for (int i = 1; i < parts.size(); i++) {
+            String part = parts.get(i);
+            int eq = part.indexOf('=');
+            if (eq > 0) {
+                String paramValue = part.substring(eq + 1);
+                if (paramValue.length() >= 2 && paramValue.startsWith("\"") && paramValue.endsWith("\"")) {
+                    paramValue = paramValue.substring(1, paramValue.length() - 1);
+                }
+                params.put(part.substring(0, eq).toUpperCase(Locale.ROOT), paramValue);
+            }
+        }
+        return new Property(parts.get(0).toUpperCase(Locale.ROOT), params, value);
+    }
+
+    private static List<String> splitUnquoted(String head) {
+        List<String> parts = new ArrayList<>();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < head.length(); i++) {
+            char c = head.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ';' && !quoted) {
+                parts.add(head.substring(start, i));
+                start = i + 1;
+            }
+        }
+        parts.add(head.substring(start));
+        return parts;
+    }
+
+    private static final class EventCollector {
+
+        private final Consumer<List<Property>> onEvent;
+        private List<Property> properties;
+        private int nested;
+
+        EventCollector(Consumer<List<Property>> onEvent) {
+            this.onEvent = onEvent;
+        }
+
+        void accept(String line) {
+            if (line.isBlank()) {
+                return;
+            }
+            Property property = parse(line);
+            if (property == null) {
+                return;
+            }
+            String value = property.value().trim().toUpperCase(Locale.ROOT);
+            if (property.name().equals("BEGIN")) {
+                if (properties != null) {
+                    nested++;
+                } else if (value.equals("VEVENT")) {
+                    properties = new ArrayList<>();
+                }
+            } else if (property.name().equals("END")) {
+                if (properties != null && nested > 0) {
+                    nested--;
+                } else if (properties != null && value.equals("VEVENT")) {
+                    List<Property> event = properties;
+                    properties = null;
+                    onEvent.accept(event);
+                }
+            } else if (properties != null && nested == 0) {
+                properties.add(property);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.calendarservice.utils;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes iCalendar content lines straight to the output: CRLF endings, TEXT escaping and folding at
+ * 75 octets (RFC 5545 3.1). Nothing is buffered beyond the underlying writer.
+ */
+public final class IcsWriter {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+
+    public IcsWriter(Writer out) {
+        this.out = out;
+    }
+
+    public IcsWriter line(String name, String value) throws IOException {
+        return raw(name + ":" + value);
+    }
+
+    public IcsWriter text(String name, String value) throws IOException {
+        return value == null || value.isEmpty() ? this : line(name, escape(value));
+    }
+
+    // Local wall-clock time, qualified by TZID when the calendar has one
+    public IcsWriter dateTime(String name, LocalDateTime value, String tzid) throws IOException {
+        if (value == null) {
+            return this;
+        }
+        return tzid == null
+                ? line(name, DATE_TIME.format(value))
+                : line(name + ";TZID=" + tzid, DATE_TIME.format(value));
+    }
+
+    public IcsWriter utc(String name, Instant value) throws IOException {
+        return line(name, formatUtc(value));
+    }
+
+    public static String format(LocalDateTime value) {
+        return DATE_TIME.format(value);
+    }
+
+    public static String formatUtc(Instant value) {
+        return DATE_TIME.format(value.atOffset(ZoneOffset.UTC)) + "Z";
+    }
+
+    /*
+     * RRULE UNTIL must match DTSTART's form (RFC 5545 3.3.10): UTC when DTSTART carries a TZID,
+     * floating local time when DTSTART is floating.
+     */
+    public static String formatUntil(LocalDateTime until, String tzid) {
+        return tzid == null ? format(until) : formatUtc(until.atZone(ZoneId.of(tzid)).toInstant());
+    }
+
+    private IcsWriter raw(String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int codePoint = line.codePointAt(i);
+            int width = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+        return this;
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\', ';', ',' -> escaped.append('\\').append(c);
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> {
+                }
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
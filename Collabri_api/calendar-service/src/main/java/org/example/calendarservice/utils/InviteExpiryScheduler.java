@@ -1,12 +1,13 @@
 package org.example.calendarservice.utils;
 
 import lombok.extern.slf4j.Slf4j;
-import org.example.calendarservice.enums.InviteStatus;
 import org.example.calendarservice.repositories.CalendarInviteRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
 import java.time.Instant;
 
 @Component
@@ -14,20 +15,30 @@ import java.time.Instant;
 @Slf4j
 public class InviteExpiryScheduler {
 
+    private static final String LEASE_NAME = "invite-expiry";
+
     private final CalendarInviteRepository inviteRepository;
+    private final SchedulerLeases schedulerLeases;
+
+    @Value("${app.invites.expiry-batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.invites.expiry-lease:PT50M}")
+    private Duration lease;
 
-    // run every hour
+    // run every hour, on one instance; each batch is its own short transaction
     @Scheduled(fixedRateString = "PT1H")
     public void expireInvites() {
-        var now = Instant.now();
-        var pending = inviteRepository.findAll().stream()
-                .filter(i -> i.getStatus() == InviteStatus.PENDING && i.getExpiresAt() != null && i.getExpiresAt().isBefore(now))
-                .toList();
-        for (var inv : pending) {
-            inv.setStatus(InviteStatus.EXPIRED);
-            inv.setTokenHash(null); // clear token to prevent reuse
+        if (!schedulerLeases.tryAcquire(LEASE_NAME, lease)) {
+            return;
         }
-        inviteRepository.saveAll(pending);
-        log.info("Clearing expired invites");
+        var now = Instant.now();
+        int total = 0;
+        int updated;
+        do {
+            updated = inviteRepository.expirePendingBefore(now, batchSize);
+            total += updated;
+        } while (updated == batchSize);
+        log.info("Expired {} pending invites", total);
     }
 }
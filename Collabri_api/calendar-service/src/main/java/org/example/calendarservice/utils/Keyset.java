@@ -0,0 +1,94 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.dto.CursorPage;
+import org.example.calendarservice.exceptions.CustomException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset (seek) pagination helpers. A cursor is the (sort key, id) of the last row of a page,
+ * so the next page is a range scan starting right after it instead of an OFFSET skip.
+ */
+public final class Keyset {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final char SEPARATOR = '|';
+
+    private Keyset() {
+    }
+
+    public record Position(String key, UUID id) {
+
+        public double keyAsDouble() {
+            try {
+                return Double.parseDouble(key);
+            } catch (NumberFormatException | NullPointerException e) {
+                throw invalidCursor();
+            }
+        }
+
+        public Instant keyAsInstant() {
+            try {
+                return Instant.parse(key);
+            } catch (DateTimeParseException | NullPointerException e) {
+                throw invalidCursor();
+            }
+        }
+
+        public LocalDateTime keyAsDateTime() {
+            try {
+                return LocalDateTime.parse(key);
+            } catch (DateTimeParseException | NullPointerException e) {
+                throw invalidCursor();
+            }
+        }
+    }
+
+    public static String encode(Object key, UUID id) {
+        String raw = (key == null ? "" : key.toString()) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Null/blank cursor means "first page"
+    public static Position decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new Position(raw.substring(0, split), UUID.fromString(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw invalidCursor();
+        }
+    }
+
+    // One extra row tells whether another page exists without a count query
+    public static Limit limit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new CustomException("Page size must be between 1 and " + MAX_PAGE_SIZE, HttpStatus.BAD_REQUEST);
+        }
+        return Limit.of(size + 1);
+    }
+
+    public static <E, R> CursorPage<R> page(List<E> rows, int size, Function<E, String> cursorOf, Function<E, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+
+    private static CustomException invalidCursor() {
+        return new CustomException("Invalid cursor", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Expands an event's recurrence rule into concrete occurrence start times.
+ * Occurrences are computed on demand for a window, never stored.
+ */
+public final class RecurrenceExpander {
+
+    private RecurrenceExpander() {
+    }
+
+    /**
+     * Lazily yields the start of every occurrence overlapping [from, to), in chronological order.
+     * Occurrence k is computed as start + k * interval from the series start, so month/year
+     * rules clamp to the last day of shorter months instead of drifting.
+     */
+    public static Stream<LocalDateTime> occurrencesBetween(Event event, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = event.getStartTime();
+        Duration duration = Duration.between(start, event.getEndTime());
+
+        if (event.getRecurrenceFrequency() == null) {
+            return start.isBefore(to) && start.plus(duration).isAfter(from) ? Stream.of(start) : Stream.empty();
+        }
+
+        ChronoUnit unit = unitOf(event.getRecurrenceFrequency());
+        long interval = intervalOf(event);
+        long count = event.getRecurrenceCount() != null ? event.getRecurrenceCount() : Long.MAX_VALUE;
+        LocalDateTime until = event.getRecurrenceUntil();
+        Set<LocalDateTime> exceptions = event.getRecurrenceExceptions();
+
+        // Jump straight to the window instead of walking the series from its first occurrence
+        long first = Math.min(firstCandidateIndex(start, from.minus(duration), unit, interval), count);
+
+        return LongStream.range(first, count)
+                .mapToObj(k -> start.plus(k * interval, unit))
+                .takeWhile(occurrence -> occurrence.isBefore(to) && (until == null || !occurrence.isAfter(until)))
+                .filter(occurrence -> occurrence.plus(duration).isAfter(from))
+                .filter(occurrence -> exceptions == null || !exceptions.contains(occurrence));
+    }
+
+    /**
+     * End of the last occurrence of the series, or null when the series never ends.
+     */
+    public static LocalDateTime seriesEnd(Event event) {
+        if (event.getRecurrenceFrequency() == null) {
+            return event.getEndTime();
+        }
+
+        LocalDateTime start = event.getStartTime();
+        Duration duration = Duration.between(start, event.getEndTime());
+        ChronoUnit unit = unitOf(event.getRecurrenceFrequency());
+        long interval = intervalOf(event);
+
+        LocalDateTime lastStart = null;
+        if (event.getRecurrenceCount() != null) {
+            lastStart = start.plus((event.getRecurrenceCount() - 1L) * interval, unit);
+        }
+        if (event.getRecurrenceUntil() != null) {
+            LocalDateTime until = event.getRecurrenceUntil();
+            long k = Math.max(0, unit.between(start, until) / interval);
+            LocalDateTime candidate = start.plus(k * interval, unit);
+            while (k > 0 && candidate.isAfter(until)) {
+                k--;
+                candidate = start.plus(k * interval, unit);
+            }
+            lastStart = lastStart == null || candidate.isBefore(lastStart) ? candidate : lastStart;
+        }
+        return lastStart == null ? null : lastStart.plus(duration);
+    }
+
+    private static long firstCandidateIndex(LocalDateTime start, LocalDateTime pivot, ChronoUnit unit, long interval) {
+        long elapsed = unit.between(start, pivot);
+        // step back one interval to absorb month-length clamping; the overlap filter drops any extra
+        return elapsed <= 0 ? 0 : Math.max(0, elapsed / interval - 1);
+    }
+
+    private static long intervalOf(Event event) {
+        Integer interval = event.getRecurrenceInterval();
+        return interval == null || interval < 1 ? 1 : interval;
+    }
+
+    private static ChronoUnit unitOf(RecurrenceFrequency frequency) {
+        return switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS;
+            case WEEKLY -> ChronoUnit.WEEKS;
+            case MONTHLY -> ChronoUnit.MONTHS;
+            case YEARLY -> ChronoUnit.YEARS;
+        };
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.calendarservice.utils;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.calendarservice.repositories.SchedulerLockRepository;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DB-backed leader election for {@code @Scheduled} jobs. A job runs only on the instance that takes its
+ * lease; the lease is kept for its whole duration (not released when the job ends), so the other instances'
+ * triggers for the same period find it taken and skip. Leases should be a bit shorter than the job period.
+ */
+@Component
+@Slf4j
+public class SchedulerLeases {
+
+    private final SchedulerLockRepository lockRepository;
+    private final String instanceId;
+
+    public SchedulerLeases(SchedulerLockRepository lockRepository) {
+        this.lockRepository = lockRepository;
+        this.instanceId = hostName() + "/" + UUID.randomUUID();
+    }
+
+    public boolean tryAcquire(String name, Duration leaseFor) {
+        Instant now = Instant.now();
+        boolean acquired = lockRepository.tryAcquire(name, instanceId, now, now.plus(leaseFor)) == 1;
+        if (!acquired) {
+            log.debug("Skipping {}: lease held by another instance", name);
+        }
+        return acquired;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
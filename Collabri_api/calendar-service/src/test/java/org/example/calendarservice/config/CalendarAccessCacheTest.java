@@ -0,0 +1,231 @@
+package org.example.calendarservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.calendarservice.config.CalendarAccessCache.CalendarAccess;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.repositories.CalendarAccessRow;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CalendarAccessCache Unit Tests")
+class CalendarAccessCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID calendarId = UUID.randomUUID();
+    private final UUID otherCalendarId = UUID.randomUUID();
+
+    @Mock
+    private CalendarRepository calendarRepository;
+
+    private CalendarAccessCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CalendarAccessCache(calendarRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void member(UUID calendar, Role role) {
+        when(calendarRepository.findAccess(calendar, userId)).thenReturn(List.of(new CalendarAccessRow(UUID.randomUUID(), role)));
+    }
+
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    // Protects the decision itself: owner flag, highest member role, and no access for strangers
+    @Nested
+    @DisplayName("get")
+    class Get {
+
+        @Test
+        @DisplayName("Should recognise the owner even without a member row")
+        void shouldRecogniseOwner() {
+            when(calendarRepository.findAccess(calendarId, userId)).thenReturn(List.of(new CalendarAccessRow(userId, null)));
+
+            assertThat(cache.get(userId, calendarId)).isEqualTo(new CalendarAccess(true, null));
+        }
+
+        @Test
+        @DisplayName("Should take the highest role when the user holds several member rows")
+        void shouldTakeHighestRole() {
+            UUID ownerId = UUID.randomUUID();
+            when(calendarRepository.findAccess(calendarId, userId)).thenReturn(List.of(
+                    new CalendarAccessRow(ownerId, Role.VIEWER),
+                    new CalendarAccessRow(ownerId, Role.MANAGER)));
+
+            assertThat(cache.get(userId, calendarId)).isEqualTo(new CalendarAccess(false, Role.MANAGER));
+        }
+
+        @Test
+        @DisplayName("Should grant nothing for an unknown calendar")
+        void shouldGrantNothingForUnknownCalendar() {
+            when(calendarRepository.findAccess(calendarId, userId)).thenReturn(List.of());
+
+            assertThat(cache.get(userId, calendarId)).isEqualTo(CalendarAccess.NONE);
+        }
+
+        @Test
+        @DisplayName("Should hit the database once per key across requests")
+        void shouldCacheAcrossRequests() {
+            member(calendarId, Role.VIEWER);
+
+            cache.get(userId, calendarId);
+            cache.get(userId, calendarId);
+
+            verify(calendarRepository, times(1)).findAccess(calendarId, userId);
+        }
+    }
+
+    // Protects revocation on this instance: eviction now and again once the writing transaction completes
+    @Nested
+    @DisplayName("invalidate")
+    class Invalidate {
+
+        @Test
+        @DisplayName("Should reload a user's access after invalidate")
+        void shouldReloadAfterInvalidate() {
+            member(calendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            member(calendarId, Role.VIEWER);
+
+            cache.invalidate(userId, calendarId);
+
+            assertThat(cache.get(userId, calendarId).memberRole()).isEqualTo(Role.VIEWER);
+        }
+
+        @Test
+        @DisplayName("Should drop every user of a calendar, and only that calendar, after invalidateCalendar")
+        void shouldDropWholeCalendar() {
+            member(calendarId, Role.MANAGER);
+            member(otherCalendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            cache.get(userId, otherCalendarId);
+
+            cache.invalidateCalendar(calendarId);
+            cache.get(userId, calendarId);
+            cache.get(userId, otherCalendarId);
+
+            verify(calendarRepository, times(2)).findAccess(calendarId, userId);
+            verify(calendarRepository, times(1)).findAccess(otherCalendarId, userId);
+        }
+
+        @Test
+        @DisplayName("Should evict again after completion what a concurrent check re-cached before the commit")
+        void shouldEvictAgainAfterCompletion() {
+            TransactionSynchronizationManager.initSynchronization();
+            member(calendarId, Role.MANAGER);
+            cache.invalidate(userId, calendarId);
+            cache.get(userId, calendarId);  // reads the pre-commit role and caches it
+            member(calendarId, Role.VIEWER);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(cache.get(userId, calendarId).memberRole()).isEqualTo(Role.VIEWER);
+        }
+
+        @Test
+        @DisplayName("Should evict a whole calendar again after completion")
+        void shouldEvictCalendarAgainAfterCompletion() {
+            TransactionSynchronizationManager.initSynchronization();
+            member(calendarId, Role.OWNER);
+            cache.invalidateCalendar(calendarId);
+            cache.get(userId, calendarId);
+            when(calendarRepository.findAccess(calendarId, userId)).thenReturn(List.of());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+            assertThat(cache.get(userId, calendarId)).isEqualTo(CalendarAccess.NONE);
+        }
+    }
+
+    // Protects the request memo: shared by checks within a request, cleared by eviction, gone with the request
+    @Nested
+    @DisplayName("request memo")
+    class RequestMemo {
+
+        @Test
+        @DisplayName("Should answer repeated checks within a request from the memo")
+        void shouldMemoWithinRequest() {
+            startRequest();
+            member(calendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            // A fresh instance starts with an empty shared cache, so only the memo can answer without a query
+            cache = new CalendarAccessCache(calendarRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+            assertThat(cache.get(userId, calendarId).memberRole()).isEqualTo(Role.MANAGER);
+            verify(calendarRepository, times(1)).findAccess(calendarId, userId);
+        }
+
+        @Test
+        @DisplayName("Should not outlive the request it was built in")
+        void shouldNotOutliveRequest() {
+            startRequest();
+            member(calendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            member(calendarId, Role.VIEWER);
+            RequestContextHolder.resetRequestAttributes();
+            startRequest();
+            cache = new CalendarAccessCache(calendarRepository, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+            assertThat(cache.get(userId, calendarId).memberRole()).isEqualTo(Role.VIEWER);
+        }
+
+        @Test
+        @DisplayName("Should drop memoized entries on invalidate within the same request")
+        void shouldClearMemoOnInvalidate() {
+            startRequest();
+            member(calendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            member(calendarId, Role.VIEWER);
+
+            cache.invalidate(userId, calendarId);
+
+            assertThat(cache.get(userId, calendarId).memberRole()).isEqualTo(Role.VIEWER);
+        }
+
+        @Test
+        @DisplayName("Should drop memoized entries on invalidateCalendar within the same request")
+        void shouldClearMemoOnInvalidateCalendar() {
+            startRequest();
+            member(calendarId, Role.MANAGER);
+            cache.get(userId, calendarId);
+            when(calendarRepository.findAccess(calendarId, userId)).thenReturn(List.of());
+
+            cache.invalidateCalendar(calendarId);
+
+            assertThat(cache.get(userId, calendarId)).isEqualTo(CalendarAccess.NONE);
+        }
+    }
+}
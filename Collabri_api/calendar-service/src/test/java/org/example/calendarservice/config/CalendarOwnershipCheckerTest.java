@@ -0,0 +1,126 @@
+package org.example.calendarservice.config;
+
+import org.example.calendarservice.config.CalendarAccessCache.CalendarAccess;
+import org.example.calendarservice.enums.Role;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CalendarOwnershipChecker Unit Tests")
+class CalendarOwnershipCheckerTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID calendarId = UUID.randomUUID();
+    private final Authentication user = new TestingAuthenticationToken(userId.toString(), null);
+
+    @Mock
+    private CalendarAccessCache calendarAccessCache;
+
+    @InjectMocks
+    private CalendarOwnershipChecker checker;
+
+    private void access(boolean owner, Role memberRole) {
+        when(calendarAccessCache.get(userId, calendarId)).thenReturn(new CalendarAccess(owner, memberRole));
+    }
+
+    // Protects the role ladder behind @PreAuthorize: OWNER > MANAGER > VIEWER, ownership grants everything
+    @Nested
+    @DisplayName("hasAccess")
+    class HasAccess {
+
+        @Test
+        @DisplayName("Should grant every role to the calendar owner")
+        void shouldGrantOwner() {
+            access(true, null);
+
+            assertThat(checker.hasAccess(calendarId, user, "OWNER")).isTrue();
+            assertThat(checker.hasAccess(calendarId, user, "MANAGER")).isTrue();
+            assertThat(checker.hasAccess(calendarId, user, "VIEWER")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should grant a manager MANAGER and VIEWER but not OWNER")
+        void shouldGrantManager() {
+            access(false, Role.MANAGER);
+
+            assertThat(checker.hasAccess(calendarId, user, "OWNER")).isFalse();
+            assertThat(checker.hasAccess(calendarId, user, "MANAGER")).isTrue();
+            assertThat(checker.hasAccess(calendarId, user, "VIEWER")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should grant a viewer VIEWER only")
+        void shouldGrantViewer() {
+            access(false, Role.VIEWER);
+
+            assertThat(checker.hasAccess(calendarId, user, "OWNER")).isFalse();
+            assertThat(checker.hasAccess(calendarId, user, "MANAGER")).isFalse();
+            assertThat(checker.hasAccess(calendarId, user, "VIEWER")).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should refuse a non-member")
+        void shouldRefuseNonMember() {
+            access(false, null);
+
+            assertThat(checker.hasAccess(calendarId, user, "VIEWER")).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should refuse unknown roles and non-user principals without consulting the cache")
+        void shouldRefuseMalformed() {
+            assertThat(checker.hasAccess(calendarId, user, "GUEST")).isFalse();
+            assertThat(checker.hasAccess(calendarId, new TestingAuthenticationToken("not-a-uuid", null), "VIEWER")).isFalse();
+            verifyNoInteractions(calendarAccessCache);
+        }
+
+        @Test
+        @DisplayName("Should let admins through without consulting the cache")
+        void shouldBypassForAdmins() {
+            Authentication admin = new TestingAuthenticationToken("admin", null, "ROLE_ADMIN");
+
+            assertThat(checker.hasAccess(calendarId, admin, "OWNER")).isTrue();
+            verifyNoInteractions(calendarAccessCache);
+        }
+    }
+
+    // Protects owner-only operations: a member row, even MANAGER or OWNER role, is not ownership
+    @Nested
+    @DisplayName("isOwner")
+    class IsOwner {
+
+        @Test
+        @DisplayName("Should accept the calendar owner")
+        void shouldAcceptOwner() {
+            access(true, null);
+
+            assertThat(checker.isOwner(calendarId, user)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should refuse managers, viewers and non-members")
+        void shouldRefuseOthers() {
+            access(false, Role.MANAGER);
+            assertThat(checker.isOwner(calendarId, user)).isFalse();
+
+            access(false, Role.VIEWER);
+            assertThat(checker.isOwner(calendarId, user)).isFalse();
+
+            access(false, null);
+            assertThat(checker.isOwner(calendarId, user)).isFalse();
+        }
+    }
+}
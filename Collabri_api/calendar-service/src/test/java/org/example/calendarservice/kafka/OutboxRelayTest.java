@@ -0,0 +1,236 @@
+package org.example.calendarservice.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.NetworkException;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.example.calendarservice.entites.OutboxDeadLetter;
+import org.example.calendarservice.entites.OutboxMessage;
+import org.example.calendarservice.repositories.OutboxDeadLetterRepository;
+import org.example.calendarservice.repositories.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("OutboxRelay Unit Tests")
+class OutboxRelayTest {
+
+    private static final String TOPIC = "calendar-member-left";
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private OutboxDeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private ProducerFactory<String, Object> producerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<String, Object> sendOutcomes = new HashMap<>();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(kafkaTemplate.getProducerFactory()).thenReturn(producerFactory);
+        when(producerFactory.getConfigurationProperties()).thenReturn(Map.of(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, "100"));
+        when(outboxRepository.tryAdvisoryLock(anyLong())).thenReturn(true);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            ProducerRecord<String, Object> record = invocation.getArgument(0);
+            Object outcome = sendOutcomes.get(record.key());
+            return outcome instanceof Throwable error
+                    ? CompletableFuture.failedFuture(error)
+                    : CompletableFuture.completedFuture(new SendResult<>(record, null));
+        });
+        relay = new OutboxRelay(outboxRepository, deadLetterRepository, kafkaTemplate, objectMapper,
+                new KafkaSendMetrics(meterRegistry), meterRegistry, 200, 3, Duration.ofSeconds(1),
+                Duration.ofMinutes(1), Duration.ofMinutes(5));
+    }
+
+    private OutboxMessage message(long id, String key) throws Exception {
+        var payload = new MemberLeftEvent("alice", UUID.randomUUID(), "Team", List.of(UUID.randomUUID()));
+        return OutboxMessage.builder()
+                .id(id)
+                .topic(TOPIC)
+                .messageKey(key)
+                .payloadType(MemberLeftEvent.class.getName())
+                .payload(objectMapper.writeValueAsString(payload))
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private void outbox(OutboxMessage... messages) {
+        when(outboxRepository.findAllByOrderByIdAsc(any())).thenReturn(List.of(messages));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> deletedIds() {
+        ArgumentCaptor<List<Long>> ids = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).deleteAllByIdInBatch(ids.capture());
+        return ids.getValue();
+    }
+
+    private double deadLetterCount() {
+        var counter = meterRegistry.find("calendar.outbox.dead_letters").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    // Protects the normal path: every acknowledged message leaves the outbox.
+    @Nested
+    @DisplayName("successful relay")
+    class Successful {
+
+        @Test
+        @DisplayName("should delete every acknowledged message")
+        void shouldDeleteAcknowledged() throws Exception {
+            outbox(message(1, "a"), message(2, "b"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).containsExactly(1L, 2L);
+            verify(deadLetterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should do nothing when another instance holds the relay lock")
+        void shouldSkipWithoutLock() {
+            when(outboxRepository.tryAdvisoryLock(anyLong())).thenReturn(false);
+
+            relay.relay();
+
+            verify(outboxRepository, never()).findAllByOrderByIdAsc(any());
+        }
+    }
+
+    // Protects the outbox from a single poison row blocking all delivery.
+    @Nested
+    @DisplayName("poison messages")
+    class PoisonMessages {
+
+        @Test
+        @DisplayName("should dead-letter an unreadable payload and keep relaying the rows behind it")
+        void shouldDeadLetterUnreadablePayload() throws Exception {
+            OutboxMessage broken = message(1, "a");
+            broken.setPayloadType("org.example.calendarservice.kafka.RenamedEvent");
+            outbox(broken, message(2, "b"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).containsExactly(1L, 2L);
+            ArgumentCaptor<OutboxDeadLetter> dead = ArgumentCaptor.forClass(OutboxDeadLetter.class);
+            verify(deadLetterRepository).save(dead.capture());
+            assertThat(dead.getValue().getId()).isEqualTo(1L);
+            assertThat(deadLetterCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("should dead-letter a record the broker can never accept")
+        void shouldDeadLetterRecordTooLarge() throws Exception {
+            sendOutcomes.put("a", new KafkaProducerException(null, "send failed", new RecordTooLargeException("too large")));
+            outbox(message(1, "a"), message(2, "b"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).containsExactly(1L, 2L);
+            verify(deadLetterRepository).save(any());
+        }
+    }
+
+    // Protects per-key ordering and the outbox itself through broker outages: nothing is dropped, the relay backs off.
+    @Nested
+    @DisplayName("transient failures")
+    class TransientFailures {
+
+        @Test
+        @DisplayName("should stop at the failed message and count the attempt")
+        void shouldStopAtTransientFailure() throws Exception {
+            sendOutcomes.put("a", new NetworkException("broker unreachable"));
+            OutboxMessage failing = message(1, "a");
+            outbox(failing, message(2, "b"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).isEmpty();
+            assertThat(failing.getAttempts()).isEqualTo(1);
+            assertThat(failing.getLastError()).contains("broker unreachable");
+            verify(deadLetterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should keep the message at the head past the alert threshold instead of dead-lettering it")
+        void shouldNeverDeadLetterTransientFailures() throws Exception {
+            sendOutcomes.put("a", new NetworkException("broker unreachable"));
+            OutboxMessage failing = message(1, "a");
+            failing.setAttempts(9);
+            outbox(failing, message(2, "b"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).isEmpty();
+            assertThat(failing.getAttempts()).isEqualTo(10);
+            assertThat(meterRegistry.get("calendar.outbox.head_attempts").gauge().value()).isEqualTo(10);
+            verify(deadLetterRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should back off after a transient failure and skip runs until the delay has passed")
+        void shouldBackOff() throws Exception {
+            sendOutcomes.put("a", new NetworkException("broker unreachable"));
+            outbox(message(1, "a"));
+
+            relay.relay();
+            relay.relay();
+
+            verify(outboxRepository, times(1)).tryAdvisoryLock(anyLong());
+            verify(outboxRepository, times(1)).findAllByOrderByIdAsc(any());
+        }
+
+        @Test
+        @DisplayName("should relay the messages ahead of the failed one and reset the gauge once the head clears")
+        void shouldRelayAheadOfFailure() throws Exception {
+            sendOutcomes.put("b", new NetworkException("broker unreachable"));
+            outbox(message(1, "a"), message(2, "b"), message(3, "c"));
+
+            relay.relay();
+
+            assertThat(deletedIds()).containsExactly(1L);
+            assertThat(meterRegistry.get("calendar.outbox.head_attempts").gauge().value()).isEqualTo(1);
+        }
+    }
+}
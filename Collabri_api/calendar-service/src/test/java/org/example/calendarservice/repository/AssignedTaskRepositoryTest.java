@@ -0,0 +1,142 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.dto.AssignedTaskResponse;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.entites.Task;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.TaskStatus;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.AssignedTaskRepository;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The my-tasks statement is rendered from whichever filters are given; each shape is run against Postgres
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(AssignedTaskRepository.class)
+@DisplayName("AssignedTaskRepository")
+class AssignedTaskRepositoryTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired
+    private AssignedTaskRepository assignedTaskRepository;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID userId = UUID.randomUUID();
+    private Member work;
+    private Member home;
+    private Member someoneElse;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate table calendars cascade");
+        work = member("Work", userId);
+        home = member("Home", userId);
+        someoneElse = member("Other", UUID.randomUUID());
+    }
+
+    private Member member(String calendarName, UUID memberUserId) {
+        Calendar calendar = calendarRepository.save(Calendar.builder()
+                .name(calendarName)
+                .ownerId(memberUserId)
+                .visibility(Visibility.PRIVATE)
+                .build());
+        return memberRepository.save(Member.builder().userId(memberUserId).calendar(calendar).role(Role.VIEWER).build());
+    }
+
+    // created_at is pinned through SQL so the keyset order does not depend on auditing or the clock
+    private UUID task(Member assignee, String title, TaskStatus status, LocalDateTime dueDate, LocalDateTime createdAt) {
+        Task task = taskRepository.saveAndFlush(Task.builder()
+                .title(title)
+                .calendar(assignee.getCalendar())
+                .assignedTo(assignee)
+                .taskStatus(status)
+                .dueDate(dueDate)
+                .build());
+        jdbcTemplate.update("update tasks set created_at = ? where id = ?", Timestamp.valueOf(createdAt), task.getId());
+        return task.getId();
+    }
+
+    @Test
+    @DisplayName("Should page the user's tasks across calendars in (created_at, id) order")
+    void shouldPageAcrossCalendars() {
+        task(work, "first", TaskStatus.PENDING, null, T0);
+        task(home, "second", TaskStatus.COMPLETED, null, T0.plusHours(1));
+        task(work, "third", TaskStatus.PENDING, null, T0.plusHours(2));
+        task(someoneElse, "not mine", TaskStatus.PENDING, null, T0.plusMinutes(30));
+
+        List<AssignedTaskResponse> first = assignedTaskRepository.findForUser(userId, null, null, null, null, null, 2);
+        AssignedTaskResponse last = first.get(1);
+        List<AssignedTaskResponse> next = assignedTaskRepository.findForUser(userId, null, null, null,
+                last.createdAt(), last.id(), 2);
+
+        assertThat(first).extracting(AssignedTaskResponse::title).containsExactly("first", "second");
+        assertThat(first.get(1).calendarName()).isEqualTo("Home");
+        assertThat(first.get(1).assignedTo()).isEqualTo(home.getId());
+        assertThat(next).extracting(AssignedTaskResponse::title).containsExactly("third");
+    }
+
+    @Test
+    @DisplayName("Should break created_at ties by id so no task is skipped or repeated")
+    void shouldSeekPastTies() {
+        UUID a = task(work, "a", TaskStatus.PENDING, null, T0);
+        UUID b = task(home, "b", TaskStatus.PENDING, null, T0);
+        // Postgres orders uuids bytewise, like their hex strings (UUID.compareTo is signed)
+        boolean aFirst = a.toString().compareTo(b.toString()) < 0;
+        UUID firstId = aFirst ? a : b;
+        UUID secondId = aFirst ? b : a;
+
+        List<AssignedTaskResponse> first = assignedTaskRepository.findForUser(userId, null, null, null, null, null, 1);
+        List<AssignedTaskResponse> next = assignedTaskRepository.findForUser(userId, null, null, null, T0, first.get(0).id(), 1);
+
+        assertThat(first).extracting(AssignedTaskResponse::id).containsExactly(firstId);
+        assertThat(next).extracting(AssignedTaskResponse::id).containsExactly(secondId);
+    }
+
+    @Test
+    @DisplayName("Should apply status and half-open due-date filters")
+    void shouldFilterByStatusAndDueDate() {
+        LocalDateTime monday = T0.plusDays(7);
+        task(work, "due monday", TaskStatus.PENDING, monday, T0);
+        task(work, "due tuesday", TaskStatus.PENDING, monday.plusDays(1), T0.plusHours(1));
+        task(home, "done monday", TaskStatus.COMPLETED, monday, T0.plusHours(2));
+        task(home, "no due date", TaskStatus.PENDING, null, T0.plusHours(3));
+
+        List<AssignedTaskResponse> rows = assignedTaskRepository.findForUser(userId, TaskStatus.PENDING,
+                monday, monday.plusDays(1), null, null, 10);
+
+        assertThat(rows).extracting(AssignedTaskResponse::title).containsExactly("due monday");
+        assertThat(rows.get(0).status()).isEqualTo(TaskStatus.PENDING);
+        assertThat(rows.get(0).dueDate()).isEqualTo(monday);
+    }
+}
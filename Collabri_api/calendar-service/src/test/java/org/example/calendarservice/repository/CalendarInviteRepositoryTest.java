@@ -0,0 +1,115 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.config.InviteIndexInitializer;
+import org.example.calendarservice.entites.CalendarInvite;
+import org.example.calendarservice.enums.InviteStatus;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.CalendarInviteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(InviteIndexInitializer.class)
+@DisplayName("CalendarInviteRepository")
+class CalendarInviteRepositoryTest extends AbstractIntegrationTest {
+
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Autowired
+    private CalendarInviteRepository calendarInviteRepository;
+
+    @Autowired
+    private InviteIndexInitializer inviteIndexInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID calendarId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        calendarInviteRepository.deleteAll();
+    }
+
+    private void save(String email, InviteStatus status, Instant expiresAt) {
+        calendarInviteRepository.save(CalendarInvite.builder()
+                .calendarId(calendarId)
+                .destinationEmail(email)
+                .status(status)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should count only pending, unexpired invites for the email, ignoring case")
+    void shouldCountLivePending() {
+        Instant later = NOW.plus(1, ChronoUnit.DAYS);
+        save("Ada@Example.com", InviteStatus.PENDING, later);
+        save("ada@example.com", InviteStatus.PENDING, later);
+        save("ada@example.com", InviteStatus.PENDING, NOW.minusSeconds(1));
+        save("ada@example.com", InviteStatus.ACCEPTED, later);
+        save("bob@example.com", InviteStatus.PENDING, later);
+
+        assertThat(calendarInviteRepository.countLivePendingForEmail("ADA@example.com", NOW)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should create the invite email index without the search initializer")
+    void shouldCreateIndexIndependently() {
+        jdbcTemplate.execute("drop index if exists idx_invites_email_status");
+
+        inviteIndexInitializer.run(null);
+
+        Integer indexes = jdbcTemplate.queryForObject(
+                "select count(*) from pg_indexes where tablename = 'invites' and indexname = 'idx_invites_email_status'",
+                Integer.class);
+
+        assertThat(indexes).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire overdue pending invites a batch at a time, clearing their tokens")
+    void shouldExpireInBatches() {
+        for (int i = 0; i < 5; i++) {
+            saveWithToken("late" + i + "@example.com", InviteStatus.PENDING, NOW.minusSeconds(60));
+        }
+        saveWithToken("live@example.com", InviteStatus.PENDING, NOW.plusSeconds(60));
+        saveWithToken("done@example.com", InviteStatus.ACCEPTED, NOW.minusSeconds(60));
+
+        assertThat(calendarInviteRepository.expirePendingBefore(NOW, 2)).isEqualTo(2);
+        assertThat(calendarInviteRepository.expirePendingBefore(NOW, 2)).isEqualTo(2);
+        assertThat(calendarInviteRepository.expirePendingBefore(NOW, 2)).isEqualTo(1);
+        assertThat(calendarInviteRepository.expirePendingBefore(NOW, 2)).isZero();
+
+        assertThat(jdbcTemplate.queryForList(
+                "select destination_email from invites where status = 'EXPIRED' and token_hash is null", String.class))
+                .hasSize(5)
+                .allSatisfy(email -> assertThat(email).startsWith("late"));
+        assertThat(jdbcTemplate.queryForList(
+                "select destination_email from invites where token_hash is not null", String.class))
+                .containsExactlyInAnyOrder("live@example.com", "done@example.com");
+    }
+
+    private void saveWithToken(String email, InviteStatus status, Instant expiresAt) {
+        calendarInviteRepository.saveAndFlush(CalendarInvite.builder()
+                .calendarId(calendarId)
+                .destinationEmail(email)
+                .tokenHash(UUID.randomUUID().toString())
+                .status(status)
+                .expiresAt(expiresAt)
+                .build());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("CalendarRepository")
+class CalendarRepositoryTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @BeforeEach
+    void setUp() {
+        calendarRepository.deleteAll();
+    }
+
+    private Calendar save(String name, Visibility visibility) {
+        return calendarRepository.save(Calendar.builder()
+                .name(name)
+                .ownerId(UUID.randomUUID())
+                .visibility(visibility)
+                .build());
+    }
+
+    // Protects the public directory snapshot: the cap is applied by the database, in name order
+    @Nested
+    @DisplayName("findSummariesByVisibility")
+    class FindSummariesByVisibility {
+
+        @Test
+        @DisplayName("Should return only the requested visibility, ordered by name and limited in SQL")
+        void shouldLimitInOrder() {
+            save("Gamma", Visibility.PUBLIC);
+            save("Alpha", Visibility.PUBLIC);
+            save("Beta", Visibility.PUBLIC);
+            save("Aardvark", Visibility.PRIVATE);
+
+            List<CalendarSummaryResponse> summaries = calendarRepository.findSummariesByVisibility(Visibility.PUBLIC, Limit.of(2));
+
+            assertThat(summaries).extracting(CalendarSummaryResponse::name).containsExactly("Alpha", "Beta");
+        }
+    }
+
+    // Protects the name-prefix seek: case-insensitive, null names included, no row lost or repeated across pages
+    @Nested
+    @DisplayName("searchFirstPage / searchPageAfter")
+    class NamePrefixSearch {
+
+        @Test
+        @DisplayName("Should match the prefix case-insensitively and escape LIKE wildcards")
+        void shouldMatchPrefix() {
+            save("Team A", Visibility.PUBLIC);
+            save("team b", Visibility.PUBLIC);
+            save("Teamwork_", Visibility.PUBLIC);
+            save("Steam", Visibility.PUBLIC);
+            save("Team private", Visibility.PRIVATE);
+
+            assertThat(calendarRepository.searchFirstPage(Visibility.PUBLIC, "team%", Limit.of(10)))
+                    .extracting(CalendarSummaryResponse::name)
+                    .containsExactly("Team A", "team b", "Teamwork_");
+            assertThat(calendarRepository.searchFirstPage(Visibility.PUBLIC, "teamwork\\_%", Limit.of(10)))
+                    .extracting(CalendarSummaryResponse::name)
+                    .containsExactly("Teamwork_");
+        }
+
+        @Test
+        @DisplayName("Should page through every calendar, unnamed ones first, without gaps or repeats")
+        void shouldSeekAcrossPages() {
+            save(null, Visibility.PUBLIC);
+            save(null, Visibility.PUBLIC);
+            save("beta", Visibility.PUBLIC);
+            save("Alpha", Visibility.PUBLIC);
+            save("ALPHA", Visibility.PUBLIC);
+
+            List<CalendarSummaryResponse> all = new ArrayList<>();
+            List<CalendarSummaryResponse> page = calendarRepository.searchFirstPage(Visibility.PUBLIC, "%", Limit.of(2));
+            while (!page.isEmpty()) {
+                all.addAll(page);
+                CalendarSummaryResponse last = page.get(page.size() - 1);
+                page = calendarRepository.searchPageAfter(Visibility.PUBLIC, "%",
+                        last.name() == null ? "" : last.name(), last.id(), Limit.of(2));
+            }
+
+            assertThat(all).hasSize(5).extracting(CalendarSummaryResponse::id).doesNotHaveDuplicates();
+            assertThat(all).extracting(CalendarSummaryResponse::name)
+                    .containsSubsequence(null, null, "beta")
+                    .containsOnlyOnce("beta");
+            assertThat(all.subList(2, 4)).extracting(CalendarSummaryResponse::name).containsExactlyInAnyOrder("Alpha", "ALPHA");
+        }
+    }
+}
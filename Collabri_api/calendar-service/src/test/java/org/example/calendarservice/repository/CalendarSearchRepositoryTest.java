@@ -0,0 +1,219 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.config.SearchIndexInitializer;
+import org.example.calendarservice.dto.CalendarSummaryResponse;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Category;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.mappers.CalendarMapper;
+import org.example.calendarservice.mappers.EventMapper;
+import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.mappers.TaskMapper;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.CalendarSearchRepository;
+import org.example.calendarservice.repositories.CalendarSearchRepository.RankedSummary;
+import org.example.calendarservice.repositories.CategoryRepository;
+import org.example.calendarservice.services.CalendarService;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.PublicCalendarDirectory;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+// Ranking relies on pg_trgm and the GIN indexes SearchIndexInitializer creates; they are (re)created per test
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CalendarSearchRepository.class, SearchIndexInitializer.class, CalendarService.class,
+        CalendarMapper.class, MemberMapper.class, TaskMapper.class, EventMapper.class})
+@DisplayName("CalendarSearchRepository")
+class CalendarSearchRepositoryTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CalendarSearchRepository calendarSearchRepository;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @MockitoSpyBean
+    private SearchIndexInitializer searchIndexInitializer;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private PublicCalendarDirectory publicCalendarDirectory;
+
+    @MockitoBean
+    private CalendarAccessCache calendarAccessCache;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        calendarRepository.deleteAll();
+        categoryRepository.deleteAll();
+        searchIndexInitializer.run(null);
+    }
+
+    private Calendar save(String name, String description, Category category, Visibility visibility) {
+        return calendarRepository.saveAndFlush(Calendar.builder()
+                .name(name)
+                .description(description)
+                .category(category)
+                .ownerId(UUID.randomUUID())
+                .visibility(visibility)
+                .build());
+    }
+
+    private Calendar save(String name, Visibility visibility) {
+        return save(name, null, null, visibility);
+    }
+
+    private static List<String> names(List<RankedSummary> rows) {
+        return rows.stream().map(row -> row.calendar().name()).toList();
+    }
+
+    // Protects relevance: best match first, public only, misspellings and category names still found
+    @Nested
+    @DisplayName("search")
+    class Search {
+
+        @Test
+        @DisplayName("Should rank the closest name first, order by score and leave out private and unrelated calendars")
+        void shouldRankByRelevance() {
+            save("Weekly planning for the team", Visibility.PUBLIC);
+            save("Team Planning", Visibility.PUBLIC);
+            save("Planning", Visibility.PUBLIC);
+            save("Marketing", Visibility.PUBLIC);
+            save("Team Planning", Visibility.PRIVATE);
+
+            List<RankedSummary> rows = calendarSearchRepository.search("team planning", null, null, 10);
+
+            assertThat(names(rows)).first().isEqualTo("Team Planning");
+            assertThat(names(rows)).contains("Weekly planning for the team").doesNotContain("Marketing");
+            assertThat(rows).extracting(row -> row.calendar().visibility()).containsOnly(Visibility.PUBLIC);
+            assertThat(rows).extracting(RankedSummary::score).isSortedAccordingTo(Comparator.reverseOrder());
+        }
+
+        @Test
+        @DisplayName("Should match descriptions through full-text search")
+        void shouldMatchDescription() {
+            save("Club night", "Monthly karaoke evening", null, Visibility.PUBLIC);
+            save("Quiz night", "Trivia and snacks", null, Visibility.PUBLIC);
+
+            assertThat(names(calendarSearchRepository.search("karaoke", null, null, 10))).containsExactly("Club night");
+        }
+
+        @Test
+        @DisplayName("Should tolerate typos in calendar and category names")
+        void shouldTolerateTypos() {
+            Category football = categoryRepository.saveAndFlush(Category.builder().name("Football").build());
+            save("Planning Board", Visibility.PUBLIC);
+            save("Sunday league", null, football, Visibility.PUBLIC);
+            save("Book club", Visibility.PUBLIC);
+
+            assertThat(names(calendarSearchRepository.search("plannig", null, null, 10))).containsExactly("Planning Board");
+            assertThat(names(calendarSearchRepository.search("footbal", null, null, 10))).containsExactly("Sunday league");
+        }
+    }
+
+    // Protects the (score, id) keyset: ties on score are broken by id, so no row is skipped or repeated
+    @Nested
+    @DisplayName("search paging")
+    class Paging {
+
+        @Test
+        @DisplayName("Should walk equal-score rows in id order without gaps or duplicates")
+        void shouldPageAcrossEqualScores() {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < 7; i++) {
+                ids.add(save("Yoga Club", Visibility.PUBLIC).getId());
+            }
+            save("Yoga", Visibility.PUBLIC);
+
+            List<RankedSummary> seen = new ArrayList<>();
+            List<RankedSummary> page = calendarSearchRepository.search("yoga club", null, null, 3);
+            while (!page.isEmpty()) {
+                seen.addAll(page);
+                RankedSummary last = page.get(page.size() - 1);
+                page = calendarSearchRepository.search("yoga club", last.score(), last.calendar().id(), 3);
+            }
+
+            List<UUID> seenIds = seen.stream().map(row -> row.calendar().id()).toList();
+            assertThat(seenIds).doesNotHaveDuplicates().hasSize(8);
+            // Postgres orders uuids bytewise, which matches their string form rather than UUID.compareTo
+            assertThat(seenIds.subList(0, 7)).containsExactlyElementsOf(
+                    ids.stream().sorted(Comparator.comparing(UUID::toString)).toList());
+            assertThat(seen.get(7).calendar().name()).isEqualTo("Yoga");
+        }
+    }
+
+    // Protects CalendarService's fallback: short terms and a missing trigram setup are served as a name prefix match
+    @Nested
+    @DisplayName("ranked search fallback")
+    class Fallback {
+
+        @Test
+        @DisplayName("Should answer terms shorter than three characters with a prefix match")
+        void shouldPrefixMatchShortTerms() {
+            save("Team A", Visibility.PUBLIC);
+            save("Steam", Visibility.PUBLIC);
+
+            assertThat(calendarService.rankedSearchPublicCalendars(" te ", null, 10).items())
+                    .extracting(CalendarSummaryResponse::name)
+                    .containsExactly("Team A");
+        }
+
+        @Test
+        @DisplayName("Should fall back to a prefix match when the search indexes are not ready")
+        void shouldPrefixMatchWithoutIndexes() {
+            save("Planning Board", Visibility.PUBLIC);
+            save("Plan B", Visibility.PUBLIC);
+            doReturn(false).when(searchIndexInitializer).isReady();
+
+            assertThat(calendarService.rankedSearchPublicCalendars("plannig", null, 10).items()).isEmpty();
+            assertThat(calendarService.rankedSearchPublicCalendars("plan", null, 10).items())
+                    .extracting(CalendarSummaryResponse::name)
+                    .containsExactly("Plan B", "Planning Board");
+        }
+
+        @Test
+        @DisplayName("Should use ranked search once the indexes are ready")
+        void shouldRankWhenReady() {
+            save("Planning Board", Visibility.PUBLIC);
+
+            assertThat(calendarService.rankedSearchPublicCalendars("plannig", null, 10).items())
+                    .extracting(CalendarSummaryResponse::name)
+                    .containsExactly("Planning Board");
+        }
+    }
+}
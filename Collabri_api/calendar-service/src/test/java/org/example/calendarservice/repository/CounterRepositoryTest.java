@@ -0,0 +1,194 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.entites.Task;
+import org.example.calendarservice.entites.UserCounters;
+import org.example.calendarservice.enums.CalendarCounter;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.TaskStatus;
+import org.example.calendarservice.enums.UserCounter;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.CounterRepository;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.repositories.TaskRepository;
+import org.example.calendarservice.repositories.UserCountersRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The counter SQL is built from the enums at startup; these run it against Postgres with real commits
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(CounterRepository.class)
+@DisplayName("CounterRepository")
+class CounterRepositoryTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CounterRepository counterRepository;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserCountersRepository userCountersRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final UUID managerId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("truncate table calendars, user_counters, calendar_counters cascade");
+    }
+
+    private UserCounters countersOf(UUID userId) {
+        return userCountersRepository.findById(userId).orElseThrow();
+    }
+
+    private Map<String, Object> calendarCountersOf(UUID calendarId) {
+        return jdbcTemplate.queryForMap("select member_count, event_count, task_count from calendar_counters where calendar_id = ?", calendarId);
+    }
+
+    // Owner (public calendar), manager with a pending task and an event they created
+    private Calendar seedCalendar() {
+        Calendar calendar = calendarRepository.save(Calendar.builder()
+                .name("Team")
+                .ownerId(ownerId)
+                .visibility(Visibility.PUBLIC)
+                .build());
+        memberRepository.save(Member.builder().userId(ownerId).calendar(calendar).role(Role.OWNER).build());
+        Member manager = memberRepository.save(Member.builder().userId(managerId).calendar(calendar).role(Role.MANAGER).build());
+        taskRepository.save(Task.builder().title("Review").calendar(calendar).assignedTo(manager).taskStatus(TaskStatus.PENDING).build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        eventRepository.save(Event.builder().title("Kickoff").calendar(calendar).createdBy(managerId)
+                .startTime(start).endTime(start.plusHours(1)).build());
+        return calendar;
+    }
+
+    // Protects the delta upsert: the first delta creates the row, later ones add to it
+    @Nested
+    @DisplayName("addToUser / addToCalendar")
+    class Deltas {
+
+        @Test
+        @DisplayName("Should create the row on first delta and accumulate afterwards")
+        void shouldAccumulate() {
+            UUID calendarId = UUID.randomUUID();
+
+            counterRepository.addToUser(ownerId, Map.of(UserCounter.OWNED_CALENDARS, 1L, UserCounter.PUBLIC_CALENDARS, 1L));
+            counterRepository.addToUser(ownerId, Map.of(UserCounter.OWNED_CALENDARS, 1L, UserCounter.PUBLIC_CALENDARS, -1L));
+            counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.MEMBERS, 2L));
+            counterRepository.addToCalendar(calendarId, Map.of(CalendarCounter.MEMBERS, -1L, CalendarCounter.TASKS, 1L));
+
+            UserCounters owner = countersOf(ownerId);
+            assertThat(owner.getOwnedCalendars()).isEqualTo(2);
+            assertThat(owner.getPublicCalendars()).isZero();
+            assertThat(owner.getJoinedCalendars()).isZero();
+            assertThat(calendarCountersOf(calendarId))
+                    .containsEntry("member_count", 1L)
+                    .containsEntry("event_count", 0L)
+                    .containsEntry("task_count", 1L);
+        }
+    }
+
+    // Protects reconciliation: recounts from the source tables, honours the user scope, and only rewrites drifted rows
+    @Nested
+    @DisplayName("reconcileUsers / reconcileCalendars")
+    class Reconcile {
+
+        @Test
+        @DisplayName("Should recompute only the requested users and zero out users with nothing left")
+        void shouldReconcileScopedUsers() {
+            seedCalendar();
+            UUID formerId = UUID.randomUUID();
+            counterRepository.addToUser(ownerId, Map.of(UserCounter.OWNED_CALENDARS, 5L));
+            counterRepository.addToUser(managerId, Map.of(UserCounter.TASKS_COMPLETED, 4L));
+            counterRepository.addToUser(formerId, Map.of(UserCounter.JOINED_CALENDARS, 3L));
+
+            assertThat(counterRepository.reconcileUsers(Set.of(managerId, formerId))).isEqualTo(2);
+
+            UserCounters manager = countersOf(managerId);
+            assertThat(manager.getJoinedCalendars()).isEqualTo(1);
+            assertThat(manager.getCalendarsAsManager()).isEqualTo(1);
+            assertThat(manager.getEventsCreated()).isEqualTo(1);
+            assertThat(manager.getTasksAssigned()).isEqualTo(1);
+            assertThat(manager.getTasksPending()).isEqualTo(1);
+            assertThat(manager.getTasksCompleted()).isZero();
+            assertThat(countersOf(formerId).getJoinedCalendars()).isZero();
+            assertThat(countersOf(ownerId).getOwnedCalendars()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Should fix every drifted user on a full pass and leave correct rows alone")
+        void shouldReconcileAllUsers() {
+            seedCalendar();
+            assertThat(counterRepository.reconcileUsers(null)).isEqualTo(2);
+
+            counterRepository.addToUser(ownerId, Map.of(UserCounter.PUBLIC_CALENDARS, 1L));
+
+            assertThat(counterRepository.reconcileUsers(null)).isEqualTo(1);
+            UserCounters owner = countersOf(ownerId);
+            assertThat(owner.getOwnedCalendars()).isEqualTo(1);
+            assertThat(owner.getPublicCalendars()).isEqualTo(1);
+            assertThat(owner.getJoinedCalendars()).isEqualTo(1);
+            assertThat(counterRepository.reconcileUsers(Set.of())).isZero();
+        }
+
+        @Test
+        @DisplayName("Should recount calendars and drop rows of deleted ones")
+        void shouldReconcileCalendars() {
+            Calendar calendar = seedCalendar();
+            UUID deletedId = UUID.randomUUID();
+            counterRepository.addToCalendar(deletedId, Map.of(CalendarCounter.EVENTS, 7L));
+
+            assertThat(counterRepository.reconcileCalendars()).isEqualTo(2);
+
+            assertThat(calendarCountersOf(calendar.getId()))
+                    .containsEntry("member_count", 2L)
+                    .containsEntry("event_count", 1L)
+                    .containsEntry("task_count", 1L);
+            assertThat(jdbcTemplate.queryForObject("select count(*) from calendar_counters where calendar_id = ?", Long.class, deletedId))
+                    .isZero();
+        }
+
+        @Test
+        @DisplayName("Should find the owner, members and event creators of a calendar")
+        void shouldFindUsersCountedIn() {
+            Calendar calendar = seedCalendar();
+
+            assertThat(counterRepository.findUsersCountedIn(calendar.getId())).containsExactlyInAnyOrder(ownerId, managerId);
+        }
+    }
+}
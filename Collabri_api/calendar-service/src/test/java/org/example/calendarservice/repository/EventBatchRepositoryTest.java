@@ -0,0 +1,115 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.EventBatchRepository;
+import org.example.calendarservice.repositories.EventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Imports bypass Hibernate; the batch insert must write rows the entity mapping reads back unchanged
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EventBatchRepository.class)
+@DisplayName("EventBatchRepository")
+class EventBatchRepositoryTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 2, 9, 0);
+
+    @Autowired
+    private EventBatchRepository eventBatchRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    private UUID calendarId;
+
+    @BeforeEach
+    void setUp() {
+        calendarId = calendarRepository.saveAndFlush(Calendar.builder()
+                .name("Imported")
+                .ownerId(UUID.randomUUID())
+                .visibility(Visibility.PRIVATE)
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("Should insert single and recurring events with their exceptions in one batch")
+    void shouldInsertAll() {
+        UUID importerId = UUID.randomUUID();
+        Event single = Event.builder()
+                .id(UUID.randomUUID())
+                .title("Dentist")
+                .location("Main street")
+                .startTime(START)
+                .endTime(START.plusHours(1))
+                .build();
+        Event weekly = Event.builder()
+                .id(UUID.randomUUID())
+                .title("Standup")
+                .description("Weekly")
+                .createdBy(importerId)
+                .startTime(START)
+                .endTime(START.plusMinutes(15))
+                .recurrenceFrequency(RecurrenceFrequency.WEEKLY)
+                .recurrenceInterval(2)
+                .recurrenceUntil(START.plusWeeks(10))
+                .seriesEndTime(START.plusWeeks(10).plusMinutes(15))
+                .recurrenceExceptions(Set.of(START.plusWeeks(2), START.plusWeeks(4)))
+                .build();
+
+        eventBatchRepository.insertAll(calendarId, List.of(single, weekly));
+
+        Map<UUID, Event> saved = eventRepository.findAllByCalendarId(calendarId).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        assertThat(saved).containsOnlyKeys(single.getId(), weekly.getId());
+
+        Event savedSingle = saved.get(single.getId());
+        assertThat(savedSingle.getCreatedBy()).isNull();
+        assertThat(savedSingle.getLocation()).isEqualTo("Main street");
+        assertThat(savedSingle.getRecurrenceFrequency()).isNull();
+        assertThat(savedSingle.getRecurrenceInterval()).isNull();
+        assertThat(savedSingle.getRecurrenceExceptions()).isEmpty();
+
+        Event savedWeekly = saved.get(weekly.getId());
+        assertThat(savedWeekly.getCreatedBy()).isEqualTo(importerId);
+        assertThat(savedWeekly.getStartTime()).isEqualTo(START);
+        assertThat(savedWeekly.getEndTime()).isEqualTo(START.plusMinutes(15));
+        assertThat(savedWeekly.getRecurrenceFrequency()).isEqualTo(RecurrenceFrequency.WEEKLY);
+        assertThat(savedWeekly.getRecurrenceInterval()).isEqualTo(2);
+        assertThat(savedWeekly.getRecurrenceUntil()).isEqualTo(START.plusWeeks(10));
+        assertThat(savedWeekly.getRecurrenceCount()).isNull();
+        assertThat(savedWeekly.getSeriesEndTime()).isEqualTo(START.plusWeeks(10).plusMinutes(15));
+        assertThat(savedWeekly.getRecurrenceExceptions()).containsExactlyInAnyOrder(START.plusWeeks(2), START.plusWeeks(4));
+    }
+
+    @Test
+    @DisplayName("Should do nothing for an empty batch")
+    void shouldIgnoreEmptyBatch() {
+        eventBatchRepository.insertAll(calendarId, List.of());
+
+        assertThat(eventRepository.findAllByCalendarId(calendarId)).isEmpty();
+    }
+}
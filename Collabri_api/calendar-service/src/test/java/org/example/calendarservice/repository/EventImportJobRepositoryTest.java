@@ -0,0 +1,86 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.EventImportJob;
+import org.example.calendarservice.enums.ImportStatus;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.EventImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The orphan sweep and the admission counts are what keep stuck or piled-up imports from blocking a calendar
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("EventImportJobRepository")
+class EventImportJobRepositoryTest extends AbstractIntegrationTest {
+
+    private static final Set<ImportStatus> ACTIVE = Set.of(ImportStatus.QUEUED, ImportStatus.RUNNING);
+
+    @Autowired
+    private EventImportJobRepository jobRepository;
+
+    private final UUID calendarId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final Instant now = Instant.now();
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+    }
+
+    private EventImportJob job(ImportStatus status, Instant heartbeatAt) {
+        return jobRepository.save(EventImportJob.builder()
+                .calendarId(calendarId)
+                .requestedBy(userId)
+                .status(status)
+                .createdAt(now)
+                .heartbeatAt(heartbeatAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should fail only active jobs whose heartbeat is stale")
+    void shouldFailOrphanedJobs() {
+        EventImportJob stale = job(ImportStatus.RUNNING, now.minus(Duration.ofMinutes(10)));
+        EventImportJob legacy = job(ImportStatus.QUEUED, null);
+        EventImportJob alive = job(ImportStatus.RUNNING, now);
+        EventImportJob done = job(ImportStatus.COMPLETED, now.minus(Duration.ofHours(1)));
+
+        int failed = jobRepository.failOrphaned(ACTIVE, now.minus(Duration.ofMinutes(5)), "Import was interrupted", now);
+
+        assertThat(failed).isEqualTo(2);
+        assertThat(jobRepository.findById(stale.getId()).orElseThrow().getStatus()).isEqualTo(ImportStatus.FAILED);
+        assertThat(jobRepository.findById(legacy.getId()).orElseThrow().getError()).isEqualTo("Import was interrupted");
+        assertThat(jobRepository.findById(alive.getId()).orElseThrow().getStatus()).isEqualTo(ImportStatus.RUNNING);
+        assertThat(jobRepository.findById(done.getId()).orElseThrow().getStatus()).isEqualTo(ImportStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("Should keep heartbeated jobs out of the sweep and count only active jobs")
+    void shouldHeartbeatAndCount() {
+        EventImportJob running = job(ImportStatus.RUNNING, now.minus(Duration.ofMinutes(10)));
+        job(ImportStatus.FAILED, now);
+
+        jobRepository.heartbeat(List.of(running.getId()), now);
+        int failed = jobRepository.failOrphaned(ACTIVE, now.minus(Duration.ofMinutes(5)), "Import was interrupted", now);
+
+        assertThat(failed).isZero();
+        assertThat(jobRepository.countByCalendarIdAndStatusIn(calendarId, ACTIVE)).isEqualTo(1);
+        assertThat(jobRepository.countByRequestedByAndStatusIn(userId, ACTIVE)).isEqualTo(1);
+        assertThat(jobRepository.countByRequestedByAndStatusIn(UUID.randomUUID(), ACTIVE)).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.OutboxMessage;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Relay exclusivity rests on a transaction-scoped advisory lock; each transaction here commits for real
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("OutboxRepository")
+class OutboxRepositoryTest extends AbstractIntegrationTest {
+
+    private static final long LOCK_KEY = 7_013L;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private TransactionTemplate otherTransaction;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        transaction = new TransactionTemplate(transactionManager);
+        otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    private OutboxMessage message(String key) {
+        return outboxRepository.save(OutboxMessage.builder()
+                .topic("calendar-topic")
+                .messageKey(key)
+                .payloadType("CalendarEvent")
+                .payload("{}")
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should hold the relay lock until commit and refuse it to other transactions meanwhile")
+    void shouldLockPerTransaction() {
+        Boolean contended = transaction.execute(status -> {
+            assertThat(outboxRepository.tryAdvisoryLock(LOCK_KEY)).isTrue();
+            return otherTransaction.execute(inner -> outboxRepository.tryAdvisoryLock(LOCK_KEY));
+        });
+
+        Boolean afterCommit = transaction.execute(status -> outboxRepository.tryAdvisoryLock(LOCK_KEY));
+
+        assertThat(contended).isFalse();
+        assertThat(afterCommit).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should read messages in insertion order, a batch at a time")
+    void shouldReadInInsertionOrder() {
+        Long first = message("b").getId();
+        Long second = message("a").getId();
+        message("c");
+
+        assertThat(outboxRepository.findAllByOrderByIdAsc(Limit.of(2)))
+                .extracting(OutboxMessage::getId)
+                .containsExactly(first, second);
+    }
+}
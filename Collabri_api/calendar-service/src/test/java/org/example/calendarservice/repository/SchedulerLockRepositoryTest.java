@@ -0,0 +1,97 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.SchedulerLock;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.repositories.SchedulerLockRepository;
+import org.example.calendarservice.utils.SchedulerLeases;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Leader election for scheduled jobs rests on this single upsert; each call commits for real
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("SchedulerLockRepository")
+class SchedulerLockRepositoryTest extends AbstractIntegrationTest {
+
+    private static final String JOB = "invite-expiry";
+    private static final Instant NOW = Instant.parse("2030-01-01T10:00:00Z");
+
+    @Autowired
+    private SchedulerLockRepository lockRepository;
+
+    @BeforeEach
+    void setUp() {
+        lockRepository.deleteAll();
+    }
+
+    private String holder() {
+        return lockRepository.findById(JOB).map(SchedulerLock::getLockedBy).orElse(null);
+    }
+
+    @Test
+    @DisplayName("Should take a lease nobody holds")
+    void shouldAcquireFreeLease() {
+        assertThat(lockRepository.tryAcquire(JOB, "a", NOW, NOW.plusSeconds(60))).isEqualTo(1);
+
+        assertThat(lockRepository.findById(JOB)).hasValueSatisfying(lock -> {
+            assertThat(lock.getLockedBy()).isEqualTo("a");
+            assertThat(lock.getLockedUntil()).isEqualTo(NOW.plusSeconds(60));
+        });
+    }
+
+    @Test
+    @DisplayName("Should refuse a lease another instance still holds, and keep its holder")
+    void shouldRefuseHeldLease() {
+        lockRepository.tryAcquire(JOB, "a", NOW, NOW.plusSeconds(60));
+
+        assertThat(lockRepository.tryAcquire(JOB, "b", NOW.plusSeconds(59), NOW.plusSeconds(119))).isZero();
+        assertThat(lockRepository.tryAcquire(JOB, "a", NOW.plusSeconds(30), NOW.plusSeconds(90))).isZero();
+
+        assertThat(holder()).isEqualTo("a");
+    }
+
+    @Test
+    @DisplayName("Should hand an expired lease to the next instance, from the instant it runs out")
+    void shouldTakeOverExpiredLease() {
+        lockRepository.tryAcquire(JOB, "a", NOW, NOW.plusSeconds(60));
+
+        assertThat(lockRepository.tryAcquire(JOB, "b", NOW.plusSeconds(60), NOW.plusSeconds(120))).isEqualTo(1);
+
+        assertThat(lockRepository.findById(JOB)).hasValueSatisfying(lock -> {
+            assertThat(lock.getLockedBy()).isEqualTo("b");
+            assertThat(lock.getLockedAt()).isEqualTo(NOW.plusSeconds(60));
+            assertThat(lock.getLockedUntil()).isEqualTo(NOW.plusSeconds(120));
+        });
+    }
+
+    @Test
+    @DisplayName("Should keep leases for different jobs independent")
+    void shouldKeepJobsApart() {
+        lockRepository.tryAcquire(JOB, "a", NOW, NOW.plusSeconds(60));
+
+        assertThat(lockRepository.tryAcquire("counter-reconcile", "b", NOW, NOW.plusSeconds(60))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should let only one of two instances run a job per lease")
+    void shouldElectOneInstance() {
+        SchedulerLeases first = new SchedulerLeases(lockRepository);
+        SchedulerLeases second = new SchedulerLeases(lockRepository);
+
+        assertThat(first.tryAcquire(JOB, Duration.ofMinutes(50))).isTrue();
+        assertThat(second.tryAcquire(JOB, Duration.ofMinutes(50))).isFalse();
+        assertThat(first.tryAcquire(JOB, Duration.ofMinutes(50))).isFalse();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.calendarservice.repository;
+
+import org.example.calendarservice.entites.UserDirectoryEntry;
+import org.example.calendarservice.enums.UserChangeType;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.kafka.UserChangedEvent;
+import org.example.calendarservice.repositories.UserDirectoryRepository;
+import org.example.calendarservice.user.UserBatchLoader;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.user.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The replica is written by Kafka events and by first lookups concurrently; the upsert must keep the newest state
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(UserDirectory.class)
+@DisplayName("UserDirectory replica upserts")
+class UserDirectoryRepositoryTest extends AbstractIntegrationTest {
+
+    private static final Instant T1 = Instant.parse("2030-01-01T10:00:00Z");
+    private static final Instant T2 = Instant.parse("2030-01-01T11:00:00Z");
+
+    @Autowired
+    private UserDirectory userDirectory;
+
+    @Autowired
+    private UserDirectoryRepository userDirectoryRepository;
+
+    @MockitoBean
+    private UserBatchLoader userBatchLoader;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        userDirectoryRepository.deleteAll();
+    }
+
+    private UserChangedEvent event(UserChangeType type, String email, Instant occurredAt) {
+        return new UserChangedEvent(userId, "Ada", "Lovelace", email, type, occurredAt);
+    }
+
+    @Test
+    @DisplayName("should remember a fetched user twice without a duplicate key")
+    void shouldRememberIdempotently() {
+        when(userBatchLoader.load(userId)).thenReturn(Optional.of(new UserResponse(userId, "Ada", "Lovelace", "ada@example.com")));
+
+        assertThat(userDirectory.findById(userId)).isPresent();
+        // a concurrent first lookup of the same user writing the same row
+        userDirectoryRepository.upsertIfNewer(userId, "Ada", "Lovelace", "ada@example.com", Instant.EPOCH, false);
+
+        assertThat(userDirectoryRepository.count()).isEqualTo(1);
+        assertThat(userDirectory.findById(userId)).map(UserResponse::email).contains("ada@example.com");
+        verify(userBatchLoader, times(1)).load(userId);
+    }
+
+    @Test
+    @DisplayName("should ignore an older update and let a newer one overwrite a fetched copy")
+    void shouldKeepNewestChange() {
+        userDirectoryRepository.upsertIfNewer(userId, "Ada", "Lovelace", "old@example.com", Instant.EPOCH, false);
+
+        userDirectory.apply(event(UserChangeType.UPDATED, "new@example.com", T2));
+        userDirectory.apply(event(UserChangeType.UPDATED, "stale@example.com", T1));
+
+        assertThat(userDirectoryRepository.findById(userId)).map(UserDirectoryEntry::getEmail).contains("new@example.com");
+    }
+
+    @Test
+    @DisplayName("should keep a deleted user deleted when an older update arrives late")
+    void shouldKeepTombstone() {
+        userDirectory.apply(event(UserChangeType.CREATED, "ada@example.com", T1));
+        userDirectory.apply(event(UserChangeType.DELETED, null, T2));
+        userDirectory.apply(event(UserChangeType.UPDATED, "late@example.com", T1));
+
+        UserDirectoryEntry entry = userDirectoryRepository.findById(userId).orElseThrow();
+        assertThat(entry.isDeleted()).isTrue();
+        assertThat(entry.getEmail()).isNull();
+        assertThat(userDirectory.findById(userId)).isEmpty();
+        verify(userBatchLoader, never()).load(userId);
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.calendarservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.config.CalendarAccessCache.CalendarAccess;
+import org.example.calendarservice.config.SearchIndexInitializer;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.kafka.InviteProducer;
+import org.example.calendarservice.mappers.CalendarMapper;
+import org.example.calendarservice.mappers.EventMapper;
+import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.mappers.TaskMapper;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.CalendarSearchRepository;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.services.CalendarService;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.MemberService;
+import org.example.calendarservice.services.NotificationRecipients;
+import org.example.calendarservice.services.PublicCalendarDirectory;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.user.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Membership writes must evict this instance's access cache; commits are real so the after-completion pass runs
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({MemberService.class, CalendarService.class, CalendarAccessCache.class, SimpleMeterRegistry.class,
+        CalendarMapper.class, MemberMapper.class, TaskMapper.class, EventMapper.class})
+@DisplayName("CalendarAccessCache eviction on membership writes")
+class CalendarAccessEvictionTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarAccessCache calendarAccessCache;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private InviteProducer inviteProducer;
+
+    @MockitoBean
+    private NotificationRecipients notificationRecipients;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    @MockitoBean
+    private CalendarSearchRepository calendarSearchRepository;
+
+    @MockitoBean
+    private SearchIndexInitializer searchIndexInitializer;
+
+    @MockitoBean
+    private PublicCalendarDirectory publicCalendarDirectory;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private Calendar calendar;
+    private Member member;
+
+    @BeforeEach
+    void setUp() {
+        calendarRepository.deleteAll();
+        calendar = calendarRepository.save(Calendar.builder()
+                .name("Team")
+                .ownerId(ownerId)
+                .visibility(Visibility.PUBLIC)
+                .build());
+        member = memberRepository.save(Member.builder().userId(userId).calendar(calendar).role(Role.VIEWER).build());
+    }
+
+    private Role cachedRole() {
+        return calendarAccessCache.get(userId, calendar.getId()).memberRole();
+    }
+
+    @Test
+    @DisplayName("Should serve the new role right after setMemberRole")
+    void shouldEvictOnRoleChange() {
+        assertThat(cachedRole()).isEqualTo(Role.VIEWER);
+
+        memberService.setMemberRole(member.getId(), calendar.getId(), Role.MANAGER);
+
+        assertThat(cachedRole()).isEqualTo(Role.MANAGER);
+    }
+
+    @Test
+    @DisplayName("Should revoke access right after removeMember")
+    void shouldEvictOnRemoval() {
+        assertThat(cachedRole()).isEqualTo(Role.VIEWER);
+
+        memberService.removeMember(member.getId(), calendar.getId());
+
+        assertThat(cachedRole()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should grant access right after joining a public calendar")
+    void shouldEvictOnJoin() {
+        UUID joinerId = UUID.randomUUID();
+        when(userDirectory.findById(joinerId)).thenReturn(Optional.of(new UserResponse(joinerId, "Jo", "Joiner", "jo@example.com")));
+        assertThat(calendarAccessCache.get(joinerId, calendar.getId()).memberRole()).isNull();
+
+        memberService.joinPublicCalendar(calendar.getId(), new TestingAuthenticationToken(joinerId.toString(), null));
+
+        assertThat(calendarAccessCache.get(joinerId, calendar.getId()).memberRole()).isEqualTo(Role.VIEWER);
+    }
+
+    @Test
+    @DisplayName("Should drop every user's access right after the calendar is deleted")
+    void shouldEvictOnDelete() {
+        assertThat(calendarAccessCache.get(ownerId, calendar.getId()).owner()).isTrue();
+        assertThat(cachedRole()).isEqualTo(Role.VIEWER);
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").claim("userId", ownerId.toString()).build();
+
+        calendarService.deleteCalendarById(calendar.getId(), new JwtAuthenticationToken(jwt, List.of(), ownerId.toString()));
+
+        assertThat(calendarAccessCache.get(ownerId, calendar.getId())).isEqualTo(new CalendarAccess(false, null));
+        assertThat(cachedRole()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should evict again after commit what a concurrent check cached from pre-commit state")
+    void shouldEvictAfterCommit() {
+        Role seenMidTransaction = new TransactionTemplate(transactionManager).execute(status -> {
+            memberService.setMemberRole(member.getId(), calendar.getId(), Role.MANAGER);
+            // Another request, on its own connection, still reads the committed VIEWER row and caches it
+            return CompletableFuture.supplyAsync(this::cachedRole).join();
+        });
+
+        assertThat(seenMidTransaction).isEqualTo(Role.VIEWER);
+        assertThat(cachedRole()).isEqualTo(Role.MANAGER);
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.dto.BulkInviteResponse;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.CalendarInvite;
+import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.entites.OutboxMessage;
+import org.example.calendarservice.enums.InviteStatus;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.kafka.InviteProducer;
+import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.repositories.CalendarInviteBatchRepository;
+import org.example.calendarservice.repositories.CalendarInviteRepository;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.repositories.OutboxRepository;
+import org.example.calendarservice.services.CalendarInviteService;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.NotificationRecipients;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+// Re-issued invites are flushed by dirty checking alongside the batch insert, so commits are real here
+@DataJpaTest(properties = {
+        "app.invites.expire-days=7",
+        "app.invites.max-bulk=4",
+        "app.mail.username=noreply@example.com"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({CalendarInviteService.class, CalendarInviteBatchRepository.class, InviteProducer.class, MemberMapper.class})
+@DisplayName("CalendarInviteService bulk invites")
+class CalendarInviteServiceBulkTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CalendarInviteService calendarInviteService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private CalendarInviteRepository calendarInviteRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private CalendarAccessCache calendarAccessCache;
+
+    @MockitoBean
+    private NotificationRecipients notificationRecipients;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    private final UUID inviterId = UUID.randomUUID();
+    private final Authentication inviter = new TestingAuthenticationToken(inviterId.toString(), null);
+    private Calendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        calendarInviteRepository.deleteAll();
+        calendarRepository.deleteAll();
+        calendar = calendarRepository.save(Calendar.builder()
+                .name("Team")
+                .ownerId(inviterId)
+                .visibility(Visibility.PRIVATE)
+                .build());
+    }
+
+    private CalendarInvite invite(String email, InviteStatus status, Instant expiresAt) {
+        return calendarInviteRepository.save(CalendarInvite.builder()
+                .calendarId(calendar.getId())
+                .destinationEmail(email)
+                .invitedByUserId(UUID.randomUUID())
+                .tokenHash(UUID.randomUUID().toString())
+                .status(status)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private Map<String, CalendarInvite> invitesByEmail() {
+        return calendarInviteRepository.findAll().stream()
+                .collect(Collectors.toMap(CalendarInvite::getDestinationEmail, Function.identity()));
+    }
+
+    private static void assertBadRequest(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    @DisplayName("Should trim, lower-case and de-duplicate emails before inviting")
+    void shouldNormaliseAndDedupe() {
+        BulkInviteResponse response = calendarInviteService.inviteMembers(calendar.getId(),
+                Arrays.asList(" Ada@Example.com ", "ada@example.com", "ADA@EXAMPLE.COM", " ", null, "bob@example.com"), inviter);
+
+        assertThat(response.invited()).containsExactly("ada@example.com", "bob@example.com");
+        assertThat(response.skipped()).isEmpty();
+        assertThat(invitesByEmail()).containsOnlyKeys("ada@example.com", "bob@example.com")
+                .allSatisfy((email, invite) -> {
+                    assertThat(invite.getStatus()).isEqualTo(InviteStatus.PENDING);
+                    assertThat(invite.getInvitedByUserId()).isEqualTo(inviterId);
+                    assertThat(invite.getTokenHash()).isNotNull();
+                });
+    }
+
+    @Test
+    @DisplayName("Should skip members, live pending invites and accepted invites without touching them")
+    void shouldSkipMembersAndLiveInvites() {
+        memberRepository.save(Member.builder().userId(UUID.randomUUID()).email("mia@example.com").calendar(calendar).role(Role.VIEWER).build());
+        CalendarInvite pending = invite("pat@example.com", InviteStatus.PENDING, Instant.now().plus(1, ChronoUnit.DAYS));
+        invite("acc@example.com", InviteStatus.ACCEPTED, Instant.now().minus(1, ChronoUnit.DAYS));
+
+        BulkInviteResponse response = calendarInviteService.inviteMembers(calendar.getId(),
+                List.of("Mia@example.com", "pat@example.com", "acc@example.com"), inviter);
+
+        assertThat(response.invited()).isEmpty();
+        assertThat(response.skipped()).containsExactly(
+                entry("mia@example.com", "already a member"),
+                entry("pat@example.com", "invite already pending"),
+                entry("acc@example.com", "invite already accepted"));
+        assertThat(invitesByEmail().get("pat@example.com").getTokenHash()).isEqualTo(pending.getTokenHash());
+        assertThat(invitesByEmail().get("acc@example.com").getStatus()).isEqualTo(InviteStatus.ACCEPTED);
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should re-issue overdue, expired and declined invites in place next to the new rows")
+    void shouldReissueInPlace() {
+        CalendarInvite overdue = invite("old@example.com", InviteStatus.PENDING, Instant.now().minus(1, ChronoUnit.DAYS));
+        CalendarInvite expired = invite("exp@example.com", InviteStatus.EXPIRED, null);
+        CalendarInvite declined = invite("dec@example.com", InviteStatus.DECLINED, Instant.now().plus(1, ChronoUnit.DAYS));
+
+        BulkInviteResponse response = calendarInviteService.inviteMembers(calendar.getId(),
+                List.of("old@example.com", "exp@example.com", "dec@example.com", "new@example.com"), inviter);
+
+        assertThat(response.invited()).containsExactly("old@example.com", "exp@example.com", "dec@example.com", "new@example.com");
+        Map<String, CalendarInvite> invites = invitesByEmail();
+        assertThat(invites).hasSize(4);
+        assertThat(invites.get("old@example.com").getId()).isEqualTo(overdue.getId());
+        assertThat(invites.get("exp@example.com").getId()).isEqualTo(expired.getId());
+        assertThat(invites.get("dec@example.com").getId()).isEqualTo(declined.getId());
+        assertThat(invites.values()).allSatisfy(invite -> {
+            assertThat(invite.getStatus()).isEqualTo(InviteStatus.PENDING);
+            assertThat(invite.getInvitedByUserId()).isEqualTo(inviterId);
+            assertThat(invite.getExpiresAt()).isAfter(Instant.now().plus(6, ChronoUnit.DAYS));
+        });
+        assertThat(invites.get("old@example.com").getTokenHash()).isNotEqualTo(overdue.getTokenHash());
+        assertThat(invites.get("dec@example.com").getTokenHash()).isNotEqualTo(declined.getTokenHash());
+    }
+
+    @Test
+    @DisplayName("Should write exactly one outbox message per invited email")
+    void shouldWriteOneOutboxMessagePerInvite() {
+        invite("pat@example.com", InviteStatus.PENDING, Instant.now().plus(1, ChronoUnit.DAYS));
+        invite("dec@example.com", InviteStatus.DECLINED, null);
+
+        calendarInviteService.inviteMembers(calendar.getId(),
+                List.of("pat@example.com", "dec@example.com", "new@example.com", "New@example.com"), inviter);
+
+        List<OutboxMessage> messages = outboxRepository.findAll();
+        assertThat(messages).hasSize(2)
+                .allSatisfy(message -> assertThat(message.getMessageKey()).isEqualTo(calendar.getId().toString()));
+        assertThat(messages).extracting(OutboxMessage::getPayload)
+                .anySatisfy(payload -> assertThat(payload).contains("\"dec@example.com\""))
+                .anySatisfy(payload -> assertThat(payload).contains("\"new@example.com\""));
+    }
+
+    @Test
+    @DisplayName("Should apply max-bulk to the distinct emails and refuse an empty list")
+    void shouldEnforceLimits() {
+        assertBadRequest(() -> calendarInviteService.inviteMembers(calendar.getId(),
+                List.of("a@example.com", "b@example.com", "c@example.com", "d@example.com", "e@example.com"), inviter));
+        assertBadRequest(() -> calendarInviteService.inviteMembers(calendar.getId(), List.of(" ", ""), inviter));
+        assertThat(calendarInviteRepository.count()).isZero();
+
+        BulkInviteResponse response = calendarInviteService.inviteMembers(calendar.getId(),
+                List.of("a@example.com", "A@example.com", "b@example.com", "c@example.com", "d@example.com"), inviter);
+
+        assertThat(response.invited()).hasSize(4);
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.config.CalendarAccessCache;
+import org.example.calendarservice.config.SearchIndexInitializer;
+import org.example.calendarservice.dto.CalendarRequest;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Category;
+import org.example.calendarservice.entites.Member;
+import org.example.calendarservice.entites.UserCounters;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.mappers.CalendarMapper;
+import org.example.calendarservice.mappers.EventMapper;
+import org.example.calendarservice.mappers.MemberMapper;
+import org.example.calendarservice.mappers.TaskMapper;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.CalendarSearchRepository;
+import org.example.calendarservice.repositories.CategoryRepository;
+import org.example.calendarservice.repositories.CounterRepository;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.repositories.UserCountersRepository;
+import org.example.calendarservice.services.CalendarService;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.PublicCalendarDirectory;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.example.calendarservice.user.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+// Counter hooks must share the calendar write's transaction; commits are real here, hence NOT_SUPPORTED
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CalendarService.class, CounterService.class, CounterRepository.class,
+        CalendarMapper.class, MemberMapper.class, TaskMapper.class, EventMapper.class})
+@DisplayName("CalendarService counter maintenance")
+class CalendarServiceCountersTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CounterService counterService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private UserCountersRepository userCountersRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private CalendarSearchRepository calendarSearchRepository;
+
+    @MockitoBean
+    private SearchIndexInitializer searchIndexInitializer;
+
+    @MockitoBean
+    private PublicCalendarDirectory publicCalendarDirectory;
+
+    @MockitoBean
+    private CalendarAccessCache calendarAccessCache;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    private final UUID ownerId = UUID.randomUUID();
+    private final UUID memberId = UUID.randomUUID();
+    private UUID categoryId;
+
+    @BeforeEach
+    void setUp() {
+        calendarRepository.deleteAll();
+        userCountersRepository.deleteAll();
+        categoryId = categoryRepository.save(Category.builder().name("Work").build()).getId();
+        when(userDirectory.findById(ownerId)).thenReturn(Optional.of(new UserResponse(ownerId, "Olivia", "Owner", "owner@example.com")));
+    }
+
+    private Authentication authenticationFor(UUID userId) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("userId", userId.toString())
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of(), userId.toString());
+    }
+
+    private UserCounters countersOf(UUID userId) {
+        return userCountersRepository.findById(userId).orElseThrow();
+    }
+
+    @Test
+    @DisplayName("should count the created calendar for its owner")
+    void shouldCountCreatedCalendar() {
+        calendarService.createCalendar(new CalendarRequest("Team", null, categoryId, Visibility.PUBLIC, "UTC"), authenticationFor(ownerId));
+
+        UserCounters owner = countersOf(ownerId);
+        assertThat(owner.getOwnedCalendars()).isEqualTo(1);
+        assertThat(owner.getPublicCalendars()).isEqualTo(1);
+        assertThat(owner.getJoinedCalendars()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should recompute owner and members once the calendar delete has committed")
+    void shouldRecomputeAfterDelete() {
+        calendarService.createCalendar(new CalendarRequest("Team", null, categoryId, Visibility.PRIVATE, "UTC"), authenticationFor(ownerId));
+        Calendar calendar = calendarRepository.findAll().get(0);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.save(Member.builder()
+                    .userId(memberId)
+                    .calendar(calendarRepository.getReferenceById(calendar.getId()))
+                    .role(Role.MANAGER)
+                    .build());
+            counterService.memberAdded(memberId, calendar.getId(), Role.MANAGER);
+        });
+        assertThat(countersOf(memberId).getCalendarsAsManager()).isEqualTo(1);
+
+        calendarService.deleteCalendarById(calendar.getId(), authenticationFor(ownerId));
+
+        UserCounters owner = countersOf(ownerId);
+        assertThat(owner.getOwnedCalendars()).isZero();
+        assertThat(owner.getPrivateCalendars()).isZero();
+        assertThat(owner.getJoinedCalendars()).isZero();
+        UserCounters member = countersOf(memberId);
+        assertThat(member.getJoinedCalendars()).isZero();
+        assertThat(member.getCalendarsAsManager()).isZero();
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.enums.CalendarCounter;
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.enums.TaskStatus;
+import org.example.calendarservice.enums.UserCounter;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.repositories.CounterRepository;
+import org.example.calendarservice.services.CounterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CounterService Unit Tests")
+class CounterServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID OTHER_USER_ID = UUID.randomUUID();
+    private static final UUID CALENDAR_ID = UUID.randomUUID();
+
+    @Mock
+    private CounterRepository counterRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CounterService counterService;
+
+    @BeforeEach
+    void setUp() {
+        counterService = new CounterService(counterRepository, transactionManager);
+    }
+
+    // Protects the deltas: each write moves exactly the counters it affects, in both directions
+    @Nested
+    @DisplayName("Deltas")
+    class Deltas {
+
+        @Test
+        @DisplayName("Should count a new calendar as owned, joined and by visibility, with its owner as first member")
+        void shouldCountCreatedCalendar() {
+            counterService.calendarCreated(USER_ID, CALENDAR_ID, Visibility.PUBLIC);
+
+            verify(counterRepository).addToUser(USER_ID, Map.of(
+                    UserCounter.OWNED_CALENDARS, 1L,
+                    UserCounter.JOINED_CALENDARS, 1L,
+                    UserCounter.PUBLIC_CALENDARS, 1L));
+            verify(counterRepository).addToCalendar(CALENDAR_ID, Map.of(CalendarCounter.MEMBERS, 1L));
+        }
+
+        @Test
+        @DisplayName("Should move visibility and role counters without touching unchanged ones")
+        void shouldMoveBetweenBuckets() {
+            counterService.calendarVisibilityChanged(USER_ID, Visibility.PUBLIC, Visibility.PRIVATE);
+            counterService.memberRoleChanged(OTHER_USER_ID, Role.VIEWER, Role.MANAGER);
+
+            verify(counterRepository).addToUser(USER_ID, Map.of(
+                    UserCounter.PUBLIC_CALENDARS, -1L,
+                    UserCounter.PRIVATE_CALENDARS, 1L));
+            verify(counterRepository).addToUser(OTHER_USER_ID, Map.of(
+                    UserCounter.JOINED_CALENDARS, 0L,
+                    UserCounter.CALENDARS_AS_VIEWER, -1L,
+                    UserCounter.CALENDARS_AS_MANAGER, 1L));
+        }
+
+        @Test
+        @DisplayName("Should skip no-op visibility and role changes")
+        void shouldSkipNoOps() {
+            counterService.calendarVisibilityChanged(USER_ID, Visibility.PUBLIC, Visibility.PUBLIC);
+            counterService.memberRoleChanged(USER_ID, Role.MANAGER, Role.MANAGER);
+            counterService.taskChanged(USER_ID, TaskStatus.PENDING, USER_ID, TaskStatus.PENDING);
+
+            verifyNoInteractions(counterRepository);
+        }
+
+        @Test
+        @DisplayName("Should move a reassigned, completed task from the old assignee to the new one")
+        void shouldMoveTaskAssignment() {
+            counterService.taskChanged(USER_ID, TaskStatus.PENDING, OTHER_USER_ID, TaskStatus.COMPLETED);
+
+            verify(counterRepository).addToUser(USER_ID, Map.of(
+                    UserCounter.TASKS_ASSIGNED, -1L,
+                    UserCounter.TASKS_PENDING, -1L));
+            verify(counterRepository).addToUser(OTHER_USER_ID, Map.of(
+                    UserCounter.TASKS_ASSIGNED, 1L,
+                    UserCounter.TASKS_COMPLETED, 1L));
+        }
+
+        @Test
+        @DisplayName("Should count unassigned tasks and creator-less events on the calendar only")
+        void shouldCountCalendarOnly() {
+            counterService.taskCreated(CALENDAR_ID, null, TaskStatus.PENDING);
+            counterService.eventsCreated(null, CALENDAR_ID, 3);
+
+            verify(counterRepository).addToCalendar(CALENDAR_ID, Map.of(CalendarCounter.TASKS, 1L));
+            verify(counterRepository).addToCalendar(CALENDAR_ID, Map.of(CalendarCounter.EVENTS, 3L));
+            verify(counterRepository, never()).addToUser(any(), any());
+        }
+    }
+
+    // Protects cascading deletes: affected users are captured up front and recomputed only after commit
+    @Nested
+    @DisplayName("After-commit reconciliation")
+    class AfterCommit {
+
+        @BeforeEach
+        void startSynchronization() {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+
+        @AfterEach
+        void clearSynchronization() {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        private void commit() {
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        }
+
+        @Test
+        @DisplayName("Should recompute the calendar's users once the delete has committed")
+        void shouldReconcileAfterCalendarDelete() {
+            Set<UUID> affected = Set.of(USER_ID, OTHER_USER_ID);
+            when(counterRepository.findUsersCountedIn(CALENDAR_ID)).thenReturn(affected);
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+            counterService.calendarDeleting(CALENDAR_ID);
+            verify(counterRepository, never()).reconcileUsers(any());
+
+            commit();
+            verify(counterRepository).deleteCalendar(CALENDAR_ID);
+            verify(counterRepository).reconcileUsers(affected);
+        }
+
+        @Test
+        @DisplayName("Should drop a member from the calendar now and recompute the user after commit")
+        void shouldReconcileAfterMemberRemoval() {
+            when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+            counterService.memberRemoved(USER_ID, CALENDAR_ID);
+            verify(counterRepository).addToCalendar(CALENDAR_ID, Map.of(CalendarCounter.MEMBERS, -1L));
+            verify(counterRepository, never()).reconcileUsers(any());
+
+            commit();
+            verify(counterRepository).reconcileUsers(Set.of(USER_ID));
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.example.calendarservice.repositories.EventInterval;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.services.EventConflictIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("EventConflictIndex Unit Tests")
+class EventConflictIndexTest {
+
+    private static final UUID CALENDAR_ID = UUID.randomUUID();
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    private final List<EventInterval> stored = new ArrayList<>();
+    private EventConflictIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(eventRepository.findSingleEventIntervals(CALENDAR_ID)).thenAnswer(invocation -> List.copyOf(stored));
+        when(eventRepository.findRecurringSeriesInWindow(eq(CALENDAR_ID), any(), any())).thenReturn(List.of());
+        index = new EventConflictIndex(eventRepository, 16, Duration.ofMinutes(10), Duration.ofDays(1));
+        ReflectionTestUtils.setField(index, "horizonDays", 365);
+        ReflectionTestUtils.setField(index, "maxCheckedOccurrences", 500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Event single(UUID id, LocalDateTime start, Duration length) {
+        return Event.builder().id(id).startTime(start).endTime(start.plus(length)).build();
+    }
+
+    private List<UUID> conflictsOf(LocalDateTime start, Duration length) {
+        return index.findConflicts(CALENDAR_ID, single(null, start, length));
+    }
+
+    // Protects the overlap lookup itself: half-open intervals, short and long events
+    @Nested
+    @DisplayName("findConflicts")
+    class FindConflicts {
+
+        @Test
+        @DisplayName("Should report overlapping events and ignore ones that only touch the window")
+        void shouldReportOverlapsOnly() {
+            UUID overlapping = UUID.randomUUID();
+            UUID touching = UUID.randomUUID();
+            stored.add(new EventInterval(overlapping, NINE.minusMinutes(30), NINE.plusMinutes(30)));
+            stored.add(new EventInterval(touching, NINE.plusHours(1), NINE.plusHours(2)));
+
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).containsExactly(overlapping);
+        }
+
+        @Test
+        @DisplayName("Should find an event longer than the threshold that started well before the window")
+        void shouldFindLongEvents() {
+            UUID conference = UUID.randomUUID();
+            stored.add(new EventInterval(conference, NINE.minusDays(3), NINE.plusDays(3)));
+            stored.add(new EventInterval(UUID.randomUUID(), NINE.minusDays(3), NINE.minusDays(3).plusHours(1)));
+
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).containsExactly(conference);
+        }
+
+        @Test
+        @DisplayName("Should check every occurrence of a recurring candidate")
+        void shouldExpandRecurringCandidate() {
+            UUID nextWeek = UUID.randomUUID();
+            stored.add(new EventInterval(nextWeek, NINE.plusWeeks(1), NINE.plusWeeks(1).plusMinutes(15)));
+            Event weekly = single(null, NINE, Duration.ofHours(1));
+            weekly.setRecurrenceFrequency(RecurrenceFrequency.WEEKLY);
+            weekly.setRecurrenceCount(3);
+
+            assertThat(index.findConflicts(CALENDAR_ID, weekly)).containsExactly(nextWeek);
+        }
+
+        @Test
+        @DisplayName("Should not report the candidate as conflicting with itself")
+        void shouldIgnoreSelf() {
+            UUID id = UUID.randomUUID();
+            stored.add(new EventInterval(id, NINE, NINE.plusHours(1)));
+
+            assertThat(index.findConflicts(CALENDAR_ID, single(id, NINE, Duration.ofHours(1)))).isEmpty();
+        }
+    }
+
+    // Protects in-place maintenance: writes patch the cached index instead of forcing a reload
+    @Nested
+    @DisplayName("Write hooks")
+    class WriteHooks {
+
+        @Test
+        @DisplayName("Should apply saves and deletes to the cached index without reloading it")
+        void shouldPatchWithoutReload() {
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).isEmpty();
+            UUID id = UUID.randomUUID();
+
+            index.eventSaved(CALENDAR_ID, single(id, NINE, Duration.ofHours(1)));
+            assertThat(conflictsOf(NINE, Duration.ofMinutes(30))).containsExactly(id);
+
+            index.eventSaved(CALENDAR_ID, single(id, NINE.plusDays(2), Duration.ofHours(1)));
+            assertThat(conflictsOf(NINE, Duration.ofMinutes(30))).isEmpty();
+            assertThat(conflictsOf(NINE.plusDays(2), Duration.ofMinutes(30))).containsExactly(id);
+
+            index.eventDeleted(CALENDAR_ID, id);
+            assertThat(conflictsOf(NINE.plusDays(2), Duration.ofMinutes(30))).isEmpty();
+            verify(eventRepository, times(1)).findSingleEventIntervals(CALENDAR_ID);
+        }
+
+        @Test
+        @DisplayName("Should drop an event from the index when it becomes a recurring series")
+        void shouldRemoveWhenBecomingRecurring() {
+            UUID id = UUID.randomUUID();
+            stored.add(new EventInterval(id, NINE, NINE.plusHours(1)));
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).containsExactly(id);
+
+            Event series = single(id, NINE, Duration.ofHours(1));
+            series.setRecurrenceFrequency(RecurrenceFrequency.DAILY);
+            index.eventSaved(CALENDAR_ID, series);
+
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should patch before commit and reload after a rollback")
+        void shouldReloadAfterRollback() {
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).isEmpty();
+            TransactionSynchronizationManager.initSynchronization();
+            UUID id = UUID.randomUUID();
+
+            index.eventSaved(CALENDAR_ID, single(id, NINE, Duration.ofHours(1)));
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).isEmpty();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.beforeCommit(false));
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).containsExactly(id);
+
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            assertThat(conflictsOf(NINE, Duration.ofHours(1))).isEmpty();
+            verify(eventRepository, times(2)).findSingleEventIntervals(CALENDAR_ID);
+        }
+    }
+}
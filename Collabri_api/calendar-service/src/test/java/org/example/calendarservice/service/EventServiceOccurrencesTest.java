@@ -0,0 +1,124 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.dto.EventOccurrenceResponse;
+import org.example.calendarservice.dto.EventRequest;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.kafka.InviteProducer;
+import org.example.calendarservice.mappers.EventMapper;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.EventConflictIndex;
+import org.example.calendarservice.services.EventService;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// The occurrence window is a streaming merge over the series query; order and the cap must hold across both
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "app.events.max-occurrences=6")
+@Import({EventService.class, EventMapper.class})
+@DisplayName("EventService occurrence window")
+class EventServiceOccurrencesTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 3, 4, 0, 0);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @MockitoBean
+    private InviteProducer inviteProducer;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private EventConflictIndex eventConflictIndex;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    private Calendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        calendarRepository.deleteAll();
+        calendar = calendarRepository.save(Calendar.builder()
+                .name("Team")
+                .ownerId(UUID.randomUUID())
+                .visibility(Visibility.PRIVATE)
+                .build());
+    }
+
+    private Event save(String title, LocalDateTime start, int hours, RecurrenceFrequency frequency) {
+        return eventRepository.save(Event.builder()
+                .title(title)
+                .calendar(calendar)
+                .startTime(start)
+                .endTime(start.plusHours(hours))
+                .recurrenceFrequency(frequency)
+                .build());
+    }
+
+    @Test
+    @DisplayName("should merge series and single events in start order and stop at the cap")
+    void shouldMergeInOrderUpToCap() {
+        save("standup", MONDAY.minusWeeks(5).plusHours(9), 1, RecurrenceFrequency.DAILY);
+        save("review", MONDAY.plusHours(14), 1, null);
+        save("offsite", MONDAY.plusDays(1).plusHours(8), 4, null);
+        save("before window", MONDAY.minusDays(1), 1, null);
+
+        List<EventOccurrenceResponse> occurrences = eventService.getOccurrencesInWindow(calendar.getId(), MONDAY, MONDAY.plusWeeks(1));
+
+        assertThat(occurrences).extracting(EventOccurrenceResponse::title)
+                .containsExactly("standup", "review", "offsite", "standup", "standup", "standup");
+        assertThat(occurrences).extracting(EventOccurrenceResponse::startTime).isSorted();
+        assertThat(occurrences.get(0).startTime()).isEqualTo(MONDAY.plusHours(9));
+        assertThat(occurrences.get(0).recurring()).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject an event that ends before it starts")
+    void shouldRejectEndBeforeStart() {
+        EventRequest request = new EventRequest("backwards", null, MONDAY.plusHours(2), MONDAY, null, null);
+
+        assertThatThrownBy(() -> eventService.updateEvent(request, UUID.randomUUID(), calendar.getId(), null))
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.dto.EventRequest;
+import org.example.calendarservice.entites.Calendar;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.Visibility;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.integration.AbstractIntegrationTest;
+import org.example.calendarservice.kafka.InviteProducer;
+import org.example.calendarservice.mappers.EventMapper;
+import org.example.calendarservice.repositories.CalendarRepository;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.services.CounterService;
+import org.example.calendarservice.services.EventConflictIndex;
+import org.example.calendarservice.services.EventService;
+import org.example.calendarservice.services.UserCalendarDashboardService;
+import org.example.calendarservice.user.UserDirectory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+// Access is checked on the path calendar, so an event id from another calendar must not be reachable through it
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EventService.class, EventMapper.class})
+@DisplayName("EventService writes")
+class EventServiceWritesTest extends AbstractIntegrationTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 3, 4, 9, 0);
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CalendarRepository calendarRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @MockitoBean
+    private InviteProducer inviteProducer;
+
+    @MockitoBean
+    private UserDirectory userDirectory;
+
+    @MockitoBean
+    private EventConflictIndex eventConflictIndex;
+
+    @MockitoBean
+    private UserCalendarDashboardService dashboardService;
+
+    @MockitoBean
+    private CounterService counterService;
+
+    private Calendar mine;
+    private Calendar theirs;
+    private Event theirEvent;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository.deleteAll();
+        calendarRepository.deleteAll();
+        mine = calendar("Mine");
+        theirs = calendar("Theirs");
+        theirEvent = eventRepository.save(Event.builder()
+                .title("Board meeting")
+                .calendar(theirs)
+                .createdBy(UUID.randomUUID())
+                .startTime(START)
+                .endTime(START.plusHours(1))
+                .build());
+    }
+
+    private Calendar calendar(String name) {
+        return calendarRepository.save(Calendar.builder()
+                .name(name)
+                .ownerId(UUID.randomUUID())
+                .visibility(Visibility.PRIVATE)
+                .build());
+    }
+
+    private static void assertNotFound(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getStatus()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("should refuse to update an event through another calendar's id")
+    void shouldNotUpdateAcrossCalendars() {
+        EventRequest request = new EventRequest("Hijacked", null, START, START.plusHours(2), null, null);
+
+        assertNotFound(() -> eventService.updateEvent(request, theirEvent.getId(), mine.getId(), null));
+
+        assertThat(eventRepository.findById(theirEvent.getId())).map(Event::getTitle).contains("Board meeting");
+        assertThat(calendarRepository.findById(mine.getId()).orElseThrow().getEventsChangedAt()).isNull();
+        verifyNoInteractions(eventConflictIndex);
+    }
+
+    @Test
+    @DisplayName("should refuse to delete an event through another calendar's id")
+    void shouldNotDeleteAcrossCalendars() {
+        assertNotFound(() -> eventService.deleteEvent(theirEvent.getId(), mine.getId()));
+
+        assertThat(eventRepository.findById(theirEvent.getId())).isPresent();
+        assertThat(calendarRepository.findById(mine.getId()).orElseThrow().getEventsChangedAt()).isNull();
+        verifyNoInteractions(eventConflictIndex, counterService);
+    }
+
+    @Test
+    @DisplayName("should update the event through its own calendar")
+    void shouldUpdateInOwnCalendar() {
+        EventRequest request = new EventRequest("Board meeting (moved)", null, START.plusDays(1), START.plusDays(1).plusHours(1), null, null);
+
+        eventService.updateEvent(request, theirEvent.getId(), theirs.getId(), null);
+
+        assertThat(eventRepository.findById(theirEvent.getId())).map(Event::getTitle).contains("Board meeting (moved)");
+        assertThat(calendarRepository.findById(theirs.getId()).orElseThrow().getEventsChangedAt()).isNotNull();
+        verify(eventConflictIndex).eventSaved(eq(theirs.getId()), any());
+    }
+
+    @Test
+    @DisplayName("should count the deleted event against its own calendar and creator")
+    void shouldCountDeleteAgainstOwnCalendar() {
+        eventService.deleteEvent(theirEvent.getId(), theirs.getId());
+
+        assertThat(eventRepository.findById(theirEvent.getId())).isEmpty();
+        verify(counterService).eventDeleted(theirEvent.getCreatedBy(), theirs.getId());
+        verify(eventConflictIndex).eventDeleted(theirs.getId(), theirEvent.getId());
+    }
+}
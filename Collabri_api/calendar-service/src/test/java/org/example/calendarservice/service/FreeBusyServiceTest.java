@@ -0,0 +1,180 @@
+package org.example.calendarservice.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.calendarservice.dto.BusyInterval;
+import org.example.calendarservice.dto.FreeBusyRequest;
+import org.example.calendarservice.dto.FreeSlot;
+import org.example.calendarservice.dto.UserFreeBusyResponse;
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.example.calendarservice.exceptions.CustomException;
+import org.example.calendarservice.repositories.EventRepository;
+import org.example.calendarservice.repositories.MemberEventRow;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.services.FreeBusyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FreeBusyService Unit Tests")
+class FreeBusyServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 7, 1, 9, 0);
+    private static final LocalDateTime TO = FROM.plusHours(8);
+
+    private final UUID callerId = UUID.randomUUID();
+    private final UUID colleagueId = UUID.randomUUID();
+    private final Authentication caller = new TestingAuthenticationToken(callerId.toString(), null);
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private FreeBusyService freeBusyService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(freeBusyService, "maxWindowDays", 62);
+        ReflectionTestUtils.setField(freeBusyService, "maxSlots", 3);
+    }
+
+    private static Event event(LocalDateTime start, int minutes, RecurrenceFrequency frequency) {
+        return Event.builder()
+                .id(UUID.randomUUID())
+                .startTime(start)
+                .endTime(start.plusMinutes(minutes))
+                .recurrenceFrequency(frequency)
+                .build();
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getStatus()).isEqualTo(status));
+    }
+
+    // Protects free/busy: per-user merged, window-clipped intervals, only for users sharing a calendar
+    @Nested
+    @DisplayName("getFreeBusy")
+    class GetFreeBusy {
+
+        @Test
+        @DisplayName("Should merge each user's busy time across calendars, clip it to the window and detach every event")
+        void shouldMergePerUser() {
+            Event early = event(FROM.minusHours(1), 120, null);
+            Event overlapping = event(FROM.plusMinutes(30), 60, null);
+            Event daily = event(FROM.minusDays(3).plusHours(4), 30, RecurrenceFrequency.DAILY);
+            when(memberRepository.findUserIdsSharingCalendarWith(any(), any())).thenReturn(Set.of(colleagueId));
+            when(eventRepository.streamMemberEventsInWindow(any(), any(), any())).thenReturn(Stream.of(
+                    new MemberEventRow(callerId, early),
+                    new MemberEventRow(callerId, overlapping),
+                    new MemberEventRow(colleagueId, daily)));
+
+            List<UserFreeBusyResponse> result = freeBusyService.getFreeBusy(
+                    new FreeBusyRequest(Set.of(callerId, colleagueId), FROM, TO), caller);
+
+            assertThat(result).filteredOn(r -> r.userId().equals(callerId)).singleElement()
+                    .satisfies(r -> assertThat(r.busy()).containsExactly(new BusyInterval(FROM, FROM.plusMinutes(90))));
+            assertThat(result).filteredOn(r -> r.userId().equals(colleagueId)).singleElement()
+                    .satisfies(r -> assertThat(r.busy()).containsExactly(new BusyInterval(FROM.plusHours(4), FROM.plusHours(4).plusMinutes(30))));
+            verify(entityManager).detach(early);
+            verify(entityManager).detach(overlapping);
+            verify(entityManager).detach(daily);
+        }
+
+        @Test
+        @DisplayName("Should report a user with no events as entirely free")
+        void shouldReportFreeUser() {
+            when(memberRepository.findUserIdsSharingCalendarWith(any(), any())).thenReturn(Set.of(colleagueId));
+            when(eventRepository.streamMemberEventsInWindow(any(), any(), any())).thenReturn(Stream.empty());
+
+            List<UserFreeBusyResponse> result = freeBusyService.getFreeBusy(new FreeBusyRequest(Set.of(colleagueId), FROM, TO), caller);
+
+            assertThat(result).singleElement().satisfies(r -> assertThat(r.busy()).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should refuse users who share no calendar with the caller")
+        void shouldRefuseStrangers() {
+            when(memberRepository.findUserIdsSharingCalendarWith(any(), any())).thenReturn(Set.of());
+
+            assertStatus(() -> freeBusyService.getFreeBusy(new FreeBusyRequest(Set.of(colleagueId), FROM, TO), caller), HttpStatus.FORBIDDEN);
+        }
+
+        @Test
+        @DisplayName("Should reject inverted and oversized windows")
+        void shouldValidateWindow() {
+            assertStatus(() -> freeBusyService.getFreeBusy(new FreeBusyRequest(Set.of(callerId), TO, FROM), caller), HttpStatus.BAD_REQUEST);
+            assertStatus(() -> freeBusyService.getFreeBusy(new FreeBusyRequest(Set.of(callerId), FROM, FROM.plusDays(63)), caller), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Protects the scheduling assistant: union of all members' busy time, capped by max-slots, validated inputs
+    @Nested
+    @DisplayName("findCommonFreeSlots")
+    class FindCommonFreeSlots {
+
+        private final UUID calendarId = UUID.randomUUID();
+
+        @Test
+        @DisplayName("Should cut slots around every member's busy time, cap them at max-slots and detach every event")
+        void shouldFindCommonSlots() {
+            Event morning = event(FROM, 60, null);
+            Event lunch = event(FROM.plusHours(2).plusMinutes(30), 60, null);
+            when(eventRepository.streamCalendarMembersEventsInWindow(calendarId, FROM, TO)).thenReturn(Stream.of(morning, lunch));
+
+            List<FreeSlot> slots = freeBusyService.findCommonFreeSlots(calendarId, FROM, TO, 60, null, 10);
+
+            assertThat(slots).extracting(FreeSlot::start)
+                    .containsExactly(FROM.plusHours(1), FROM.plusHours(3).plusMinutes(30), FROM.plusHours(4).plusMinutes(30));
+            verify(entityManager).detach(morning);
+            verify(entityManager).detach(lunch);
+        }
+
+        @Test
+        @DisplayName("Should offer the start of the window when the calendar has no members or events")
+        void shouldHandleNoMembers() {
+            when(eventRepository.streamCalendarMembersEventsInWindow(calendarId, FROM, TO)).thenReturn(Stream.empty());
+
+            List<FreeSlot> slots = freeBusyService.findCommonFreeSlots(calendarId, FROM, TO, 30, 30, 2);
+
+            assertThat(slots).extracting(FreeSlot::start).containsExactly(FROM, FROM.plusMinutes(30));
+        }
+
+        @Test
+        @DisplayName("Should reject non-positive duration, step or limit")
+        void shouldValidateArguments() {
+            assertStatus(() -> freeBusyService.findCommonFreeSlots(calendarId, FROM, TO, 0, null, 10), HttpStatus.BAD_REQUEST);
+            assertStatus(() -> freeBusyService.findCommonFreeSlots(calendarId, FROM, TO, 30, 0, 10), HttpStatus.BAD_REQUEST);
+            assertStatus(() -> freeBusyService.findCommonFreeSlots(calendarId, FROM, TO, 30, null, 0), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.calendarservice.service;
+
+import org.example.calendarservice.enums.Role;
+import org.example.calendarservice.repositories.MemberRepository;
+import org.example.calendarservice.services.NotificationRecipients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationRecipients Unit Tests")
+class NotificationRecipientsTest {
+
+    private static final UUID CALENDAR_ID = UUID.randomUUID();
+    private static final UUID OWNER = UUID.randomUUID();
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    private NotificationRecipients recipients;
+    private final List<List<UUID>> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        recipients = new NotificationRecipients(memberRepository, 2);
+        when(memberRepository.findFirstUserIdChunkByRole(CALENDAR_ID, Role.OWNER, Limit.of(1))).thenReturn(List.of(OWNER));
+    }
+
+    @Test
+    @DisplayName("Should lead with the owner and page every manager into further chunks")
+    void shouldPageAllManagers() {
+        UUID m1 = UUID.randomUUID(), m2 = UUID.randomUUID(), m3 = UUID.randomUUID();
+        when(memberRepository.findFirstUserIdChunkByRole(CALENDAR_ID, Role.MANAGER, Limit.of(2))).thenReturn(List.of(m1, m2));
+        when(memberRepository.findUserIdChunkByRoleAfter(CALENDAR_ID, Role.MANAGER, m2, Limit.of(2))).thenReturn(List.of(m3));
+
+        int chunks = recipients.forEachWatcherChunk(CALENDAR_ID, published::add);
+
+        assertThat(chunks).isEqualTo(2);
+        assertThat(published).containsExactly(List.of(OWNER, m1, m2), List.of(m3));
+    }
+
+    @Test
+    @DisplayName("Should notify the owner alone when the calendar has no managers")
+    void shouldNotifyOwnerWithoutManagers() {
+        when(memberRepository.findFirstUserIdChunkByRole(CALENDAR_ID, Role.MANAGER, Limit.of(2))).thenReturn(List.of());
+
+        int chunks = recipients.forEachWatcherChunk(CALENDAR_ID, published::add);
+
+        assertThat(chunks).isEqualTo(1);
+        assertThat(published).containsExactly(List.of(OWNER));
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.dto.BusyInterval;
+import org.example.calendarservice.dto.FreeSlot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BusyIntervals Unit Tests")
+class BusyIntervalsTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 7, 1, 9, 0);
+
+    private static LocalDateTime at(int hour, int minute) {
+        return NINE.withHour(hour).withMinute(minute);
+    }
+
+    private static BusyInterval busy(int fromHour, int toHour) {
+        return new BusyInterval(at(fromHour, 0), at(toHour, 0));
+    }
+
+    // Protects the window contract: nothing reported outside [from, to)
+    @Nested
+    @DisplayName("clip")
+    class Clip {
+
+        @Test
+        @DisplayName("Should cut occurrences straddling either window edge")
+        void shouldClipAtEdges() {
+            assertThat(BusyIntervals.clip(at(8, 0), at(10, 0), at(9, 0), at(17, 0))).isEqualTo(busy(9, 10));
+            assertThat(BusyIntervals.clip(at(16, 0), at(18, 0), at(9, 0), at(17, 0))).isEqualTo(busy(16, 17));
+            assertThat(BusyIntervals.clip(at(7, 0), at(19, 0), at(9, 0), at(17, 0))).isEqualTo(busy(9, 17));
+        }
+
+        @Test
+        @DisplayName("Should leave occurrences inside the window untouched")
+        void shouldKeepInside() {
+            assertThat(BusyIntervals.clip(at(10, 0), at(11, 0), at(9, 0), at(17, 0))).isEqualTo(busy(10, 11));
+        }
+    }
+
+    // Protects the single sweep: unsorted input, overlaps, touching edges and contained intervals
+    @Nested
+    @DisplayName("merge")
+    class Merge {
+
+        @Test
+        @DisplayName("Should coalesce overlapping and touching intervals regardless of input order")
+        void shouldCoalesce() {
+            List<BusyInterval> merged = BusyIntervals.merge(List.of(busy(13, 14), busy(9, 11), busy(10, 12), busy(12, 13)));
+
+            assertThat(merged).containsExactly(busy(9, 14));
+        }
+
+        @Test
+        @DisplayName("Should keep separate intervals apart and swallow contained ones")
+        void shouldKeepGapsAndSwallowContained() {
+            List<BusyInterval> merged = BusyIntervals.merge(List.of(busy(9, 12), busy(10, 11), busy(14, 15)));
+
+            assertThat(merged).containsExactly(busy(9, 12), busy(14, 15));
+        }
+
+        @Test
+        @DisplayName("Should return nothing for no intervals")
+        void shouldHandleEmpty() {
+            assertThat(BusyIntervals.merge(List.of())).isEmpty();
+        }
+    }
+
+    // Protects slot cutting: gaps at both ends, step alignment, minimum duration and the slot limit
+    @Nested
+    @DisplayName("freeSlots")
+    class FreeSlots {
+
+        private static final Duration HOUR = Duration.ofHours(1);
+
+        private List<LocalDateTime> starts(List<FreeSlot> slots) {
+            return slots.stream().map(FreeSlot::start).toList();
+        }
+
+        @Test
+        @DisplayName("Should fill the gaps before, between and after busy intervals")
+        void shouldFillGaps() {
+            List<FreeSlot> slots = BusyIntervals.freeSlots(List.of(busy(10, 11), busy(13, 15)), at(9, 0), at(17, 0), HOUR, HOUR, 10);
+
+            assertThat(starts(slots)).containsExactly(at(9, 0), at(11, 0), at(12, 0), at(15, 0), at(16, 0));
+            assertThat(slots).allSatisfy(slot -> assertThat(Duration.between(slot.start(), slot.end())).isEqualTo(HOUR));
+        }
+
+        @Test
+        @DisplayName("Should skip gaps shorter than the requested duration")
+        void shouldSkipShortGaps() {
+            List<FreeSlot> slots = BusyIntervals.freeSlots(List.of(busy(9, 10), new BusyInterval(at(10, 30), at(17, 0))),
+                    at(9, 0), at(17, 0), HOUR, Duration.ofMinutes(15), 10);
+
+            assertThat(slots).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should step within a gap and never run past its end")
+        void shouldStepWithinGap() {
+            List<FreeSlot> slots = BusyIntervals.freeSlots(List.of(), at(9, 0), at(10, 30), HOUR, Duration.ofMinutes(15), 10);
+
+            assertThat(starts(slots)).containsExactly(at(9, 0), at(9, 15), at(9, 30));
+        }
+
+        @Test
+        @DisplayName("Should stop at the limit with the earliest slots")
+        void shouldTruncateAtLimit() {
+            List<FreeSlot> slots = BusyIntervals.freeSlots(List.of(busy(10, 11)), at(9, 0), at(17, 0), HOUR, HOUR, 3);
+
+            assertThat(starts(slots)).containsExactly(at(9, 0), at(11, 0), at(12, 0));
+        }
+
+        @Test
+        @DisplayName("Should offer nothing when the whole window is busy")
+        void shouldHandleFullyBusy() {
+            assertThat(BusyIntervals.freeSlots(List.of(busy(9, 17)), at(9, 0), at(17, 0), HOUR, HOUR, 10)).isEmpty();
+        }
+    }
+}
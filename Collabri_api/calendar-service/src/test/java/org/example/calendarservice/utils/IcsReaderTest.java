@@ -0,0 +1,94 @@
+package org.example.calendarservice.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IcsReader Unit Tests")
+class IcsReaderTest {
+
+    private static List<List<IcsReader.Property>> read(String ics) throws IOException {
+        List<List<IcsReader.Property>> events = new ArrayList<>();
+        IcsReader.readEvents(new StringReader(ics), events::add);
+        return events;
+    }
+
+    // Protects streaming parsing: one callback per VEVENT, unfolding, params and nested components
+    @Nested
+    @DisplayName("readEvents")
+    class ReadEvents {
+
+        @Test
+        @DisplayName("Should hand over each VEVENT with unfolded lines and parsed params")
+        void shouldReadEvents() throws IOException {
+            String ics = """
+                    BEGIN:VCALENDAR\r
+                    X-WR-CALNAME:Ignored\r
+                    BEGIN:VEVENT\r
+                    SUMMARY:Quarterly \r
+                     planning\r
+                    DTSTART;TZID="Europe/Paris";VALUE=DATE-TIME:20300701T090000\r
+                    END:VEVENT\r
+                    BEGIN:VEVENT\r
+                    summary:Second\r
+                    END:VEVENT\r
+                    END:VCALENDAR\r
+                    """;
+
+            List<List<IcsReader.Property>> events = read(ics);
+
+            assertThat(events).hasSize(2);
+            assertThat(events.get(0)).extracting(IcsReader.Property::name).containsExactly("SUMMARY", "DTSTART");
+            assertThat(events.get(0).get(0).value()).isEqualTo("Quarterly planning");
+            IcsReader.Property start = events.get(0).get(1);
+            assertThat(start.param("TZID")).isEqualTo("Europe/Paris");
+            assertThat(start.param("VALUE")).isEqualTo("DATE-TIME");
+            assertThat(start.value()).isEqualTo("20300701T090000");
+            assertThat(events.get(1).get(0).name()).isEqualTo("SUMMARY");
+        }
+
+        @Test
+        @DisplayName("Should skip properties of nested components such as VALARM")
+        void shouldSkipNestedComponents() throws IOException {
+            String ics = """
+                    BEGIN:VEVENT
+                    SUMMARY:With alarm
+                    BEGIN:VALARM
+                    TRIGGER:-PT15M
+                    DESCRIPTION:Reminder
+                    END:VALARM
+                    LOCATION:Room 1
+                    END:VEVENT
+                    """;
+
+            List<List<IcsReader.Property>> events = read(ics);
+
+            assertThat(events).singleElement()
+                    .satisfies(event -> assertThat(event).extracting(IcsReader.Property::name).containsExactly("SUMMARY", "LOCATION"));
+        }
+
+        @Test
+        @DisplayName("Should keep colons inside quoted params and in the value")
+        void shouldSplitOnFirstUnquotedColon() throws IOException {
+            List<List<IcsReader.Property>> events = read("BEGIN:VEVENT\nATTENDEE;CN=\"Doe: Jane\":mailto:jane@example.com\nEND:VEVENT\n");
+
+            IcsReader.Property attendee = events.get(0).get(0);
+            assertThat(attendee.param("CN")).isEqualTo("Doe: Jane");
+            assertThat(attendee.value()).isEqualTo("mailto:jane@example.com");
+        }
+    }
+
+    @Test
+    @DisplayName("Should unescape TEXT values")
+    void shouldUnescape() {
+        assertThat(IcsReader.unescape("a\\, b\\; c\\\\d\\ne")).isEqualTo("a, b; c\\d\ne");
+        assertThat(IcsReader.unescape(null)).isNull();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.calendarservice.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("IcsWriter Unit Tests")
+class IcsWriterTest {
+
+    private final StringWriter out = new StringWriter();
+    private final IcsWriter writer = new IcsWriter(out);
+
+    // Protects RFC 5545 content lines: escaping, CRLF and folding by octets rather than chars
+    @Nested
+    @DisplayName("Content lines")
+    class ContentLines {
+
+        @Test
+        @DisplayName("Should escape TEXT values and skip empty ones")
+        void shouldEscapeText() throws IOException {
+            writer.text("SUMMARY", "Plan; review, ship\\done\nnext").text("LOCATION", "");
+
+            assertThat(out.toString()).isEqualTo("SUMMARY:Plan\\; review\\, ship\\\\done\\nnext\r\n");
+        }
+
+        @Test
+        @DisplayName("Should fold long lines at 75 octets without splitting a multi-byte character")
+        void shouldFoldByOctets() throws IOException {
+            writer.line("DESCRIPTION", "é".repeat(60));
+
+            String[] lines = out.toString().split("\r\n");
+            assertThat(lines).hasSizeGreaterThan(1);
+            for (String line : lines) {
+                assertThat(line.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(75);
+            }
+            assertThat(out.toString().replace("\r\n ", "")).isEqualTo("DESCRIPTION:" + "é".repeat(60) + "\r\n");
+        }
+    }
+
+    // Protects date-time forms: floating, TZID-qualified and UTC, and UNTIL matching DTSTART
+    @Nested
+    @DisplayName("Date-times")
+    class DateTimes {
+
+        private static final LocalDateTime NINE = LocalDateTime.of(2030, 7, 1, 9, 0);
+
+        @Test
+        @DisplayName("Should write floating, zoned and UTC date-times")
+        void shouldWriteDateTimes() throws IOException {
+            writer.dateTime("DTSTART", NINE, null)
+                    .dateTime("DTSTART", NINE, "Europe/Paris")
+                    .utc("DTSTAMP", Instant.parse("2030-07-01T07:00:00Z"));
+
+            assertThat(out.toString()).isEqualTo(
+                    "DTSTART:20300701T090000\r\n"
+                            + "DTSTART;TZID=Europe/Paris:20300701T090000\r\n"
+                            + "DTSTAMP:20300701T070000Z\r\n");
+        }
+
+        @Test
+        @DisplayName("Should write UNTIL in UTC when DTSTART has a TZID and floating otherwise")
+        void shouldFormatUntil() {
+            assertThat(IcsWriter.formatUntil(NINE, "Europe/Paris")).isEqualTo("20300701T070000Z");
+            assertThat(IcsWriter.formatUntil(NINE, "America/New_York")).isEqualTo("20300701T130000Z");
+            assertThat(IcsWriter.formatUntil(NINE, null)).isEqualTo("20300701T090000");
+        }
+    }
+}
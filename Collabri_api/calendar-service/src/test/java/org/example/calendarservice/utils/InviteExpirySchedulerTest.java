@@ -0,0 +1,75 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.repositories.CalendarInviteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InviteExpiryScheduler Unit Tests")
+class InviteExpirySchedulerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(50);
+
+    @Mock
+    private CalendarInviteRepository inviteRepository;
+
+    @Mock
+    private SchedulerLeases schedulerLeases;
+
+    @InjectMocks
+    private InviteExpiryScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduler, "batchSize", 2);
+        ReflectionTestUtils.setField(scheduler, "lease", LEASE);
+    }
+
+    @Test
+    @DisplayName("Should keep expiring while batches come back full and stop on the first short one")
+    void shouldStopOnShortBatch() {
+        when(schedulerLeases.tryAcquire("invite-expiry", LEASE)).thenReturn(true);
+        when(inviteRepository.expirePendingBefore(any(), eq(2))).thenReturn(2, 2, 1);
+
+        scheduler.expireInvites();
+
+        verify(inviteRepository, times(3)).expirePendingBefore(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should stop on an empty batch when the backlog is an exact multiple of the batch size")
+    void shouldStopOnEmptyBatch() {
+        when(schedulerLeases.tryAcquire("invite-expiry", LEASE)).thenReturn(true);
+        when(inviteRepository.expirePendingBefore(any(), eq(2))).thenReturn(2, 0);
+
+        scheduler.expireInvites();
+
+        verify(inviteRepository, times(2)).expirePendingBefore(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should do nothing when another instance holds the lease")
+    void shouldSkipWithoutLease() {
+        when(schedulerLeases.tryAcquire("invite-expiry", LEASE)).thenReturn(false);
+
+        scheduler.expireInvites();
+
+        verifyNoInteractions(inviteRepository);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.dto.CursorPage;
+import org.example.calendarservice.exceptions.CustomException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Keyset Unit Tests")
+class KeysetTest {
+
+    private static final UUID ID = UUID.fromString("6f1c2a1e-0000-4000-8000-000000000001");
+
+    private static void assertBadRequest(Runnable call) {
+        assertThatThrownBy(call::run)
+                .isInstanceOf(CustomException.class)
+                .satisfies(e -> assertThat(((CustomException) e).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    // Protects the cursor format: keys survive the round trip, including the separator and empty keys
+    @Nested
+    @DisplayName("encode / decode")
+    class Cursor {
+
+        @Test
+        @DisplayName("Should round-trip typed keys")
+        void shouldRoundTrip() {
+            LocalDateTime start = LocalDateTime.of(2030, 7, 1, 9, 30);
+            Instant expiresAt = Instant.parse("2030-07-01T07:00:00Z");
+
+            assertThat(Keyset.decode(Keyset.encode(start, ID)).keyAsDateTime()).isEqualTo(start);
+            assertThat(Keyset.decode(Keyset.encode(expiresAt, ID)).keyAsInstant()).isEqualTo(expiresAt);
+            assertThat(Keyset.decode(Keyset.encode(0.75, ID)).keyAsDouble()).isEqualTo(0.75);
+            assertThat(Keyset.decode(Keyset.encode(start, ID)).id()).isEqualTo(ID);
+        }
+
+        @Test
+        @DisplayName("Should keep keys containing the separator and encode a null key as empty")
+        void shouldHandleAwkwardKeys() {
+            assertThat(Keyset.decode(Keyset.encode("a|b", ID))).isEqualTo(new Keyset.Position("a|b", ID));
+            assertThat(Keyset.decode(Keyset.encode(null, ID))).isEqualTo(new Keyset.Position("", ID));
+        }
+
+        @Test
+        @DisplayName("Should treat a missing cursor as the first page")
+        void shouldStartFromFirstPage() {
+            assertThat(Keyset.decode(null)).isNull();
+            assertThat(Keyset.decode(" ")).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject tampered cursors and mistyped keys with 400")
+        void shouldRejectInvalidCursors() {
+            String noSeparator = Base64.getUrlEncoder().encodeToString("no-separator".getBytes(StandardCharsets.UTF_8));
+            String badId = Base64.getUrlEncoder().encodeToString("key|not-a-uuid".getBytes(StandardCharsets.UTF_8));
+
+            assertBadRequest(() -> Keyset.decode("%%%"));
+            assertBadRequest(() -> Keyset.decode(noSeparator));
+            assertBadRequest(() -> Keyset.decode(badId));
+            assertBadRequest(() -> Keyset.decode(Keyset.encode("tomorrow", ID)).keyAsDateTime());
+            assertBadRequest(() -> Keyset.decode(Keyset.encode(null, ID)).keyAsDouble());
+        }
+    }
+
+    // Protects page assembly: one look-ahead row decides hasNext and is never returned
+    @Nested
+    @DisplayName("limit / page")
+    class Paging {
+
+        @Test
+        @DisplayName("Should fetch one extra row and bound the page size")
+        void shouldLimit() {
+            assertThat(Keyset.limit(20).max()).isEqualTo(21);
+            assertBadRequest(() -> Keyset.limit(0));
+            assertBadRequest(() -> Keyset.limit(Keyset.MAX_PAGE_SIZE + 1));
+        }
+
+        @Test
+        @DisplayName("Should drop the look-ahead row and point the cursor at the last returned row")
+        void shouldBuildPages() {
+            CursorPage<String> full = Keyset.page(List.of(1, 2, 3), 2, n -> "c" + n, n -> "row" + n);
+            CursorPage<String> last = Keyset.page(List.of(1, 2), 2, n -> "c" + n, n -> "row" + n);
+
+            assertThat(full.items()).containsExactly("row1", "row2");
+            assertThat(full.hasNext()).isTrue();
+            assertThat(full.nextCursor()).isEqualTo("c2");
+            assertThat(last.items()).containsExactly("row1", "row2");
+            assertThat(last.hasNext()).isFalse();
+            assertThat(last.nextCursor()).isNull();
+        }
+    }
+}
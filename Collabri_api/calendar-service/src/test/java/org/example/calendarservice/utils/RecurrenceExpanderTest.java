@@ -0,0 +1,105 @@
+package org.example.calendarservice.utils;
+
+import org.example.calendarservice.entites.Event;
+import org.example.calendarservice.enums.RecurrenceFrequency;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RecurrenceExpander Unit Tests")
+class RecurrenceExpanderTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 31, 9, 0);
+
+    private static Event series(RecurrenceFrequency frequency) {
+        return Event.builder()
+                .startTime(START)
+                .endTime(START.plusHours(1))
+                .recurrenceFrequency(frequency)
+                .build();
+    }
+
+    // Protects window expansion: overlap semantics, jumping ahead, limits and exceptions
+    @Nested
+    @DisplayName("occurrencesBetween")
+    class OccurrencesBetween {
+
+        @Test
+        @DisplayName("Should yield a single event only when it overlaps the window")
+        void shouldHandleSingleEvents() {
+            Event single = Event.builder().startTime(START).endTime(START.plusHours(1)).build();
+
+            assertThat(RecurrenceExpander.occurrencesBetween(single, START.plusMinutes(30), START.plusHours(2))).containsExactly(START);
+            assertThat(RecurrenceExpander.occurrencesBetween(single, START.plusHours(1), START.plusHours(2))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should include an occurrence that started before the window but is still running")
+        void shouldIncludeRunningOccurrence() {
+            Event daily = series(RecurrenceFrequency.DAILY);
+
+            assertThat(RecurrenceExpander.occurrencesBetween(daily, START.plusDays(10).plusMinutes(30), START.plusDays(11)))
+                    .containsExactly(START.plusDays(10));
+        }
+
+        @Test
+        @DisplayName("Should jump to a window far from the series start")
+        void shouldJumpToWindow() {
+            Event weekly = series(RecurrenceFrequency.WEEKLY);
+            weekly.setRecurrenceInterval(2);
+            LocalDateTime from = START.plusYears(50);
+
+            assertThat(RecurrenceExpander.occurrencesBetween(weekly, from, from.plusWeeks(4)))
+                    .hasSize(2)
+                    .allSatisfy(start -> assertThat(start).isAfterOrEqualTo(from.minusHours(1)));
+        }
+
+        @Test
+        @DisplayName("Should clamp monthly occurrences to the end of shorter months without drifting")
+        void shouldClampMonths() {
+            Event monthly = series(RecurrenceFrequency.MONTHLY);
+
+            assertThat(RecurrenceExpander.occurrencesBetween(monthly, START, START.plusMonths(3)))
+                    .containsExactly(START, LocalDateTime.of(2030, 2, 28, 9, 0), LocalDateTime.of(2030, 3, 31, 9, 0));
+        }
+
+        @Test
+        @DisplayName("Should honour count, until and exceptions")
+        void shouldHonourLimits() {
+            Event counted = series(RecurrenceFrequency.DAILY);
+            counted.setRecurrenceCount(3);
+            Event until = series(RecurrenceFrequency.DAILY);
+            until.setRecurrenceUntil(START.plusDays(1));
+            Event excepted = series(RecurrenceFrequency.DAILY);
+            excepted.setRecurrenceExceptions(Set.of(START.plusDays(1)));
+
+            assertThat(RecurrenceExpander.occurrencesBetween(counted, START, START.plusDays(10))).hasSize(3);
+            assertThat(RecurrenceExpander.occurrencesBetween(until, START, START.plusDays(10))).containsExactly(START, START.plusDays(1));
+            assertThat(RecurrenceExpander.occurrencesBetween(excepted, START, START.plusDays(3))).containsExactly(START, START.plusDays(2));
+        }
+    }
+
+    // Protects the stored series end that window queries filter on
+    @Nested
+    @DisplayName("seriesEnd")
+    class SeriesEnd {
+
+        @Test
+        @DisplayName("Should be the end of the last occurrence, or null for an endless series")
+        void shouldComputeSeriesEnd() {
+            Event counted = series(RecurrenceFrequency.WEEKLY);
+            counted.setRecurrenceCount(3);
+            Event until = series(RecurrenceFrequency.DAILY);
+            until.setRecurrenceUntil(START.plusDays(4).plusMinutes(30));
+
+            assertThat(RecurrenceExpander.seriesEnd(counted)).isEqualTo(START.plusWeeks(2).plusHours(1));
+            assertThat(RecurrenceExpander.seriesEnd(until)).isEqualTo(START.plusDays(4).plusHours(1));
+            assertThat(RecurrenceExpander.seriesEnd(series(RecurrenceFrequency.YEARLY))).isNull();
+        }
+    }
+}
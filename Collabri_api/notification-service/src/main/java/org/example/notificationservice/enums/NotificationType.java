@@ -5,5 +5,6 @@ public enum NotificationType {
     TASK_CREATED,
     EVENT_CREATED,
     MEMBER_LEFT,
-    MEMBER_JOINED
+    MEMBER_JOINED,
+    EVENTS_IMPORTED
 }
@@ -6,6 +6,7 @@ import org.example.notificationservice.dtos.NotificationResponse;
 import org.example.notificationservice.email.EmailService;
 import org.example.notificationservice.kafka.calendar.CalendarInviteEvent;
 import org.example.notificationservice.kafka.calendar.EventCreatedEvent;
+import org.example.notificationservice.kafka.calendar.EventsImportedEvent;
 import org.example.notificationservice.kafka.calendar.MemberJoinedEvent;
 import org.example.notificationservice.kafka.calendar.MemberLeftEvent;
 import org.example.notificationservice.entities.Notification;
@@ -104,6 +105,36 @@ public class NotificationConsumer {
         log.info("Event created notifications saved and pushed for eventId={}", event.eventId());
     }
 
+    @KafkaListener(topics = "calendar-import-topic")
+    public void consumeEventsImportedNotification(EventsImportedEvent event) {
+        log.info("Consumed events imported message: {}", event);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (UUID recipientId : event.recipientsId()) {
+            notifications.add(Notification.builder()
+                    .userId(recipientId)
+                    .title(event.imported() + " events imported into " + event.calendarName())
+                    .message("Check out the calendar now!")
+                    .payload(Map.of(
+                            "importId", event.importId().toString(),
+                            "calendarId", event.calendarId().toString(),
+                            "calendarName", event.calendarName(),
+                            "imported", event.imported()
+                    ))
+                    .type(NotificationType.EVENTS_IMPORTED)
+                    .status(NotificationStatus.DELIVERED)
+                    .createdAt(LocalDateTime.now())
+                    .build());
+        }
+
+        List<Notification> saved = repository.saveAll(notifications);
+        for (Notification notification : saved) {
+            pushNotificationToUser(notification);
+        }
+
+        log.info("Events imported notifications saved and pushed for importId={}", event.importId());
+    }
+
     @KafkaListener(topics = "calendar-task-topic")
     public void consumeTaskCreatedNotification(org.example.notificationservice.kafka.calendar.TaskCreatedEvent event) {
         log.info("Consumed task created message: {}", event);
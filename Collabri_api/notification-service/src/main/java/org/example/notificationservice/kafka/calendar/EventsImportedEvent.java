@@ -0,0 +1,14 @@
+package org.example.notificationservice.kafka.calendar;
+
+import java.util.List;
+import java.util.UUID;
+
+public record EventsImportedEvent(
+        UUID importId,
+        UUID calendarId,
+        String calendarName,
+        String importedBy,
+        int imported,
+        List<UUID> recipientsId
+) {
+}
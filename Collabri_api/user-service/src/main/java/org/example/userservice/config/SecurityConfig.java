@@ -50,6 +50,7 @@ public class SecurityConfig {
                         ).permitAll()//auth endpoints
                         .requestMatchers(HttpMethod.GET, "/api/v1/users/by-email").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/users/*").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users/batch").hasRole("SERVICE") // service-to-service only
                         .requestMatchers(HttpMethod.DELETE, "/api/v1/users/**").hasAnyRole("ADMIN", "SUPER_ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/v1/users/**").hasAnyRole("SUPER_ADMIN", "ADMIN", "USER")
                         .anyRequest().authenticated()
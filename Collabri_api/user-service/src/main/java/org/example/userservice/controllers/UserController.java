@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.userservice.dto.ApiResponse;
+import org.example.userservice.dto.UserBatchRequest;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
 import org.example.userservice.services.UserService;
@@ -13,6 +14,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -36,6 +38,12 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    // Service-to-service bulk resolution; SecurityConfig restricts it to service tokens (ROLE_SERVICE)
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserResponse>> getUsersBatch(@Valid @RequestBody UserBatchRequest request) {
+        return ResponseEntity.ok(userService.findBatch(request));
+    }
+
     @GetMapping("/by-email")
     public ResponseEntity<ApiResponse<UserResponse>> getUserByEmail(@RequestParam("email") String email) {
         UserResponse user = userService.findByEmail(email);
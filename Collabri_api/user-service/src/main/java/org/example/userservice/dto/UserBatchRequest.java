@@ -0,0 +1,15 @@
+package org.example.userservice.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.util.Set;
+import java.util.UUID;
+
+public record UserBatchRequest(
+        @Size(max = 500, message = "At most 500 ids per batch")
+        Set<UUID> ids,
+
+        @Size(max = 500, message = "At most 500 emails per batch")
+        Set<String> emails
+) {
+}
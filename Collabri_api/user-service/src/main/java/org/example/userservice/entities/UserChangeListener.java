@@ -0,0 +1,49 @@
+package org.example.userservice.entities;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.example.userservice.enums.UserChangeType;
+import org.example.userservice.kafka.UserChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Turns every persisted change of a {@link User} into a {@link UserChangedEvent}, whichever service made it,
+ * so other services can keep their own copy of user names and emails.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onCreated(User user) {
+        publish(user, UserChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdated(User user) {
+        publish(user, UserChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onDeleted(User user) {
+        publish(user, UserChangeType.DELETED);
+    }
+
+    private void publish(User user, UserChangeType type) {
+        eventPublisher.publishEvent(new UserChangedEvent(
+                user.getId(),
+                user.getFirstname(),
+                user.getLastname(),
+                user.getEmail(),
+                type,
+                Instant.now()
+        ));
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.userservice.enums;
+
+public enum UserChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,17 @@
+package org.example.userservice.kafka;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicsConfig {
+
+    @Bean
+    public NewTopic userChangedTopic() {
+        return TopicBuilder
+                .name(UserEventProducer.USER_CHANGED_TOPIC)
+                .build();
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.userservice.kafka;
+
+import org.example.userservice.enums.UserChangeType;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserChangedEvent(
+        UUID userId,
+        String firstname,
+        String lastname,
+        String email,
+        UserChangeType type,
+        Instant occurredAt
+) {
+}
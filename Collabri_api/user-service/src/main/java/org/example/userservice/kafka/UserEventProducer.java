@@ -0,0 +1,33 @@
+package org.example.userservice.kafka;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserEventProducer {
+
+    public static final String USER_CHANGED_TOPIC = "user-changed-topic";
+
+    private final KafkaTemplate<String, UserChangedEvent> kafkaTemplate;
+
+    // Only committed changes leave the service; keyed by user id so a user's changes stay in order
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void sendUserChanged(UserChangedEvent event) {
+        log.info("Sending UserChanged {} for user {}", event.type(), event.userId());
+        Message<UserChangedEvent> message = MessageBuilder
+                .withPayload(event)
+                .setHeader(KafkaHeaders.TOPIC, USER_CHANGED_TOPIC)
+                .setHeader(KafkaHeaders.KEY, event.userId().toString())
+                .build();
+        kafkaTemplate.send(message);
+    }
+}
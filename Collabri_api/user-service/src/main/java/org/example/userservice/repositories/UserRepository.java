@@ -4,9 +4,11 @@ import org.example.userservice.entities.User;
 import org.example.userservice.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,6 +17,11 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
+    List<User> findAllByIdIn(Collection<UUID> ids);
+    List<User> findAllByEmailIn(Collection<String> emails);
+
+    @Query("select u from User u where u.id in :ids or u.email in :emails")
+    List<User> findAllByIdInOrEmailIn(@Param("ids") Collection<UUID> ids, @Param("emails") Collection<String> emails);
     boolean existsByEmail(String email);
     boolean existsByRole(Role role);
     long countByRole(Role role);
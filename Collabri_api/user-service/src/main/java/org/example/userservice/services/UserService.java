@@ -14,7 +14,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -78,6 +80,25 @@ public class UserService {
         userRepository.save(user);
     }
 
+    // One IN query for the whole batch; unknown ids/emails are simply absent from the result
+    public List<UserResponse> findBatch(UserBatchRequest request) {
+        Set<UUID> ids = request.ids() == null ? Set.of() : request.ids();
+        Set<String> emails = request.emails() == null ? Set.of() : request.emails();
+        List<User> users;
+        if (ids.isEmpty() && emails.isEmpty()) {
+            return List.of();
+        } else if (emails.isEmpty()) {
+            users = userRepository.findAllByIdIn(ids);
+        } else if (ids.isEmpty()) {
+            users = userRepository.findAllByEmailIn(emails);
+        } else {
+            users = userRepository.findAllByIdInOrEmailIn(ids, emails);
+        }
+        return users.stream()
+                .map(userMapper::fromUser)
+                .toList();
+    }
+
     public UserResponse findByEmail(String email) {
         return userRepository.findByEmail(email)
                 .map(userMapper::fromUser)
@@ -24,6 +24,9 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -218,6 +221,45 @@ class UserControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/v1/users/batch — getUsersBatch")
+    class GetUsersBatch {
+
+        @Test
+        @WithMockUser(roles = "SERVICE")
+        @DisplayName("should return 200 with all resolved users for a service caller")
+        void shouldReturnResolvedUsers() throws Exception {
+            when(userService.findBatch(any())).thenReturn(List.of(buildUserResponse()));
+
+            mockMvc.perform(post("/api/v1/users/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    { "ids": ["%s"], "emails": ["%s"] }
+                                    """.formatted(USER_ID, EMAIL)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(USER_ID.toString()))
+                    .andExpect(jsonPath("$[0].email").value(EMAIL));
+
+            verify(userService).findBatch(any());
+        }
+
+        @Test
+        @WithMockUser(roles = "SERVICE")
+        @DisplayName("should return 400 when the batch exceeds the size limit")
+        void shouldRejectOversizedBatch() throws Exception {
+            String ids = IntStream.range(0, 501)
+                    .mapToObj(i -> "\"" + UUID.randomUUID() + "\"")
+                    .collect(Collectors.joining(","));
+
+            mockMvc.perform(post("/api/v1/users/batch")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{ \"ids\": [" + ids + "] }"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(userService);
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/v1/users/by-email — getUserByEmail")
     class GetUserByEmail {
@@ -0,0 +1,77 @@
+package org.example.userservice.entities;
+
+import org.example.userservice.enums.UserChangeType;
+import org.example.userservice.kafka.UserChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserChangeListener Unit Tests")
+class UserChangeListenerTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserChangeListener listener;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .firstname("John")
+                .lastname("Doe")
+                .email("john@example.com")
+                .build();
+    }
+
+    private UserChangedEvent capturePublished() {
+        ArgumentCaptor<UserChangedEvent> captor = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("should publish CREATED with the user's id, name and email after persist")
+    void shouldPublishCreated() {
+        listener.onCreated(user);
+
+        UserChangedEvent event = capturePublished();
+        assertThat(event.type()).isEqualTo(UserChangeType.CREATED);
+        assertThat(event.userId()).isEqualTo(user.getId());
+        assertThat(event.firstname()).isEqualTo("John");
+        assertThat(event.lastname()).isEqualTo("Doe");
+        assertThat(event.email()).isEqualTo("john@example.com");
+        assertThat(event.occurredAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should publish UPDATED after update")
+    void shouldPublishUpdated() {
+        listener.onUpdated(user);
+
+        assertThat(capturePublished().type()).isEqualTo(UserChangeType.UPDATED);
+    }
+
+    @Test
+    @DisplayName("should publish DELETED after remove")
+    void shouldPublishDeleted() {
+        listener.onDeleted(user);
+
+        assertThat(capturePublished().type()).isEqualTo(UserChangeType.DELETED);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.userservice.kafka;
+
+import org.example.userservice.enums.UserChangeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserEventProducer Unit Tests")
+class UserEventProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, UserChangedEvent> kafkaTemplate;
+
+    @InjectMocks
+    private UserEventProducer producer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("should send to the user-changed topic keyed by user id")
+    void shouldSendKeyedByUserId() {
+        UUID userId = UUID.randomUUID();
+        UserChangedEvent event = new UserChangedEvent(userId, "John", "Doe", "john@example.com",
+                UserChangeType.UPDATED, Instant.now());
+
+        producer.sendUserChanged(event);
+
+        ArgumentCaptor<Message<UserChangedEvent>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(kafkaTemplate).send(captor.capture());
+        Message<UserChangedEvent> message = captor.getValue();
+        assertThat(message.getPayload()).isEqualTo(event);
+        assertThat(message.getHeaders().get(KafkaHeaders.TOPIC)).isEqualTo(UserEventProducer.USER_CHANGED_TOPIC);
+        assertThat(message.getHeaders().get(KafkaHeaders.KEY)).isEqualTo(userId.toString());
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -30,6 +31,7 @@ import java.util.Map;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -74,6 +76,31 @@ class SecurityConfigCoverageTest {
                     .andExpect(status().isOk());
         }
 
+        @Test
+        @DisplayName("should return 401 for unauthenticated POST batch route")
+        void shouldRejectUnauthenticatedBatch() throws Exception {
+            mockMvc.perform(post("/api/v1/users/batch"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        @Test
+        @DisplayName("should deny POST batch for USER role")
+        void shouldDenyBatchForUserRole() throws Exception {
+            mockMvc.perform(post("/api/v1/users/batch")
+                            .with(SecurityMockMvcRequestPostProcessors.jwt()
+                                    .authorities(new SimpleGrantedAuthority("ROLE_USER"))))
+                    .andExpect(status().isForbidden());
+        }
+
+        @Test
+        @DisplayName("should allow POST batch for SERVICE role")
+        void shouldAllowBatchForServiceRole() throws Exception {
+            mockMvc.perform(post("/api/v1/users/batch")
+                            .with(SecurityMockMvcRequestPostProcessors.jwt()
+                                    .authorities(new SimpleGrantedAuthority("ROLE_SERVICE"))))
+                    .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("should deny DELETE for authenticated USER role")
         void shouldDenyDeleteForUserRole() throws Exception {
@@ -171,6 +198,11 @@ class SecurityConfigCoverageTest {
             return ResponseEntity.ok().build();
         }
 
+        @PostMapping("/api/v1/users/batch")
+        ResponseEntity<Void> batch() {
+            return ResponseEntity.ok().build();
+        }
+
         @DeleteMapping("/api/v1/users/{id}")
         ResponseEntity<Void> deleteUser(@PathVariable String id) {
             return ResponseEntity.ok().build();
@@ -64,6 +64,21 @@ class JwtServiceTest {
             assertThat(roles).contains("ROLE_USER");
             assertThat(verified).isFalse();
         }
+
+        @Test
+        @DisplayName("should include userId and email claims")
+        void shouldIncludeUserIdAndEmailClaims() {
+            JwtService jwtService = buildService(120_000L);
+            User user = buildUser(Role.USER, true);
+
+            String token = jwtService.generateAccessToken(user);
+
+            String userId = jwtService.extractClaim(token, claims -> claims.get("userId", String.class));
+            String email = jwtService.extractClaim(token, claims -> claims.get("email", String.class));
+
+            assertThat(userId).isEqualTo(user.getId().toString());
+            assertThat(email).isEqualTo("jwt-user@example.com");
+        }
     }
 
     // Protects token time validation for security-sensitive expiry checks.
@@ -1,5 +1,6 @@
 package org.example.userservice.service;
 
+import org.example.userservice.dto.UserBatchRequest;
 import org.example.userservice.dto.UserRequest;
 import org.example.userservice.dto.UserResponse;
 import org.example.userservice.entities.User;
@@ -26,6 +27,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -283,6 +285,61 @@ class UserServiceTest {
     }
 
 
+    @Nested
+    @DisplayName("findBatch()")
+    class FindBatch {
+
+        @Test
+        @DisplayName("should resolve ids with a single IN query")
+        void shouldResolveIdsOnly() {
+            UUID id = UUID.randomUUID();
+            User user = buildUser(id);
+            UserResponse expected = buildUserResponse(id);
+
+            when(userRepository.findAllByIdIn(Set.of(id))).thenReturn(List.of(user));
+            when(userMapper.fromUser(user)).thenReturn(expected);
+
+            List<UserResponse> result = userService.findBatch(new UserBatchRequest(Set.of(id), null));
+
+            assertThat(result).containsExactly(expected);
+            verify(userRepository, never()).findAllByIdInOrEmailIn(any(), any());
+        }
+
+        @Test
+        @DisplayName("should resolve emails with a single IN query")
+        void shouldResolveEmailsOnly() {
+            User user = buildUser(UUID.randomUUID());
+            when(userRepository.findAllByEmailIn(Set.of("john@example.com"))).thenReturn(List.of(user));
+
+            userService.findBatch(new UserBatchRequest(Set.of(), Set.of("john@example.com")));
+
+            verify(userRepository).findAllByEmailIn(Set.of("john@example.com"));
+            verify(userRepository, never()).findAllByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("should combine ids and emails into one query")
+        void shouldCombineIdsAndEmails() {
+            UUID id = UUID.randomUUID();
+            when(userRepository.findAllByIdInOrEmailIn(Set.of(id), Set.of("jane@example.com"))).thenReturn(List.of());
+
+            List<UserResponse> result = userService.findBatch(new UserBatchRequest(Set.of(id), Set.of("jane@example.com")));
+
+            assertThat(result).isEmpty();
+            verify(userRepository).findAllByIdInOrEmailIn(Set.of(id), Set.of("jane@example.com"));
+        }
+
+        @Test
+        @DisplayName("should not hit the database for an empty batch")
+        void shouldSkipEmptyBatch() {
+            List<UserResponse> result = userService.findBatch(new UserBatchRequest(null, null));
+
+            assertThat(result).isEmpty();
+            verifyNoInteractions(userRepository);
+        }
+    }
+
+
     @Nested
     @DisplayName("update()")
     class Update {